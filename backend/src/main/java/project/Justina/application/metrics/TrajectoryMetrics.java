@@ -0,0 +1,40 @@
+package project.Justina.application.metrics;
+
+import project.Justina.domain.dto.TrajectoryMetricsDTO;
+import project.Justina.domain.model.LiveMetrics;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.Trajectory;
+
+// Motor cinemático: una sola pasada sobre las columnas de la trayectoria, sin reservar memoria
+// por muestra. Las cirugías en vivo ya traen sus LiveMetrics acumuladas y solo se resumen.
+public final class TrajectoryMetrics {
+
+    private TrajectoryMetrics() {
+    }
+
+    public static TrajectoryMetricsDTO of(Trajectory trajectory) {
+        LiveMetrics metrics = new LiveMetrics();
+        for (int i = 0; i < trajectory.size(); i++) {
+            metrics.accept(trajectory.x(i), trajectory.y(i), trajectory.is3D(i) ? trajectory.z(i) : Double.NaN,
+                    trajectory.event(i), trajectory.timestamp(i));
+        }
+        return of(metrics);
+    }
+
+    public static TrajectoryMetricsDTO of(LiveMetrics metrics) {
+        return new TrajectoryMetricsDTO(
+                metrics.getSamples(),
+                metrics.getDurationSeconds(),
+                metrics.getPathLength(),
+                metrics.getDirectDistance(),
+                metrics.getEconomyOfMotion(),
+                metrics.getMeanVelocity(),
+                Math.sqrt(metrics.getVelocityVariance()),
+                metrics.getMaxAcceleration(),
+                metrics.getMeanJerk(),
+                metrics.getEventCount(SurgeryEvent.HEMORRHAGE),
+                metrics.getEventCount(SurgeryEvent.KIDNEY_TOUCH),
+                metrics.getEventCount(SurgeryEvent.TUMOR_REMOVAL)
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package project.Justina.application.service;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -7,15 +8,21 @@ import org.springframework.stereotype.Service;
 import project.Justina.domain.dto.AuthResponseDTO;
 import project.Justina.domain.dto.UserResponseDTO;
 import project.Justina.domain.exception.AuthException;
+import project.Justina.domain.exception.ServiceOverloadedException;
 import project.Justina.domain.exception.UserAlreadyExistsException;
 import project.Justina.domain.model.User;
 import project.Justina.domain.repository.UserRepository;
+import project.Justina.domain.model.TokenRevocation;
+import project.Justina.infrastructure.security.JwtClaims;
 import project.Justina.infrastructure.security.JwtService;
+import project.Justina.infrastructure.security.TokenRevocationList;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Service
@@ -25,6 +32,8 @@ public class AuthService {
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationList revocationList;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthResponseDTO login(String username, String password) {
         // 1. Buscar usuario
@@ -36,18 +45,53 @@ public class AuthService {
             throw new AuthException("Credenciales inválidas");
         }
 
-        // 3. Generar el Token
-        String token = jwtService.createToken(user.getId(), user.getUsername(), user.getRole());
+        // 2b. Hash con un algoritmo o costo anterior: se rehace ahora que tenemos la clave en claro
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            upgradePassword(user, password);
+        }
 
+        // 3. Generar el token de acceso y abrir una familia de refresh tokens
         // 4. Retornar el DTO completo con los datos del usuario real
+        return issueTokens(user, refreshTokenService.issue(user.getId()), "Login exitoso");
+    }
+
+    // Rota el refresh token y emite un token de acceso nuevo con el rol actual del usuario
+    public AuthResponseDTO refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new AuthException("Falta el refresh token");
+        }
+        RefreshTokenService.Issued rotated = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findById(rotated.userId())
+                .orElseThrow(() -> {
+                    refreshTokenService.revokeAll(rotated.userId());
+                    return new AuthException("Usuario no encontrado");
+                });
+        return issueTokens(user, rotated, "Token renovado");
+    }
+
+    private AuthResponseDTO issueTokens(User user, RefreshTokenService.Issued refreshToken, String message) {
+        String token = jwtService.createToken(user.getId(), user.getUsername(), user.getRole());
         return new AuthResponseDTO(
                 token,
                 user.getId(),
                 user.getUsername(),
-                "Login exitoso"
+                message,
+                refreshToken.token(),
+                jwtService.accessTokenTtl().toSeconds(),
+                refreshTokenService.ttlSeconds()
         );
     }
 
+    // Best effort: con el pool de hashing saturado se deja para el próximo login, que ya fue validado
+    private void upgradePassword(User user, String password) {
+        try {
+            String upgraded = passwordEncoder.encode(password);
+            userRepository.save(new User(user.getId(), user.getUsername(), upgraded, user.getRole()));
+        } catch (ServiceOverloadedException e) {
+            // Sigue valiendo el hash anterior
+        }
+    }
+
     public void register(String username, String password) {
         // 1. Validar si ya existe
         if (userRepository.findByUsername(username).isPresent()) {
@@ -77,6 +121,34 @@ public class AuthService {
         userRepository.save(newUser);
     }
 
+    // Revoca el token de acceso y la familia del refresh token recibidos; con allSessions también todos
+    // los tokens del usuario emitidos hasta ahora. Sin tokens o con tokens ya inválidos no hay nada que revocar
+    public void logout(String token, String refreshToken, boolean allSessions) {
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (token == null) {
+            return;
+        }
+        JwtClaims claims;
+        try {
+            claims = jwtService.verifyAndDecode(token);
+        } catch (JWTVerificationException e) {
+            return;
+        }
+
+        if (allSessions) {
+            refreshTokenService.revokeAll(claims.userId());
+            // iat tiene resolución de segundos: el corte se redondea al segundo siguiente para alcanzar
+            // a los tokens emitidos en este mismo segundo (un login en ese segundo también queda revocado)
+            Instant issuedBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+            revocationList.revoke(TokenRevocation.ofUser(claims.userId(), issuedBefore, issuedBefore.plus(jwtService.accessTokenTtl())));
+        }
+        if (claims.tokenId() != null) {
+            revocationList.revoke(TokenRevocation.ofToken(claims.tokenId(), claims.expiresAt()));
+        }
+    }
+
     public UserResponseDTO getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
@@ -0,0 +1,136 @@
+package project.Justina.application.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import project.Justina.domain.dto.LeaderboardDTO;
+import project.Justina.domain.dto.LeaderboardEntryDTO;
+import project.Justina.domain.exception.InvalidQueryException;
+import project.Justina.domain.model.SurgeonStats;
+import project.Justina.domain.model.User;
+import project.Justina.domain.repository.SurgeonStatsRepository;
+import project.Justina.domain.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Rankings de la cohorte precalculados en memoria. Se rearman cada refresh-interval-ms desde
+// surgeon_stats (una fila por cirujano, que saveAiAnalysis y el cierre de cada cirugía mantienen
+// al día), así un request solo recorta una lista ya ordenada y nunca toca surgery_sessions.
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 100;
+
+    private final SurgeonStatsRepository statsRepository;
+    private final UserRepository userRepository;
+
+    // Se reemplaza entero en cada refresco: los requests leen una versión consistente sin bloquear
+    private volatile Snapshot snapshot;
+
+    public enum Metric {
+        BEST_SCORE(SurgeonStats::bestScore, true),
+        AVERAGE_SCORE(SurgeonStats::averageScore, true),
+        AVERAGE_DURATION(SurgeonStats::averageDurationSeconds, false),
+        HEMORRHAGE_RATE(SurgeonStats::hemorrhagesPerSession, false);
+
+        private final Function<SurgeonStats, Double> value;
+        // Score: mayor es mejor; duración y hemorragias: menor es mejor
+        private final boolean higherIsBetter;
+
+        Metric(Function<SurgeonStats, Double> value, boolean higherIsBetter) {
+            this.value = value;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+
+    public LeaderboardDTO getLeaderboard(Metric metric, Integer limit, UUID authenticatedSurgeonId) {
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new InvalidQueryException("limit debe estar entre 1 y " + MAX_LIMIT + ".");
+        }
+        if (snapshot == null) {
+            // Primer request antes del primer refresco programado
+            refresh();
+        }
+        Snapshot current = snapshot;
+        Ranking ranking = current.rankings().get(metric);
+        List<Ranked> top = ranking.ordered().subList(0, Math.min(size, ranking.ordered().size()));
+        Ranked me = ranking.positions().get(authenticatedSurgeonId);
+
+        // Nombres solo de las filas que se devuelven, por clave primaria
+        List<UUID> ids = Stream.concat(top.stream(), Stream.ofNullable(me)).map(Ranked::surgeonId).distinct().toList();
+        Map<UUID, String> usernames = userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, User::getUsername));
+
+        return new LeaderboardDTO(
+                metric.name(),
+                current.refreshedAt(),
+                ranking.ordered().size(),
+                top.stream().map(entry -> entry.toDTO(usernames)).toList(),
+                me != null ? me.toDTO(usernames) : null
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${justina.leaderboard.refresh-interval-ms:30000}")
+    public void refresh() {
+        List<SurgeonStats> stats = statsRepository.findAll();
+        Map<Metric, Ranking> rankings = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            rankings.put(metric, Ranking.of(stats, metric));
+        }
+        snapshot = new Snapshot(LocalDateTime.now(), rankings);
+    }
+
+    private record Snapshot(LocalDateTime refreshedAt, Map<Metric, Ranking> rankings) {}
+
+    // Lista ordenada para las primeras posiciones y mapa para ubicar a un cirujano en O(1)
+    private record Ranking(List<Ranked> ordered, Map<UUID, Ranked> positions) {
+
+        static Ranking of(List<SurgeonStats> stats, Metric metric) {
+            Comparator<Ranked> byValue = Comparator.comparingDouble(Ranked::value);
+            List<Ranked> candidates = new ArrayList<>();
+            for (SurgeonStats surgeon : stats) {
+                Double value = metric.value.apply(surgeon);
+                // Sin dato para la métrica (ej. sin scores todavía) no se rankea
+                if (value != null) {
+                    candidates.add(new Ranked(0, surgeon.surgeonId(), value, surgeon.sessions()));
+                }
+            }
+            candidates.sort((metric.higherIsBetter ? byValue.reversed() : byValue)
+                    .thenComparing(Ranked::surgeonId));
+
+            List<Ranked> ordered = new ArrayList<>(candidates.size());
+            Map<UUID, Ranked> positions = new HashMap<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                Ranked candidate = candidates.get(i);
+                // Empates comparten puesto y el siguiente salta (1, 2, 2, 4)
+                int rank = i > 0 && candidate.value() == candidates.get(i - 1).value()
+                        ? ordered.get(i - 1).rank()
+                        : i + 1;
+                Ranked ranked = new Ranked(rank, candidate.surgeonId(), candidate.value(), candidate.sessions());
+                ordered.add(ranked);
+                positions.put(ranked.surgeonId(), ranked);
+            }
+            return new Ranking(List.copyOf(ordered), Map.copyOf(positions));
+        }
+    }
+
+    private record Ranked(int rank, UUID surgeonId, double value, long sessions) {
+
+        LeaderboardEntryDTO toDTO(Map<UUID, String> usernames) {
+            return new LeaderboardEntryDTO(rank, surgeonId, usernames.get(surgeonId), value, sessions);
+        }
+    }
+}
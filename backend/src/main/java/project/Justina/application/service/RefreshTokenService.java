@@ -0,0 +1,94 @@
+package project.Justina.application.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import project.Justina.domain.exception.AuthException;
+import project.Justina.domain.model.RefreshToken;
+import project.Justina.domain.repository.RefreshTokenRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+// Refresh tokens opacos y rotativos. Cada login abre una familia; cada refresh consume el token
+// presentado y emite el siguiente de la misma familia. Si llega uno ya consumido, alguien más lo
+// tiene: se revoca la familia entera y el usuario tiene que volver a loguearse.
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository repository;
+
+    @Value("${justina.security.refresh-token-ttl-ms:604800000}")
+    private final long ttlMillis;
+
+    // El valor en claro solo se devuelve acá; en la base queda su hash
+    public record Issued(String token, UUID userId, Instant expiresAt) {}
+
+    // Familia nueva (login)
+    public Issued issue(UUID userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    public Issued rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken current = repository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new AuthException("Refresh token inválido"));
+        if (!current.isUsable(now)) {
+            throw new AuthException("Refresh token vencido o revocado");
+        }
+        // Ya usado, o lo acaba de usar otro request: reuso
+        if (current.usedAt() != null || !repository.markUsed(current.id(), now)) {
+            repository.revokeFamily(current.familyId());
+            throw new AuthException("Refresh token reutilizado, volvé a iniciar sesión");
+        }
+        return issue(current.userId(), current.familyId());
+    }
+
+    // Cierra la sesión de ese token (toda su familia); un token desconocido no hace nada
+    public void revoke(String rawToken) {
+        repository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> repository.revokeFamily(token.familyId()));
+    }
+
+    public void revokeAll(UUID userId) {
+        repository.revokeAllForUser(userId);
+    }
+
+    public long ttlSeconds() {
+        return ttlMillis / 1000;
+    }
+
+    @Scheduled(fixedDelayString = "${justina.security.refresh-token-cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        repository.deleteExpired(Instant.now());
+    }
+
+    private Issued issue(UUID userId, UUID familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant expiresAt = Instant.now().plusMillis(ttlMillis);
+        repository.save(RefreshToken.issue(hash(token), familyId, userId, expiresAt));
+        return new Issued(token, userId, expiresAt);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM trae SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package project.Justina.application.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import project.Justina.domain.dto.SurgeonStatsDTO;
+import project.Justina.domain.exception.ForbiddenActionException;
+import project.Justina.domain.model.SurgeonStats;
+import project.Justina.domain.repository.SurgeonStatsRepository;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class SurgeonStatsService {
+
+    private final SurgeonStatsRepository statsRepository;
+
+    // Una sola fila de surgeon_stats, mantenida al guardar cirugías y análisis: no se leen las cirugías
+    public SurgeonStatsDTO getSurgeonStats(UUID surgeonId, UUID authenticatedSurgeonId, String role) {
+        // Mismo criterio que las cirugías: el propio cirujano o la IA
+        if (!surgeonId.equals(authenticatedSurgeonId) && !"ROLE_AI".equals(role)) {
+            throw new ForbiddenActionException("No tienes permiso para ver las estadísticas de este cirujano.");
+        }
+        SurgeonStats stats = statsRepository.findBySurgeonId(surgeonId)
+                .orElseGet(() -> SurgeonStats.empty(surgeonId));
+
+        return new SurgeonStatsDTO(
+                stats.surgeonId(),
+                stats.sessions(),
+                stats.scoredSessions(),
+                stats.averageScore(),
+                stats.bestScore(),
+                stats.lastScore(),
+                stats.scoreStdDev(),
+                stats.scoreTrendPerDay(),
+                stats.averageDurationSeconds(),
+                stats.hemorrhagesPerSession(),
+                stats.kidneyTouchesPerSession(),
+                stats.tumorRemovalsPerSession(),
+                stats.updatedAt()
+        );
+    }
+}
@@ -2,29 +2,117 @@ package project.Justina.application.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import project.Justina.application.metrics.TrajectoryMetrics;
+import project.Justina.application.trajectory.TimeWindow;
+import project.Justina.application.trajectory.TrajectorySimplifier;
 import project.Justina.domain.dto.AnalysisDTO;
+import project.Justina.domain.dto.SurgeryPageDTO;
+import project.Justina.domain.dto.SurgerySummaryDTO;
 import project.Justina.domain.dto.TrajectoryDTO;
+import project.Justina.domain.dto.TrajectoryMetricsDTO;
+import project.Justina.domain.dto.TrajectoryRangeDTO;
 import project.Justina.domain.exception.ForbiddenActionException;
+import project.Justina.domain.exception.InvalidQueryException;
 import project.Justina.domain.exception.SurgeryNotFoundException;
 import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.model.Trajectory;
 import project.Justina.domain.repository.SurgeryRepository;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class SurgeryService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
     private final SurgeryRepository surgeryRepository;
 
+    // Historial del cirujano autenticado, más recientes primero. Paginación por keyset: el cursor
+    // es la clave (start_time, id) de la última fila entregada, así cada página cuesta lo mismo
+    public SurgeryPageDTO listSurgeries(UUID surgeonId, String cursor, Integer limit) {
+        int size = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidQueryException("limit debe estar entre 1 y " + MAX_PAGE_SIZE + ".");
+        }
+        PageKey after = cursor == null || cursor.isBlank() ? new PageKey(null, null) : PageKey.decode(cursor);
+
+        // Una fila de más indica si hay otra página, sin COUNT
+        List<SurgerySummaryDTO> rows = surgeryRepository.findSummaries(surgeonId, after.startTime(), after.id(), size + 1);
+        if (rows.size() <= size) {
+            return new SurgeryPageDTO(rows, null);
+        }
+        List<SurgerySummaryDTO> items = rows.subList(0, size);
+        SurgerySummaryDTO last = items.get(size - 1);
+        return new SurgeryPageDTO(List.copyOf(items), new PageKey(last.startTime(), last.id()).encode());
+    }
+
+    // Cursor opaco para el cliente: "start_time|id" en Base64 URL
+    private record PageKey(LocalDateTime startTime, UUID id) {
+
+        String encode() {
+            String key = startTime + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageKey decode(String cursor) {
+            try {
+                String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (key.length == 2) {
+                    return new PageKey(LocalDateTime.parse(key[0]), UUID.fromString(key[1]));
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                // Mismo error que un cursor con otra forma
+            }
+            throw new InvalidQueryException("cursor inválido.");
+        }
+    }
+
     public TrajectoryDTO getSurgeryTrajectory(UUID surgeryId, UUID authenticatedSurgeonId, String role) {
-        // Buscar la cirugía o lanzar error 404 si no existe
-        SurgerySession session = surgeryRepository.findById(surgeryId)
-                .orElseThrow(() -> new SurgeryNotFoundException("La cirugía con id " + surgeryId + " no existe."));
+        return getSurgeryTrajectory(surgeryId, authenticatedSurgeonId, role, null, null);
+    }
 
-        // 2. VALIDACIÓN REAL: Comparar UUIDs (Permitir el paso si es la IA)
-        if (!session.getSurgeonId().equals(authenticatedSurgeonId) && !"ROLE_AI".equals(role)) {
-            throw new ForbiddenActionException("No tienes permiso para acceder a esta cirugía.");
+    // maxPoints (LTTB) y tolerance (RDP) son opcionales y combinables: reducen la trayectoria
+    // para visualización conservando siempre las muestras con eventos
+    public TrajectoryDTO getSurgeryTrajectory(UUID surgeryId, UUID authenticatedSurgeonId, String role,
+                                              Integer maxPoints, Double tolerance) {
+        return getSurgeryTrajectory(surgeryId, authenticatedSurgeonId, role, null, maxPoints, tolerance);
+    }
+
+    // Con 'range' solo se leen las muestras de la ventana o alrededor de los eventos pedidos
+    // (los chunks fuera de rango ni se cargan); la simplificación se aplica después, sobre ese recorte
+    public TrajectoryDTO getSurgeryTrajectory(UUID surgeryId, UUID authenticatedSurgeonId, String role,
+                                              TrajectoryRangeDTO range, Integer maxPoints, Double tolerance) {
+        if (maxPoints != null && maxPoints < 2) {
+            throw new InvalidQueryException("maxPoints debe ser al menos 2.");
+        }
+        if (tolerance != null && !(tolerance > 0 && Double.isFinite(tolerance))) {
+            throw new InvalidQueryException("tolerance debe ser un número positivo.");
+        }
+        SurgerySession session;
+        Trajectory movements;
+        if (range == null || range.isEmpty()) {
+            session = findAuthorized(surgeryId, authenticatedSurgeonId, role);
+            movements = session.getTrajectory();
+        } else {
+            TimeWindow bounds = bounds(range);
+            session = getSurgeryHeader(surgeryId, authenticatedSurgeonId, role);
+            movements = readWindows(surgeryId, range, bounds);
+        }
+
+        if (tolerance != null) {
+            movements = TrajectorySimplifier.byTolerance(movements, tolerance);
+        }
+        if (maxPoints != null) {
+            movements = TrajectorySimplifier.toPointCount(movements, maxPoints);
         }
 
         // Mapear al DTO "limpio" para la IA y el Frontend
@@ -32,21 +120,75 @@ public class SurgeryService {
                 session.getId(),
                 session.getStartTime(),
                 session.getEndTime(),
-                session.getTrajectory(),
+                movements,
                 session.getScore(),
                 session.getFeedback()
         );
     }
 
+    private static TimeWindow bounds(TrajectoryRangeDTO range) {
+        long from = range.from() != null ? range.from() : Long.MIN_VALUE;
+        long to = range.to() != null ? range.to() : Long.MAX_VALUE;
+        if (from > to) {
+            throw new InvalidQueryException("from no puede ser posterior a to.");
+        }
+        if (range.before() < 0 || range.after() < 0) {
+            throw new InvalidQueryException("before y after no pueden ser negativos.");
+        }
+        return new TimeWindow(from, to);
+    }
+
+    // Sin eventos, una sola ventana; con eventos, una por evento (unidas si se solapan) dentro de [from, to]
+    private Trajectory readWindows(UUID surgeryId, TrajectoryRangeDTO range, TimeWindow bounds) {
+        if (range.events() == null || range.events().isEmpty()) {
+            return surgeryRepository.findTrajectoryRange(surgeryId, bounds.from(), bounds.to());
+        }
+        List<Long> timestamps = surgeryRepository.findEventTimestamps(surgeryId, range.events());
+        List<TimeWindow> windows = TimeWindow.around(timestamps, range.before(), range.after(), bounds);
+        Trajectory movements = new Trajectory();
+        for (TimeWindow window : windows) {
+            Trajectory part = surgeryRepository.findTrajectoryRange(surgeryId, window.from(), window.to());
+            movements.appendRange(part, 0, part.size());
+        }
+        return movements;
+    }
+
+    // Métricas calculadas en el servidor, sin pasar la trayectoria completa por JSON
+    public TrajectoryMetricsDTO getSurgeryMetrics(UUID surgeryId, UUID authenticatedSurgeonId, String role) {
+        SurgerySession session = findAuthorized(surgeryId, authenticatedSurgeonId, role);
+        return TrajectoryMetrics.of(session.getTrajectory());
+    }
+
+    // Exportación en streaming: el acceso se valida con la cabecera, sin leer la trayectoria
+    public SurgerySession getSurgeryHeader(UUID surgeryId, UUID authenticatedSurgeonId, String role) {
+        return checkAccess(surgeryRepository.findHeaderById(surgeryId), surgeryId, authenticatedSurgeonId, role);
+    }
+
+    // Las muestras llegan por páginas en orden; llamar solo después de getSurgeryHeader
+    public void forEachTrajectoryPage(UUID surgeryId, Consumer<Trajectory> page) {
+        surgeryRepository.forEachTrajectoryPage(surgeryId, page);
+    }
+
+    // UPDATE puntual de score y feedback: no se lee ni se reescribe la trayectoria
     public void saveAiAnalysis(UUID surgeryId, AnalysisDTO analysis) {
-        // Buscamos la cirugía (Usamos tu SurgeryNotFoundException si no existe)
-        SurgerySession session = surgeryRepository.findById(surgeryId)
-                .orElseThrow(() -> new SurgeryNotFoundException("La cirugía con id " + surgeryId + " no existe."));
+        if (!surgeryRepository.updateAnalysis(surgeryId, analysis.score(), analysis.feedback())) {
+            throw new SurgeryNotFoundException("La cirugía con id " + surgeryId + " no existe.");
+        }
+    }
+
+    private SurgerySession findAuthorized(UUID surgeryId, UUID authenticatedSurgeonId, String role) {
+        return checkAccess(surgeryRepository.findById(surgeryId), surgeryId, authenticatedSurgeonId, role);
+    }
 
-        // Actualizamos los datos
-        session.updateAnalysis(analysis.score(), analysis.feedback());
+    private SurgerySession checkAccess(Optional<SurgerySession> found, UUID surgeryId, UUID authenticatedSurgeonId, String role) {
+        // Buscar la cirugía o lanzar error 404 si no existe
+        SurgerySession session = found
+                .orElseThrow(() -> new SurgeryNotFoundException("La cirugía con id " + surgeryId + " no existe."));
 
-        // Persistimos
-        surgeryRepository.save(session);
+        // 2. VALIDACIÓN REAL: Comparar UUIDs (Permitir el paso si es la IA)
+        if (!session.getSurgeonId().equals(authenticatedSurgeonId) && !"ROLE_AI".equals(role)) {
+            throw new ForbiddenActionException("No tienes permiso para acceder a esta cirugía.");
+        }
+        return session;
     }
 }
@@ -0,0 +1,40 @@
+package project.Justina.application.trajectory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Intervalo cerrado [from, to] de timestamps de muestra (epoch ms, como los envía el simulador)
+public record TimeWindow(long from, long to) {
+
+    public static final TimeWindow ALL = new TimeWindow(Long.MIN_VALUE, Long.MAX_VALUE);
+
+    // Una ventana alrededor de cada evento, recortada a 'bounds'. Las que se solapan se unen
+    // para que ninguna muestra salga dos veces; 'timestamps' (positivos) debe venir ordenado.
+    public static List<TimeWindow> around(List<Long> timestamps, long before, long after, TimeWindow bounds) {
+        List<TimeWindow> windows = new ArrayList<>();
+        long from = 0;
+        long to = 0;
+        boolean open = false;
+        for (long timestamp : timestamps) {
+            long start = Math.max(bounds.from, timestamp - before);
+            long end = Math.min(bounds.to, after > Long.MAX_VALUE - timestamp ? Long.MAX_VALUE : timestamp + after);
+            if (start > end) {
+                continue;
+            }
+            if (open && start - 1 <= to) {
+                to = Math.max(to, end);
+            } else {
+                if (open) {
+                    windows.add(new TimeWindow(from, to));
+                }
+                from = start;
+                to = end;
+                open = true;
+            }
+        }
+        if (open) {
+            windows.add(new TimeWindow(from, to));
+        }
+        return windows;
+    }
+}
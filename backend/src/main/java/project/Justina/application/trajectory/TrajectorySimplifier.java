@@ -0,0 +1,164 @@
+package project.Justina.application.trajectory;
+
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.Trajectory;
+
+import java.util.Arrays;
+
+// Simplificación de trayectorias para visualización (replay en el frontend).
+// Las muestras con un SurgeryEvent distinto de NONE, la primera y la última se conservan siempre;
+// el resto se elige por geometría en el espacio (z = 0 en 2D).
+public final class TrajectorySimplifier {
+
+    private TrajectorySimplifier() {
+    }
+
+    // Ramer–Douglas–Peucker: descarta las muestras a menos de 'tolerance' del segmento que las
+    // reemplaza. Se aplica por tramos entre muestras con evento, así ningún evento se pierde.
+    public static Trajectory byTolerance(Trajectory trajectory, double tolerance) {
+        int size = trajectory.size();
+        if (size <= 2) {
+            return trajectory;
+        }
+        boolean[] keep = anchors(trajectory);
+        double toleranceSquared = tolerance * tolerance;
+        int[] stack = new int[64];
+        int previous = 0;
+        for (int i = 1; i < size; i++) {
+            if (keep[i]) {
+                stack = douglasPeucker(trajectory, previous, i, toleranceSquared, keep, stack);
+                previous = i;
+            }
+        }
+        return select(trajectory, keep);
+    }
+
+    // Largest-Triangle-Three-Buckets: elige como mucho maxPoints muestras (salvo que solo los
+    // eventos ya las superen), una por bucket, la que forma el triángulo de mayor área
+    // con la elegida antes y el promedio del bucket siguiente.
+    public static Trajectory toPointCount(Trajectory trajectory, int maxPoints) {
+        int size = trajectory.size();
+        if (size <= maxPoints) {
+            return trajectory;
+        }
+        boolean[] keep = anchors(trajectory);
+        int interiorEvents = -2;
+        for (boolean anchor : keep) {
+            if (anchor) {
+                interiorEvents++;
+            }
+        }
+        int threshold = Math.max(maxPoints - interiorEvents, 2);
+
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int selected = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = Math.min((int) Math.floor((bucket + 1) * bucketSize) + 1, size - 1);
+
+            // Promedio del bucket siguiente (o la última muestra)
+            int nextStart = end;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double avgX = 0, avgY = 0, avgZ = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += trajectory.x(i);
+                avgY += trajectory.y(i);
+                avgZ += trajectory.z(i);
+            }
+            int count = Math.max(nextEnd - nextStart, 1);
+            avgX /= count;
+            avgY /= count;
+            avgZ /= count;
+
+            int best = start;
+            double bestArea = -1;
+            for (int i = start; i < end; i++) {
+                double area = doubleTriangleArea(trajectory, selected, i, avgX, avgY, avgZ);
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = i;
+                }
+            }
+            keep[best] = true;
+            selected = best;
+        }
+        return select(trajectory, keep);
+    }
+
+    private static boolean[] anchors(Trajectory trajectory) {
+        int size = trajectory.size();
+        boolean[] keep = new boolean[size];
+        keep[0] = true;
+        keep[size - 1] = true;
+        for (int i = 1; i < size - 1; i++) {
+            keep[i] = trajectory.event(i) != SurgeryEvent.NONE;
+        }
+        return keep;
+    }
+
+    // Versión iterativa (pila de pares first/last) para no desbordar con trayectorias largas
+    private static int[] douglasPeucker(Trajectory trajectory, int first, int last, double toleranceSquared,
+                                        boolean[] keep, int[] stack) {
+        int top = 0;
+        stack[top++] = first;
+        stack[top++] = last;
+        while (top > 0) {
+            int to = stack[--top];
+            int from = stack[--top];
+            int farthest = -1;
+            double maxDistance = toleranceSquared;
+            for (int i = from + 1; i < to; i++) {
+                double distance = segmentDistanceSquared(trajectory, i, from, to);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    farthest = i;
+                }
+            }
+            if (farthest < 0) {
+                continue;
+            }
+            keep[farthest] = true;
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = from;
+            stack[top++] = farthest;
+            stack[top++] = farthest;
+            stack[top++] = to;
+        }
+        return stack;
+    }
+
+    private static double segmentDistanceSquared(Trajectory trajectory, int point, int from, int to) {
+        double ax = trajectory.x(from), ay = trajectory.y(from), az = trajectory.z(from);
+        double dx = trajectory.x(to) - ax, dy = trajectory.y(to) - ay, dz = trajectory.z(to) - az;
+        double px = trajectory.x(point) - ax, py = trajectory.y(point) - ay, pz = trajectory.z(point) - az;
+
+        double lengthSquared = dx * dx + dy * dy + dz * dz;
+        double t = lengthSquared == 0 ? 0 : Math.clamp((px * dx + py * dy + pz * dz) / lengthSquared, 0.0, 1.0);
+        double ex = px - t * dx, ey = py - t * dy, ez = pz - t * dz;
+        return ex * ex + ey * ey + ez * ez;
+    }
+
+    // |AB x AC|, el doble del área del triángulo (solo se compara)
+    private static double doubleTriangleArea(Trajectory trajectory, int a, int b, double cx, double cy, double cz) {
+        double ax = trajectory.x(a), ay = trajectory.y(a), az = trajectory.z(a);
+        double abx = trajectory.x(b) - ax, aby = trajectory.y(b) - ay, abz = trajectory.z(b) - az;
+        double acx = cx - ax, acy = cy - ay, acz = cz - az;
+
+        double crossX = aby * acz - abz * acy;
+        double crossY = abz * acx - abx * acz;
+        double crossZ = abx * acy - aby * acx;
+        return Math.sqrt(crossX * crossX + crossY * crossY + crossZ * crossZ);
+    }
+
+    private static Trajectory select(Trajectory trajectory, boolean[] keep) {
+        Trajectory simplified = new Trajectory();
+        for (int i = 0; i < keep.length; i++) {
+            if (keep[i]) {
+                simplified.appendRange(trajectory, i, i + 1);
+            }
+        }
+        return simplified;
+    }
+}
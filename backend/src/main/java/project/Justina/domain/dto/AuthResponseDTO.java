@@ -6,6 +6,10 @@ public record AuthResponseDTO (
         String token,
         UUID userId,
         String username,
-        String message
+        String message,
+        String refreshToken,
+        // Segundos de vida del token de acceso y del refresh token
+        long expiresIn,
+        long refreshExpiresIn
 ) {
 }
@@ -0,0 +1,14 @@
+package project.Justina.domain.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Ranking por una métrica, tal como quedó en el último refresco. 'me' es el puesto del
+// cirujano autenticado (null si no está rankeado en esa métrica)
+public record LeaderboardDTO(
+        String metric,
+        LocalDateTime refreshedAt,
+        int ranked,
+        List<LeaderboardEntryDTO> entries,
+        LeaderboardEntryDTO me
+) {}
@@ -0,0 +1,12 @@
+package project.Justina.domain.dto;
+
+import java.util.UUID;
+
+// Posición de un cirujano en el ranking; empates comparten puesto (1, 2, 2, 4)
+public record LeaderboardEntryDTO(
+        int rank,
+        UUID surgeonId,
+        String username,
+        double value,
+        long sessions
+) {}
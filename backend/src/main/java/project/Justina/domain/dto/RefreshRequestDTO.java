@@ -0,0 +1,11 @@
+package project.Justina.domain.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Refresh token a rotar; los clientes web lo mandan en la cookie refresh-token y pueden omitir el cuerpo")
+public record RefreshRequestDTO(
+
+        @Schema(description = "Refresh token recibido en el último login o refresh")
+        String refreshToken
+
+) {}
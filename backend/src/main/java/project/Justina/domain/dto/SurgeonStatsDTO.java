@@ -0,0 +1,22 @@
+package project.Justina.domain.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Resumen de desempeño de un cirujano. Los promedios y tasas son null sin datos;
+// scoreTrendPerDay es la pendiente del score en puntos por día (positiva = mejora)
+public record SurgeonStatsDTO(
+        UUID surgeonId,
+        long sessions,
+        long scoredSessions,
+        Double averageScore,
+        Double bestScore,
+        Double lastScore,
+        Double scoreStdDev,
+        Double scoreTrendPerDay,
+        Double averageDurationSeconds,
+        Double hemorrhagesPerSession,
+        Double kidneyTouchesPerSession,
+        Double tumorRemovalsPerSession,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,9 @@
+package project.Justina.domain.dto;
+
+import java.util.List;
+
+// Página del historial; nextCursor es null cuando no hay más cirugías
+public record SurgeryPageDTO(
+        List<SurgerySummaryDTO> items,
+        String nextCursor
+) {}
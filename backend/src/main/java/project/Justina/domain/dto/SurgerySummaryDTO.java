@@ -0,0 +1,13 @@
+package project.Justina.domain.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Fila del historial de un cirujano: solo datos de cabecera, nunca la trayectoria
+public record SurgerySummaryDTO(
+        UUID id,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Long durationInSeconds,
+        Double score
+) {}
@@ -0,0 +1,19 @@
+package project.Justina.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.util.List;
+
+public record TelemetryBatchDTO(
+
+        @NotNull(message = "El número de secuencia es obligatorio")
+        @PositiveOrZero(message = "El número de secuencia no puede ser negativo")
+        Long seq,
+
+        @NotNull(message = "Las muestras son obligatorias")
+        @NotEmpty(message = "El lote debe tener al menos una muestra")
+        List<@Valid @NotNull TelemetryDTO> samples
+) {}
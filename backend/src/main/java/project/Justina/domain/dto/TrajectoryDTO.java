@@ -1,16 +1,15 @@
 package project.Justina.domain.dto;
 
-import project.Justina.domain.model.Movement;
+import project.Justina.domain.model.Trajectory;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
 public record TrajectoryDTO(
         UUID surgeryId,
         LocalDateTime startTime,
         LocalDateTime endTime,
-        List<Movement> movements,
+        Trajectory movements,
         Double score,
         String feedback
 ) {}
@@ -0,0 +1,18 @@
+package project.Justina.domain.dto;
+
+// Métricas cinemáticas de una trayectoria, con las mismas definiciones que ia/analysis_pipeline.py
+// (distancias en unidades del simulador, tiempos en segundos)
+public record TrajectoryMetricsDTO(
+        int samples,
+        double durationSeconds,
+        double pathLength,
+        double directDistance,
+        double economyOfMotion,
+        double meanVelocity,
+        double velocityStdDev,
+        double maxAcceleration,
+        double meanJerk,
+        int hemorrhages,
+        int kidneyTouches,
+        int tumorRemovals
+) {}
@@ -0,0 +1,19 @@
+package project.Justina.domain.dto;
+
+import project.Justina.domain.model.SurgeryEvent;
+
+import java.util.Set;
+
+// Filtro de GET /trajectory: ventana [from, to] en epoch ms y/o contexto alrededor de eventos.
+// Todos los campos son opcionales; before/after son los ms de contexto antes y después de cada evento.
+public record TrajectoryRangeDTO(
+        Long from,
+        Long to,
+        Set<SurgeryEvent> events,
+        long before,
+        long after
+) {
+    public boolean isEmpty() {
+        return from == null && to == null && (events == null || events.isEmpty());
+    }
+}
@@ -0,0 +1,9 @@
+package project.Justina.domain.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidQueryException extends JustinaException {
+    public InvalidQueryException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+}
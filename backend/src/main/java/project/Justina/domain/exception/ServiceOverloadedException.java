@@ -0,0 +1,9 @@
+package project.Justina.domain.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceOverloadedException extends JustinaException {
+    public ServiceOverloadedException(String message) {
+        super(message, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,23 @@
+package project.Justina.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Análisis de IA pendiente de una cirugía terminada (cola durable en analysis_jobs).
+// Un worker lo toma con un lease; si no confirma a tiempo vuelve a PENDING con backoff.
+public record AnalysisJob(
+        UUID surgeryId,
+        AnalysisJobStatus status,
+        int attempts,
+        String leaseOwner,
+        LocalDateTime leaseUntil,
+        LocalDateTime nextAttemptAt
+) {
+    // Backoff exponencial: base * 2^(intentos - 1), con tope en maxDelay
+    public LocalDateTime nextRetryAt(LocalDateTime now, Duration baseDelay, Duration maxDelay) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration delay = baseDelay.multipliedBy(1L << exponent);
+        return now.plus(delay.compareTo(maxDelay) > 0 ? maxDelay : delay);
+    }
+}
@@ -0,0 +1,8 @@
+package project.Justina.domain.model;
+
+public enum AnalysisJobStatus {
+    PENDING,
+    LEASED,
+    DONE,
+    FAILED
+}
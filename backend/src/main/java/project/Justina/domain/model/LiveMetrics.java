@@ -0,0 +1,126 @@
+package project.Justina.domain.model;
+
+// Métricas cinemáticas en línea de una cirugía: recorrido, velocidad (media y varianza de Welford),
+// aceleración máxima, jerk medio y conteo de eventos. Mismas definiciones que
+// ia/analysis_pipeline.py (z = 0 en 2D, dt = 0 no aporta, v0 = 0), con las muestras en orden de timestamp.
+public class LiveMetrics implements OnlineAccumulator {
+
+    private int samples;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private double firstX, firstY, firstZ;
+    private double lastX, lastY, lastZ;
+    private double lastVelocity;
+    private double lastAcceleration;
+    private double lastJerk;
+
+    private double pathLength;
+    private double velocityMean;
+    private double velocityM2;
+    private double maxAcceleration;
+    private double jerkSum;
+    private int jerkCount;
+    private final int[] eventCounts = new int[SurgeryEvent.values().length];
+
+    @Override
+    public void accept(double x, double y, double z, SurgeryEvent event, long timestamp) {
+        if (Double.isNaN(z)) {
+            z = 0.0;
+        }
+        double velocity = 0.0;
+        if (samples == 0) {
+            firstX = x;
+            firstY = y;
+            firstZ = z;
+            firstTimestamp = timestamp;
+        } else {
+            double dt = (timestamp - lastTimestamp) / 1000.0;
+            double dx = x - lastX;
+            double dy = y - lastY;
+            double dz = z - lastZ;
+            double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+            velocity = dt != 0 ? distance / dt : 0.0;
+            double acceleration = dt != 0 ? (velocity - lastVelocity) / dt : 0.0;
+            // La primera aceleración sale de v0 = 0; el jerk necesita dos aceleraciones
+            if (samples >= 2) {
+                lastJerk = dt != 0 ? (acceleration - lastAcceleration) / dt : 0.0;
+                jerkSum += Math.abs(lastJerk);
+                jerkCount++;
+            }
+
+            pathLength += distance;
+            maxAcceleration = Math.max(maxAcceleration, Math.abs(acceleration));
+            lastVelocity = velocity;
+            lastAcceleration = acceleration;
+        }
+        lastX = x;
+        lastY = y;
+        lastZ = z;
+        lastTimestamp = timestamp;
+        samples++;
+
+        // Welford: media y varianza sin guardar las velocidades
+        double delta = velocity - velocityMean;
+        velocityMean += delta / samples;
+        velocityM2 += delta * (velocity - velocityMean);
+
+        eventCounts[event.ordinal()]++;
+    }
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public double getDurationSeconds() {
+        return samples == 0 ? 0.0 : (lastTimestamp - firstTimestamp) / 1000.0;
+    }
+
+    public double getPathLength() {
+        return pathLength;
+    }
+
+    public double getDirectDistance() {
+        double dx = lastX - firstX;
+        double dy = lastY - firstY;
+        double dz = lastZ - firstZ;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    // Recorrido / distancia en línea recta (1 si no hubo desplazamiento neto)
+    public double getEconomyOfMotion() {
+        double direct = getDirectDistance();
+        return direct > 0 ? pathLength / direct : 1.0;
+    }
+
+    // Velocidad del último tramo
+    public double getCurrentVelocity() {
+        return lastVelocity;
+    }
+
+    // Jerk del último tramo (0 hasta tener tres muestras)
+    public double getCurrentJerk() {
+        return lastJerk;
+    }
+
+    public double getMeanVelocity() {
+        return velocityMean;
+    }
+
+    // Varianza muestral (n - 1), como pandas
+    public double getVelocityVariance() {
+        return samples > 1 ? velocityM2 / (samples - 1) : 0.0;
+    }
+
+    public double getMaxAcceleration() {
+        return maxAcceleration;
+    }
+
+    public double getMeanJerk() {
+        return jerkCount > 0 ? jerkSum / jerkCount : 0.0;
+    }
+
+    public int getEventCount(SurgeryEvent event) {
+        return eventCounts[event.ordinal()];
+    }
+}
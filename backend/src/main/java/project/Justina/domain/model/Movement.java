@@ -1,8 +1,26 @@
 package project.Justina.domain.model;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 public record Movement (
         double[] coordinates, // Puede ser [x, y] o [x, y, z]
         SurgeryEvent event,
         long timestamp
 ) {
+
+    // Igualdad por contenido: las vistas que entrega Trajectory se crean bajo demanda
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Movement other)) return false;
+        return timestamp == other.timestamp
+                && event == other.event
+                && Arrays.equals(coordinates, other.coordinates);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(coordinates), event, timestamp);
+    }
 }
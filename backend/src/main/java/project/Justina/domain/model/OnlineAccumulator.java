@@ -0,0 +1,8 @@
+package project.Justina.domain.model;
+
+// Estadística que se actualiza en O(1) con cada muestra que llega a la SurgerySession,
+// así el resultado está listo al recibir FINISH sin recorrer la trayectoria.
+// z es NaN en las muestras 2D.
+public interface OnlineAccumulator {
+    void accept(double x, double y, double z, SurgeryEvent event, long timestamp);
+}
@@ -0,0 +1,24 @@
+package project.Justina.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Refresh token persistido (solo su hash). Cada uso lo consume y emite el siguiente de la misma
+// familia; presentar uno ya usado indica que se filtró y revoca la familia entera.
+public record RefreshToken(
+        UUID id,
+        String tokenHash,
+        UUID familyId,
+        UUID userId,
+        Instant expiresAt,
+        Instant usedAt,
+        boolean revoked
+) {
+    public static RefreshToken issue(String tokenHash, UUID familyId, UUID userId, Instant expiresAt) {
+        return new RefreshToken(UUID.randomUUID(), tokenHash, familyId, userId, expiresAt, null, false);
+    }
+
+    public boolean isUsable(Instant now) {
+        return !revoked && expiresAt.isAfter(now);
+    }
+}
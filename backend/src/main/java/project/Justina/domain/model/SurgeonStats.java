@@ -0,0 +1,86 @@
+package project.Justina.domain.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+// Agregado por cirujano (tabla surgeon_stats): solo contadores y sumas, que se actualizan
+// al terminar cada cirugía y al llegar cada score. Promedio, desvío, tendencia y tasas salen
+// de esas sumas, así leerlo no recorre las cirugías.
+// La tendencia es la pendiente de mínimos cuadrados del score contra la fecha de inicio (en días).
+public record SurgeonStats(
+        UUID surgeonId,
+        long sessions,
+        long totalDurationSeconds,
+        long hemorrhages,
+        long kidneyTouches,
+        long tumorRemovals,
+        long scoredSessions,
+        double scoreSum,
+        double scoreSumSquares,
+        double trendXSum,
+        double trendXxSum,
+        double trendXySum,
+        Double bestScore,
+        Double lastScore,
+        LocalDateTime updatedAt
+) {
+    private static final double SECONDS_PER_DAY = 86_400.0;
+    // Desvío mínimo de las fechas para estimar tendencia (una hora): por debajo, la pendiente
+    // es ruido y además las sumas pierden precisión al restarse
+    private static final double MIN_TREND_SPREAD_DAYS = 1.0 / 24;
+
+    // Cirujano sin cirugías terminadas todavía
+    public static SurgeonStats empty(UUID surgeonId) {
+        return new SurgeonStats(surgeonId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, null, null, null);
+    }
+
+    // Abscisa de la tendencia: inicio de la cirugía en días desde epoch (UTC)
+    public static double trendX(LocalDateTime startTime) {
+        return startTime.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_DAY;
+    }
+
+    public Double averageScore() {
+        return scoredSessions > 0 ? scoreSum / scoredSessions : null;
+    }
+
+    // Desvío poblacional; las sumas pueden dar una varianza apenas negativa por redondeo
+    public Double scoreStdDev() {
+        if (scoredSessions == 0) {
+            return null;
+        }
+        double mean = scoreSum / scoredSessions;
+        return Math.sqrt(Math.max(scoreSumSquares / scoredSessions - mean * mean, 0.0));
+    }
+
+    // Puntos por día; null con menos de dos scores o si caen todos en la misma hora
+    public Double scoreTrendPerDay() {
+        double n = scoredSessions;
+        double denominator = n * trendXxSum - trendXSum * trendXSum;
+        // denominator / n² es la varianza de las fechas
+        if (scoredSessions < 2 || denominator < n * n * MIN_TREND_SPREAD_DAYS * MIN_TREND_SPREAD_DAYS) {
+            return null;
+        }
+        return (n * trendXySum - trendXSum * scoreSum) / denominator;
+    }
+
+    public Double averageDurationSeconds() {
+        return perSession(totalDurationSeconds);
+    }
+
+    public Double hemorrhagesPerSession() {
+        return perSession(hemorrhages);
+    }
+
+    public Double kidneyTouchesPerSession() {
+        return perSession(kidneyTouches);
+    }
+
+    public Double tumorRemovalsPerSession() {
+        return perSession(tumorRemovals);
+    }
+
+    private Double perSession(long total) {
+        return sessions > 0 ? (double) total / sessions : null;
+    }
+}
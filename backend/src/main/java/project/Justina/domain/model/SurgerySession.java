@@ -9,17 +9,26 @@ public class SurgerySession {
 
     private UUID id;
     private UUID surgeonId;
-    private List<Movement> trajectory;
+    private Trajectory trajectory;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private Long durationInSeconds;
     private Double score;
     private String feedback;
 
+    // Write-behind: solo las muestras [persistedSamples, size) faltan en trajectory_chunks.
+    // En una cirugía en vivo la trayectoria en memoria es únicamente ese tramo pendiente.
+    private int persistedSamples;
+    private int chunkCount;
+
+    // Métricas en línea de las muestras recibidas en vivo (no incluye lo cargado de DB)
+    private final LiveMetrics liveMetrics = new LiveMetrics();
+    private final List<OnlineAccumulator> accumulators = new ArrayList<>(List.of(liveMetrics));
+
     public SurgerySession(UUID surgeonId) {
         this.id = UUID.randomUUID();
         this.surgeonId = surgeonId;
-        this.trajectory = new ArrayList<>();
+        this.trajectory = new Trajectory();
         this.startTime = LocalDateTime.now();
     }
 
@@ -28,7 +37,8 @@ public class SurgerySession {
                           LocalDateTime startTime, LocalDateTime endTime, Long durationInSeconds, Double score, String feedback) {
         this.id = id;
         this.surgeonId = surgeonId;
-        this.trajectory = trajectory;
+        this.trajectory = Trajectory.copyOf(trajectory);
+        this.persistedSamples = this.trajectory.size();
         this.startTime = startTime;
         this.endTime = endTime;
         this.durationInSeconds = durationInSeconds;
@@ -41,9 +51,73 @@ public class SurgerySession {
         this.feedback = feedback;
     }
 
+    // Suma un acumulador que recibirá las muestras siguientes
+    public void addAccumulator(OnlineAccumulator accumulator) {
+        this.accumulators.add(accumulator);
+    }
+
     // Método para ir agregando puntos durante la cirugía
     public void addMovement(Movement movement) {
         this.trajectory.add(movement);
+        double[] coordinates = movement.coordinates();
+        accumulate(coordinates[0], coordinates[1], coordinates.length == 3 ? coordinates[2] : Double.NaN,
+                movement.event(), movement.timestamp());
+    }
+
+    // Variante primitiva para el camino rápido del WebSocket (z = NaN en muestras 2D)
+    public void addSample(double x, double y, double z, SurgeryEvent event, long timestamp) {
+        this.trajectory.append(x, y, z, event, timestamp);
+        accumulate(x, y, z, event, timestamp);
+    }
+
+    // Agrega un lote de muestras [from, to) en una sola operación
+    public void addSamples(Trajectory samples, int from, int to) {
+        this.trajectory.appendRange(samples, from, to);
+        for (int i = from; i < to; i++) {
+            accumulate(samples.x(i), samples.y(i), samples.is3D(i) ? samples.z(i) : Double.NaN,
+                    samples.event(i), samples.timestamp(i));
+        }
+    }
+
+    public LiveMetrics getLiveMetrics() {
+        return liveMetrics;
+    }
+
+    private void accumulate(double x, double y, double z, SurgeryEvent event, long timestamp) {
+        for (int i = 0; i < accumulators.size(); i++) {
+            accumulators.get(i).accept(x, y, z, event, timestamp);
+        }
+    }
+
+    // Muestras recibidas que todavía no se escribieron como chunk
+    public int getPendingSamples() {
+        return trajectory.size() - persistedSamples;
+    }
+
+    // Write-behind: entrega el tramo pendiente para escribirlo como el siguiente chunk y lo libera de
+    // memoria. El número de chunk avanza recién con confirmChunk; si la escritura falla, restorePendingSamples lo devuelve.
+    public Trajectory takePendingSamples() {
+        Trajectory chunk = new Trajectory(getPendingSamples());
+        chunk.appendRange(trajectory, persistedSamples, trajectory.size());
+        trajectory.truncate(persistedSamples);
+        return chunk;
+    }
+
+    public void confirmChunk() {
+        chunkCount++;
+    }
+
+    // Vuelve a poner el tramo delante de lo recibido mientras se intentaba escribir
+    public void restorePendingSamples(Trajectory chunk) {
+        Trajectory restored = new Trajectory(trajectory.size() + chunk.size());
+        restored.appendRange(trajectory, 0, persistedSamples);
+        restored.appendRange(chunk, 0, chunk.size());
+        restored.appendRange(trajectory, persistedSamples, trajectory.size());
+        trajectory = restored;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
     }
 
     //  Finalizar cirugía
@@ -60,7 +134,7 @@ public class SurgerySession {
         return surgeonId;
     }
 
-    public List<Movement> getTrajectory() {
+    public Trajectory getTrajectory() {
         return trajectory;
     }
 
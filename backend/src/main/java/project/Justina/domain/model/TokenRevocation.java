@@ -0,0 +1,21 @@
+package project.Justina.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Revocación de JWTs: un token puntual (tokenId) o todos los de un usuario emitidos antes de
+// issuedBefore. Deja de importar en expiresAt, cuando ya vencieron los tokens que alcanza.
+public record TokenRevocation(
+        String tokenId,
+        UUID userId,
+        Instant issuedBefore,
+        Instant expiresAt
+) {
+    public static TokenRevocation ofToken(String tokenId, Instant tokenExpiresAt) {
+        return new TokenRevocation(tokenId, null, null, tokenExpiresAt);
+    }
+
+    public static TokenRevocation ofUser(UUID userId, Instant issuedBefore, Instant expiresAt) {
+        return new TokenRevocation(null, userId, issuedBefore, expiresAt);
+    }
+}
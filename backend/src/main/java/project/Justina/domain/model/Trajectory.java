@@ -0,0 +1,200 @@
+package project.Justina.domain.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+// Trayectoria en formato columnar: cada muestra ocupa 33 bytes repartidos en arrays primitivos
+// (x, y, z, timestamp, evento) en lugar de un objeto Movement con su propio double[].
+// Los Movement solo se crean bajo demanda al leerla como List (serialización, tests, IA).
+// No es thread-safe: cada sesión WebSocket escribe en su propia trayectoria.
+public final class Trajectory extends AbstractList<Movement> implements RandomAccess {
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final SurgeryEvent[] EVENTS = SurgeryEvent.values();
+
+    private double[] x;
+    private double[] y;
+    private double[] z; // NaN cuando la muestra es 2D
+    private long[] timestamps;
+    private byte[] events;
+    private int size;
+
+    public Trajectory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public Trajectory(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.z = new double[capacity];
+        this.timestamps = new long[capacity];
+        this.events = new byte[capacity];
+    }
+
+    // Reutiliza la instancia si ya es columnar; si no, copia los movimientos (p.ej. al leer de DB)
+    public static Trajectory copyOf(List<Movement> movements) {
+        if (movements instanceof Trajectory trajectory) {
+            return trajectory;
+        }
+        if (movements == null) {
+            return new Trajectory();
+        }
+        Trajectory trajectory = new Trajectory(movements.size());
+        for (Movement movement : movements) {
+            trajectory.add(movement);
+        }
+        return trajectory;
+    }
+
+    // Camino rápido: agrega una muestra sin crear objetos intermedios
+    public void append(double px, double py, double pz, SurgeryEvent event, long timestamp) {
+        if (event == null) {
+            throw new IllegalArgumentException("El evento es obligatorio");
+        }
+        ensureCapacity(size + 1);
+        x[size] = px;
+        y[size] = py;
+        z[size] = pz;
+        timestamps[size] = timestamp;
+        events[size] = (byte) event.ordinal();
+        size++;
+        modCount++;
+    }
+
+    public void append2D(double px, double py, SurgeryEvent event, long timestamp) {
+        append(px, py, Double.NaN, event, timestamp);
+    }
+
+    // Copia en bloque las muestras [from, to) de otra trayectoria (lotes de telemetría)
+    public void appendRange(Trajectory source, int from, int to) {
+        if (from < 0 || to > source.size || from > to) {
+            throw new IndexOutOfBoundsException("Range: [" + from + ", " + to + "), Size: " + source.size);
+        }
+        int length = to - from;
+        ensureCapacity(size + length);
+        System.arraycopy(source.x, from, x, size, length);
+        System.arraycopy(source.y, from, y, size, length);
+        System.arraycopy(source.z, from, z, size, length);
+        System.arraycopy(source.timestamps, from, timestamps, size, length);
+        System.arraycopy(source.events, from, events, size, length);
+        size += length;
+        modCount++;
+    }
+
+    // Primera muestra con el evento dado a partir de 'from', o -1
+    public int indexOfEvent(SurgeryEvent event, int from) {
+        byte ordinal = (byte) event.ordinal();
+        for (int i = Math.max(from, 0); i < size; i++) {
+            if (events[i] == ordinal) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Vacía la trayectoria conservando la capacidad (buffers reutilizables)
+    @Override
+    public void clear() {
+        truncate(0);
+    }
+
+    // Descarta las muestras desde newSize en adelante, conservando la capacidad
+    public void truncate(int newSize) {
+        if (newSize < 0 || newSize > size) {
+            throw new IndexOutOfBoundsException("Size: " + newSize + ", Current: " + size);
+        }
+        size = newSize;
+        modCount++;
+    }
+
+    @Override
+    public boolean add(Movement movement) {
+        if (movement == null) {
+            throw new IllegalArgumentException("El movimiento no puede ser nulo");
+        }
+        double[] c = movement.coordinates();
+        if (c == null || c.length < 2 || c.length > 3) {
+            throw new IllegalArgumentException("Coordinates debe tener 2 o 3 valores");
+        }
+        append(c[0], c[1], c.length == 3 ? c[2] : Double.NaN, movement.event(), movement.timestamp());
+        return true;
+    }
+
+    // Entre trayectorias columnares se copia en bloque (p.ej. chunks decodificados de bytea)
+    @Override
+    public boolean addAll(Collection<? extends Movement> movements) {
+        if (movements instanceof Trajectory trajectory) {
+            appendRange(trajectory, 0, trajectory.size);
+            return trajectory.size > 0;
+        }
+        return super.addAll(movements);
+    }
+
+    // Vista Movement de la muestra i (se crea un objeto nuevo en cada llamada)
+    @Override
+    public Movement get(int index) {
+        checkIndex(index);
+        double[] coordinates = is3D(index)
+                ? new double[]{x[index], y[index], z[index]}
+                : new double[]{x[index], y[index]};
+        return new Movement(coordinates, EVENTS[events[index]], timestamps[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public double x(int index) {
+        checkIndex(index);
+        return x[index];
+    }
+
+    public double y(int index) {
+        checkIndex(index);
+        return y[index];
+    }
+
+    // Devuelve 0 para muestras 2D, de modo que los cálculos geométricos funcionen igual
+    public double z(int index) {
+        checkIndex(index);
+        return Double.isNaN(z[index]) ? 0.0 : z[index];
+    }
+
+    public boolean is3D(int index) {
+        checkIndex(index);
+        return !Double.isNaN(z[index]);
+    }
+
+    public long timestamp(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    public SurgeryEvent event(int index) {
+        checkIndex(index);
+        return EVENTS[events[index]];
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity <= x.length) {
+            return;
+        }
+        int newCapacity = Math.max(minCapacity, x.length + (x.length >> 1));
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        z = Arrays.copyOf(z, newCapacity);
+        timestamps = Arrays.copyOf(timestamps, newCapacity);
+        events = Arrays.copyOf(events, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
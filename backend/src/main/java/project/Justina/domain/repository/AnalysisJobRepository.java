@@ -0,0 +1,29 @@
+package project.Justina.domain.repository;
+
+import project.Justina.domain.model.AnalysisJob;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Los trabajos se crean junto con el guardado de la cirugía terminada (SurgeryRepository.save)
+public interface AnalysisJobRepository {
+    Optional<AnalysisJob> findById(UUID surgeryId);
+
+    // PENDING con el próximo intento vencido, del más antiguo al más nuevo
+    List<UUID> findDue(LocalDateTime now, int limit);
+
+    // PENDING -> LEASED de forma atómica; false si no estaba listo o lo tomó otro
+    boolean lease(UUID surgeryId, String owner, LocalDateTime now, LocalDateTime leaseUntil);
+
+    List<AnalysisJob> findExpiredLeases(LocalDateTime now);
+
+    // LEASED por owner -> PENDING, reintentable desde nextAttemptAt
+    boolean reschedule(UUID surgeryId, String owner, LocalDateTime nextAttemptAt);
+
+    // LEASED por owner -> FAILED (se agotaron los intentos)
+    boolean fail(UUID surgeryId, String owner);
+
+    void complete(UUID surgeryId);
+}
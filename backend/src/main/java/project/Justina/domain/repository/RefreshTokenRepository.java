@@ -0,0 +1,22 @@
+package project.Justina.domain.repository;
+
+import project.Justina.domain.model.RefreshToken;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository {
+    void save(RefreshToken refreshToken);
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Sin usar -> usado de forma atómica; false si ya lo usó (o revocó) otro request
+    boolean markUsed(UUID id, Instant now);
+
+    void revokeFamily(UUID familyId);
+
+    void revokeAllForUser(UUID userId);
+
+    int deleteExpired(Instant now);
+}
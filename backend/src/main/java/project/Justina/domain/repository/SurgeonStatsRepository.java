@@ -0,0 +1,16 @@
+package project.Justina.domain.repository;
+
+import project.Justina.domain.model.SurgeonStats;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Solo lectura: el agregado se actualiza dentro de SurgeryRepository.save y updateAnalysis,
+// en la misma transacción que la cirugía
+public interface SurgeonStatsRepository {
+    Optional<SurgeonStats> findBySurgeonId(UUID surgeonId);
+
+    // Una fila por cirujano con al menos una cirugía terminada (para el ranking, nunca por request)
+    List<SurgeonStats> findAll();
+}
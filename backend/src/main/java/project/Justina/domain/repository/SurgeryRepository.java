@@ -1,11 +1,42 @@
 package project.Justina.domain.repository;
 
+import project.Justina.domain.dto.SurgerySummaryDTO;
+import project.Justina.domain.model.SurgeryEvent;
 import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.model.Trajectory;
 
+import java.util.List;
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface SurgeryRepository {
+    // Guarda la cabecera y agrega como chunk las muestras aún no persistidas
     void save(SurgerySession session);
+
+    // Write-behind en vivo: agrega un chunk ya separado de la sesión. La cabecera solo se crea con el
+    // primero (sequence 0); cierre, métricas y trabajo de análisis llegan recién con save
+    void saveChunk(SurgerySession session, int sequence, Trajectory samples);
     Optional<SurgerySession> findById(UUID id);
+
+    // Guarda solo score y feedback y cierra el trabajo de análisis; false si la cirugía no existe
+    boolean updateAnalysis(UUID surgeryId, Double score, String feedback);
+
+    // Historial del cirujano, de la más reciente a la más antigua. Con afterStart/afterId (la última
+    // fila de la página anterior) sigue desde ahí; ambos null para la primera página.
+    List<SurgerySummaryDTO> findSummaries(UUID surgeonId, LocalDateTime afterStart, UUID afterId, int limit);
+
+    // Solo la cabecera (trayectoria vacía), para validar acceso sin cargar las muestras
+    Optional<SurgerySession> findHeaderById(UUID id);
+
+    // Recorre la trayectoria en orden, de a una página por vez; ninguna página se retiene
+    void forEachTrajectoryPage(UUID surgeryId, Consumer<Trajectory> page);
+
+    // Muestras con timestamp en [from, to], en orden; solo se leen los chunks que se solapan con la ventana
+    Trajectory findTrajectoryRange(UUID surgeryId, long from, long to);
+
+    // Timestamps ordenados de las muestras con alguno de esos eventos, sin recorrer la trayectoria
+    List<Long> findEventTimestamps(UUID surgeryId, Set<SurgeryEvent> events);
 }
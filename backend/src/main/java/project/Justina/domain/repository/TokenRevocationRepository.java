@@ -0,0 +1,15 @@
+package project.Justina.domain.repository;
+
+import project.Justina.domain.model.TokenRevocation;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TokenRevocationRepository {
+    void save(TokenRevocation revocation);
+
+    // Las que todavía alcanzan algún token vigente
+    List<TokenRevocation> findActive(Instant now);
+
+    int deleteExpired(Instant now);
+}
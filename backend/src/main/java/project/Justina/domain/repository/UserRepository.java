@@ -2,9 +2,14 @@ package project.Justina.domain.repository;
 
 import project.Justina.domain.model.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface UserRepository {
     Optional<User> findByUsername(String username);
+    Optional<User> findById(UUID id);
     void save(User user);
+    List<User> findAllById(Collection<UUID> ids);
 }
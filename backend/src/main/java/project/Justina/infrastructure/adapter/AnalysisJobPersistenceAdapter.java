@@ -0,0 +1,61 @@
+package project.Justina.infrastructure.adapter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.AnalysisJob;
+import project.Justina.domain.model.AnalysisJobStatus;
+import project.Justina.domain.repository.AnalysisJobRepository;
+import project.Justina.infrastructure.adapter.mapper.AnalysisJobMapper;
+import project.Justina.infrastructure.adapter.repository.JpaAnalysisJobRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class AnalysisJobPersistenceAdapter implements AnalysisJobRepository {
+
+    private final JpaAnalysisJobRepository jpaRepository;
+    private final AnalysisJobMapper mapper;
+
+    @Override
+    public Optional<AnalysisJob> findById(UUID surgeryId) {
+        return jpaRepository.findById(surgeryId)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public List<UUID> findDue(LocalDateTime now, int limit) {
+        return jpaRepository.findDue(AnalysisJobStatus.PENDING, now, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public boolean lease(UUID surgeryId, String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        return jpaRepository.lease(surgeryId, owner, now, leaseUntil) == 1;
+    }
+
+    @Override
+    public List<AnalysisJob> findExpiredLeases(LocalDateTime now) {
+        return jpaRepository.findByStatusAndLeaseUntilBefore(AnalysisJobStatus.LEASED, now).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public boolean reschedule(UUID surgeryId, String owner, LocalDateTime nextAttemptAt) {
+        return jpaRepository.releaseLease(surgeryId, owner, AnalysisJobStatus.PENDING, nextAttemptAt) == 1;
+    }
+
+    @Override
+    public boolean fail(UUID surgeryId, String owner) {
+        return jpaRepository.releaseLease(surgeryId, owner, AnalysisJobStatus.FAILED, LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    public void complete(UUID surgeryId) {
+        jpaRepository.complete(surgeryId);
+    }
+}
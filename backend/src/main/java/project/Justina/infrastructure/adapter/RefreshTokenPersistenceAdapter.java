@@ -0,0 +1,51 @@
+package project.Justina.infrastructure.adapter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.RefreshToken;
+import project.Justina.domain.repository.RefreshTokenRepository;
+import project.Justina.infrastructure.adapter.mapper.RefreshTokenMapper;
+import project.Justina.infrastructure.adapter.repository.JpaRefreshTokenRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenPersistenceAdapter implements RefreshTokenRepository {
+
+    private final JpaRefreshTokenRepository jpaRepository;
+    private final RefreshTokenMapper mapper;
+
+    @Override
+    public void save(RefreshToken refreshToken) {
+        jpaRepository.save(mapper.toEntity(refreshToken));
+    }
+
+    @Override
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        return jpaRepository.findByTokenHash(tokenHash)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public boolean markUsed(UUID id, Instant now) {
+        return jpaRepository.markUsed(id, now) == 1;
+    }
+
+    @Override
+    public void revokeFamily(UUID familyId) {
+        jpaRepository.revokeFamily(familyId);
+    }
+
+    @Override
+    public void revokeAllForUser(UUID userId) {
+        jpaRepository.revokeAllForUser(userId);
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return jpaRepository.deleteExpired(now);
+    }
+}
@@ -0,0 +1,34 @@
+package project.Justina.infrastructure.adapter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.SurgeonStats;
+import project.Justina.domain.repository.SurgeonStatsRepository;
+import project.Justina.infrastructure.adapter.mapper.SurgeonStatsMapper;
+import project.Justina.infrastructure.adapter.repository.JpaSurgeonStatsRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class SurgeonStatsPersistenceAdapter implements SurgeonStatsRepository {
+
+    private final JpaSurgeonStatsRepository jpaRepository;
+    private final SurgeonStatsMapper mapper;
+
+    // Lectura por clave primaria: el costo no depende de cuántas cirugías tenga el cirujano
+    @Override
+    public Optional<SurgeonStats> findBySurgeonId(UUID surgeonId) {
+        return jpaRepository.findById(surgeonId)
+                .map(mapper::toDomain);
+    }
+
+    @Override
+    public List<SurgeonStats> findAll() {
+        return jpaRepository.findAll().stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+}
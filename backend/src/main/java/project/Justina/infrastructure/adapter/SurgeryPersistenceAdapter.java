@@ -1,31 +1,279 @@
 package project.Justina.infrastructure.adapter;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.dto.SurgerySummaryDTO;
+import project.Justina.domain.model.Movement;
+import project.Justina.domain.model.SurgeonStats;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.Trajectory;
 import project.Justina.domain.repository.SurgeryRepository;
+import project.Justina.infrastructure.adapter.codec.TrajectoryChunkCodec;
+import project.Justina.infrastructure.adapter.entity.LegacyTrajectory;
+import project.Justina.infrastructure.adapter.entity.SurgeryHeader;
 import project.Justina.infrastructure.adapter.entity.SurgerySessionEntity;
+import project.Justina.infrastructure.adapter.entity.TrajectoryChunkEntity;
+import project.Justina.infrastructure.adapter.entity.TrajectoryChunkSamples;
+import project.Justina.infrastructure.adapter.mapper.AnalysisJobMapper;
 import project.Justina.infrastructure.adapter.mapper.SurgeryMapper;
+import project.Justina.infrastructure.adapter.repository.JpaAnalysisJobRepository;
+import project.Justina.infrastructure.adapter.repository.JpaSurgeonStatsRepository;
 import project.Justina.infrastructure.adapter.repository.JpaSurgeryRepository;
+import project.Justina.infrastructure.adapter.repository.JpaTrajectoryChunkRepository;
+import project.Justina.infrastructure.adapter.repository.JpaTrajectoryEventRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 
 @Component
 @RequiredArgsConstructor
 public class SurgeryPersistenceAdapter implements SurgeryRepository {
+    // Chunks por página al exportar (con 512 muestras por chunk, unas 4000 muestras)
+    static final int EXPORT_PAGE_CHUNKS = 8;
+
     private final JpaSurgeryRepository jpaRepository;
+    private final JpaTrajectoryChunkRepository chunkRepository;
+    private final JpaTrajectoryEventRepository eventRepository;
+    private final JpaAnalysisJobRepository jobRepository;
+    private final JpaSurgeonStatsRepository statsRepository;
     private final SurgeryMapper mapper;
+    private final TrajectoryChunkCodec chunkCodec;
+    private final AnalysisJobMapper jobMapper;
+    private final TransactionTemplate transactionTemplate;
 
+    // Las muestras nuevas se agregan como un chunk append-only y la fila de la sesión
+    // solo lleva la cabecera, así el guardado final no reescribe toda la trayectoria.
+    // El trabajo de análisis se escribe en la misma transacción: no hay cirugía terminada sin su job.
     @Override
     public void save(SurgerySession session) {
-        SurgerySessionEntity entity = mapper.toEntity(session);
-        jpaRepository.save(entity);
+        Trajectory tail = session.getPendingSamples() > 0 ? session.takePendingSamples() : null;
+        int sequence = session.getChunkCount();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (tail != null) {
+                    saveChunkRows(session.getId(), sequence, tail);
+                }
+                SurgerySessionEntity entity = mapper.toEntity(session);
+                jpaRepository.save(entity);
+                saveAnalysisJob(session);
+            });
+        } catch (RuntimeException e) {
+            // Sin commit: las muestras vuelven a quedar pendientes para el próximo intento
+            if (tail != null) {
+                session.restorePendingSamples(tail);
+            }
+            throw e;
+        }
+        if (tail != null) {
+            session.confirmChunk();
+        }
+    }
+
+    // Solo inserta filas: la cabecera se escribe una vez con el primer chunk (así una cirugía
+    // abandonada sin FINISH igual aparece) y el cierre la completa en save
+    @Override
+    public void saveChunk(SurgerySession session, int sequence, Trajectory samples) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (sequence == 0) {
+                jpaRepository.save(mapper.toStartedEntity(session));
+            }
+            saveChunkRows(session.getId(), sequence, samples);
+        });
+    }
+
+    private void saveChunkRows(UUID surgeryId, int sequence, Trajectory samples) {
+        chunkRepository.save(chunkCodec.encode(mapper.toChunkEntity(surgeryId, sequence, samples)));
+        eventRepository.saveAll(mapper.toEventEntities(surgeryId, sequence, samples));
     }
 
     @Override
     public Optional<SurgerySession> findById(UUID id) {
-        return jpaRepository.findById(id)
-                .map(mapper::toDomain);
+        // Cabecera y trayectoria se leen por separado; las cirugías legadas la traen en la columna jsonb
+        return jpaRepository.findHeader(id).map(header -> {
+            List<TrajectoryChunkEntity> chunks = chunkRepository.findBySurgeryIdOrderBySequenceAsc(id);
+            Trajectory trajectory = chunks.isEmpty()
+                    ? Trajectory.copyOf(legacyTrajectory(id))
+                    : mapper.toTrajectory(chunks);
+            return mapper.toDomain(header, trajectory);
+        });
+    }
+
+    @Override
+    public List<SurgerySummaryDTO> findSummaries(UUID surgeonId, LocalDateTime afterStart, UUID afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return afterStart == null
+                ? jpaRepository.findSummaries(surgeonId, page)
+                : jpaRepository.findSummariesAfter(surgeonId, afterStart, afterId, page);
+    }
+
+    @Override
+    public Optional<SurgerySession> findHeaderById(UUID id) {
+        return jpaRepository.findHeader(id).map(mapper::toHeader);
+    }
+
+    @Override
+    public void forEachTrajectoryPage(UUID surgeryId, Consumer<Trajectory> page) {
+        List<TrajectoryChunkSamples> chunks = chunkRepository.findPage(surgeryId, 0, PageRequest.of(0, EXPORT_PAGE_CHUNKS));
+        if (chunks.isEmpty()) {
+            // Cirugía legada: la trayectoria está entera en la columna jsonb, sale en una sola página
+            Trajectory legacy = Trajectory.copyOf(legacyTrajectory(surgeryId));
+            if (!legacy.isEmpty()) {
+                page.accept(legacy);
+            }
+            return;
+        }
+        while (!chunks.isEmpty()) {
+            // samples() decodifica los chunks comprimidos: se llama una sola vez por chunk
+            List<List<Movement>> decoded = chunks.stream().map(TrajectoryChunkSamples::samples).toList();
+            Trajectory samples = new Trajectory(decoded.stream().mapToInt(List::size).sum());
+            decoded.forEach(samples::addAll);
+            page.accept(samples);
+
+            int next = chunks.get(chunks.size() - 1).sequence() + 1;
+            chunks = chunks.size() < EXPORT_PAGE_CHUNKS
+                    ? List.of()
+                    : chunkRepository.findPage(surgeryId, next, PageRequest.of(0, EXPORT_PAGE_CHUNKS));
+        }
+    }
+
+    // UPDATE puntual de score/feedback, cierre del trabajo de análisis y estadísticas del cirujano,
+    // en una transacción. El UPDATE va condicionado al score leído: si otro análisis de la misma
+    // cirugía ganó en el medio se relee, así el agregado nunca cuenta dos veces un score
+    @Override
+    public boolean updateAnalysis(UUID surgeryId, Double score, String feedback) {
+        Boolean updated = transactionTemplate.execute(status -> {
+            while (true) {
+                Optional<SurgeryHeader> header = jpaRepository.findHeader(surgeryId);
+                if (header.isEmpty()) {
+                    return false;
+                }
+                Double previous = header.get().score();
+                int rows = previous == null
+                        ? jpaRepository.updateFirstAnalysis(surgeryId, score, feedback)
+                        : jpaRepository.replaceAnalysis(surgeryId, previous, score, feedback);
+                if (rows == 1) {
+                    recordScore(header.get(), score);
+                    jobRepository.complete(surgeryId);
+                    return true;
+                }
+            }
+        });
+        return Boolean.TRUE.equals(updated);
+    }
+
+    @Override
+    public Trajectory findTrajectoryRange(UUID surgeryId, long from, long to) {
+        Trajectory range = new Trajectory();
+        List<TrajectoryChunkSamples> chunks = chunkRepository.findOverlapping(surgeryId, from, to);
+        if (chunks.isEmpty() && !chunkRepository.existsBySurgeryId(surgeryId)) {
+            // Cirugía legada: la trayectoria entera está en la columna jsonb
+            collectRange(legacyTrajectory(surgeryId), from, to, range);
+        }
+        for (TrajectoryChunkSamples chunk : chunks) {
+            collectRange(chunk.samples(), from, to, range);
+        }
+        return range;
+    }
+
+    @Override
+    public List<Long> findEventTimestamps(UUID surgeryId, Set<SurgeryEvent> events) {
+        List<Long> timestamps = new ArrayList<>(eventRepository.findTimestamps(surgeryId, events));
+        if (timestamps.isEmpty() && !chunkRepository.existsBySurgeryId(surgeryId)) {
+            // Cirugía legada: los eventos se recorren en la columna jsonb
+            collectEvents(legacyTrajectory(surgeryId), events, timestamps);
+        }
+        Collections.sort(timestamps);
+        return timestamps;
+    }
+
+    private List<Movement> legacyTrajectory(UUID surgeryId) {
+        return jpaRepository.findLegacyTrajectory(surgeryId)
+                .map(LegacyTrajectory::movements)
+                .orElse(List.of());
+    }
+
+    // Dentro de un chunk se filtra en memoria: son a lo sumo chunk-samples muestras
+    private static void collectRange(List<Movement> samples, long from, long to, Trajectory range) {
+        for (Movement movement : samples) {
+            if (movement.timestamp() >= from && movement.timestamp() <= to) {
+                range.add(movement);
+            }
+        }
+    }
+
+    private static void collectEvents(List<Movement> samples, Set<SurgeryEvent> events, List<Long> timestamps) {
+        for (Movement movement : samples) {
+            if (events.contains(movement.event())) {
+                timestamps.add(movement.timestamp());
+            }
+        }
+    }
+
+    private void saveAnalysisJob(SurgerySession session) {
+        if (session.getEndTime() != null && !jobRepository.existsById(session.getId())) {
+            // Primer guardado de la cirugía terminada: nace su trabajo y entra en las estadísticas
+            jobRepository.save(jobMapper.newPendingEntity(session.getId()));
+            recordFinishedSession(session);
+        }
+        if (session.getScore() != null) {
+            // La sesión ya tiene análisis: el trabajo queda cerrado (saveAiAnalysis usa updateAnalysis)
+            jobRepository.complete(session.getId());
+        }
+    }
+
+    // Los eventos se cuentan en trajectory_events (solo las filas de esta cirugía); la consulta
+    // vacía antes los inserts pendientes, así que incluye el último chunk recién guardado
+    private void recordFinishedSession(SurgerySession session) {
+        Map<SurgeryEvent, Long> events = new EnumMap<>(SurgeryEvent.class);
+        eventRepository.countBySurgeryId(session.getId()).forEach(count -> events.put(count.event(), count.count()));
+        Long duration = session.getDurationInSeconds();
+
+        updateStats(session.getSurgeonId(), surgeonId -> statsRepository.addSession(surgeonId,
+                duration != null ? duration : 0,
+                events.getOrDefault(SurgeryEvent.HEMORRHAGE, 0L),
+                events.getOrDefault(SurgeryEvent.KIDNEY_TOUCH, 0L),
+                events.getOrDefault(SurgeryEvent.TUMOR_REMOVAL, 0L),
+                LocalDateTime.now()));
+        if (session.getScore() != null) {
+            recordScore(new SurgeryHeader(session.getId(), session.getSurgeonId(), session.getStartTime(),
+                    session.getEndTime(), duration, null, null), session.getScore());
+        }
+    }
+
+    // Un score nuevo suma una observación; uno que reemplaza a otro solo corrige las sumas
+    private void recordScore(SurgeryHeader header, Double score) {
+        if (score == null) {
+            // AnalysisDTO siempre trae score; nada que agregar
+            return;
+        }
+        Double previous = header.score();
+        double x = SurgeonStats.trendX(header.startTime());
+        double scoreDelta = previous == null ? score : score - previous;
+        double squaresDelta = previous == null ? score * score : score * score - previous * previous;
+        boolean added = previous == null;
+
+        updateStats(header.surgeonId(), surgeonId -> statsRepository.addScore(surgeonId, added ? 1 : 0,
+                scoreDelta, squaresDelta, added ? x : 0, added ? x * x : 0, x * scoreDelta, score, LocalDateTime.now()));
+    }
+
+    // Casi siempre la fila ya existe y alcanza con el UPDATE; solo la primera vez se inserta vacía.
+    // Dos primeras cirugías a la vez no fallan: la segunda inserción no hace nada y su UPDATE encuentra la fila
+    private void updateStats(UUID surgeonId, ToIntFunction<UUID> update) {
+        if (update.applyAsInt(surgeonId) == 0) {
+            statsRepository.insertIfAbsent(surgeonId);
+            update.applyAsInt(surgeonId);
+        }
     }
 }
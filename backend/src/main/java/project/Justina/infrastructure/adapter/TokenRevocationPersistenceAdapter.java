@@ -0,0 +1,36 @@
+package project.Justina.infrastructure.adapter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.TokenRevocation;
+import project.Justina.domain.repository.TokenRevocationRepository;
+import project.Justina.infrastructure.adapter.mapper.TokenRevocationMapper;
+import project.Justina.infrastructure.adapter.repository.JpaTokenRevocationRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationPersistenceAdapter implements TokenRevocationRepository {
+
+    private final JpaTokenRevocationRepository jpaRepository;
+    private final TokenRevocationMapper mapper;
+
+    @Override
+    public void save(TokenRevocation revocation) {
+        jpaRepository.save(mapper.toEntity(revocation));
+    }
+
+    @Override
+    public List<TokenRevocation> findActive(Instant now) {
+        return jpaRepository.findByExpiresAtAfter(now).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return jpaRepository.deleteExpired(now);
+    }
+}
@@ -7,7 +7,10 @@ import project.Justina.domain.repository.UserRepository;
 import project.Justina.infrastructure.adapter.mapper.UserMapper;
 import project.Justina.infrastructure.adapter.repository.JpaUserRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -22,8 +25,21 @@ public class UserPersistenceAdapter implements UserRepository {
                 .map(userMapper::toDomain);
     }
 
+    @Override
+    public Optional<User> findById(UUID id) {
+        return jpaUserRepository.findById(id)
+                .map(userMapper::toDomain);
+    }
+
     @Override
     public void save(User user) {
         jpaUserRepository.save(userMapper.toEntity(user));
     }
+
+    @Override
+    public List<User> findAllById(Collection<UUID> ids) {
+        return jpaUserRepository.findAllById(ids).stream()
+                .map(userMapper::toDomain)
+                .toList();
+    }
 }
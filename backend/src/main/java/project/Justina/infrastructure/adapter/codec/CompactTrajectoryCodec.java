@@ -0,0 +1,387 @@
+package project.Justina.infrastructure.adapter.codec;
+
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.Trajectory;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+// Formato binario para trajectory_chunks.samples_packed (bytea), en lugar de repetir
+// "coordinates"/"event"/"timestamp" en cada muestra del jsonb:
+//   - timestamps: el primero, la primera diferencia y después delta-of-delta (casi siempre 0 → 1 byte)
+//   - eventos y dimensión (2D/3D): run-length (el simulador manda NONE casi siempre)
+//   - coordenadas, por eje: con quantum > 0, enteros cuantizados en delta; con quantum = 0,
+//     XOR de los bits contra el valor anterior (Gorilla), sin pérdida
+// El encabezado describe el formato, así que decodificar no depende de la configuración.
+public final class CompactTrajectoryCodec {
+
+    static final byte VERSION = 1;
+    private static final int FLAG_QUANTIZED = 1;
+    private static final SurgeryEvent[] EVENTS = SurgeryEvent.values();
+
+    private CompactTrajectoryCodec() {
+    }
+
+    public static byte[] encode(Trajectory samples, double quantum) {
+        int size = samples.size();
+        boolean quantized = quantum > 0 && canQuantize(samples, quantum);
+
+        Bytes out = new Bytes(16 + size * 4);
+        out.write(VERSION);
+        out.write(quantized ? FLAG_QUANTIZED : 0);
+        if (quantized) {
+            out.writeLong(Double.doubleToRawLongBits(quantum));
+        }
+        out.writeVarint(size);
+        if (size == 0) {
+            return out.toByteArray();
+        }
+
+        // Eventos: pares (ordinal, repeticiones)
+        for (int i = 0; i < size; ) {
+            int run = 1;
+            while (i + run < size && samples.event(i + run) == samples.event(i)) {
+                run++;
+            }
+            out.writeVarint(samples.event(i).ordinal());
+            out.writeVarint(run);
+            i += run;
+        }
+        // Dimensión: repeticiones alternadas empezando por 3D (la primera puede ser 0)
+        boolean threeD = true;
+        for (int i = 0; i < size; ) {
+            int run = 0;
+            while (i + run < size && samples.is3D(i + run) == threeD) {
+                run++;
+            }
+            out.writeVarint(run);
+            i += run;
+            threeD = !threeD;
+        }
+
+        out.writeZigZag(samples.timestamp(0));
+        long previousDelta = 0;
+        for (int i = 1; i < size; i++) {
+            long delta = samples.timestamp(i) - samples.timestamp(i - 1);
+            out.writeZigZag(i == 1 ? delta : delta - previousDelta);
+            previousDelta = delta;
+        }
+
+        if (quantized) {
+            writeQuantized(out, samples, quantum);
+        } else {
+            BitWriter bits = new BitWriter(out);
+            writeXor(bits, samples, Axis.X);
+            writeXor(bits, samples, Axis.Y);
+            writeXor(bits, samples, Axis.Z);
+            bits.flush();
+        }
+        return out.toByteArray();
+    }
+
+    public static Trajectory decode(byte[] data) {
+        Cursor in = new Cursor(data);
+        byte version = in.read();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versión de trayectoria comprimida desconocida: " + version);
+        }
+        boolean quantized = (in.read() & FLAG_QUANTIZED) != 0;
+        double quantum = quantized ? Double.longBitsToDouble(in.readLong()) : 0;
+        int size = (int) in.readVarint();
+
+        byte[] events = new byte[size];
+        for (int i = 0; i < size; ) {
+            byte event = (byte) in.readVarint();
+            int run = (int) in.readVarint();
+            Arrays.fill(events, i, i + run, event);
+            i += run;
+        }
+        boolean[] is3D = new boolean[size];
+        boolean threeD = true;
+        for (int i = 0; i < size; ) {
+            int run = (int) in.readVarint();
+            Arrays.fill(is3D, i, i + run, threeD);
+            i += run;
+            threeD = !threeD;
+        }
+
+        long[] timestamps = new long[size];
+        long previousDelta = 0;
+        for (int i = 0; i < size; i++) {
+            long value = in.readZigZag();
+            if (i == 0) {
+                timestamps[i] = value;
+            } else {
+                long delta = i == 1 ? value : previousDelta + value;
+                timestamps[i] = timestamps[i - 1] + delta;
+                previousDelta = delta;
+            }
+        }
+
+        double[] x = new double[size];
+        double[] y = new double[size];
+        double[] z = new double[size];
+        Arrays.fill(z, Double.NaN);
+        if (quantized) {
+            readQuantized(in, x, null, quantum);
+            readQuantized(in, y, null, quantum);
+            readQuantized(in, z, is3D, quantum);
+        } else {
+            BitReader bits = new BitReader(in);
+            readXor(bits, x, null);
+            readXor(bits, y, null);
+            readXor(bits, z, is3D);
+        }
+
+        Trajectory trajectory = new Trajectory(size);
+        for (int i = 0; i < size; i++) {
+            trajectory.append(x[i], y[i], z[i], EVENTS[events[i]], timestamps[i]);
+        }
+        return trajectory;
+    }
+
+    // Solo se cuantiza si todos los valores son finitos y entran en un long sin perder el signo
+    private static boolean canQuantize(Trajectory samples, double quantum) {
+        double limit = (double) (1L << 52) * quantum;
+        for (int i = 0; i < samples.size(); i++) {
+            for (Axis axis : Axis.values()) {
+                if (axis.present(samples, i)) {
+                    double value = axis.get(samples, i);
+                    if (!Double.isFinite(value) || Math.abs(value) >= limit) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void writeQuantized(Bytes out, Trajectory samples, double quantum) {
+        for (Axis axis : Axis.values()) {
+            long previous = 0;
+            for (int i = 0; i < samples.size(); i++) {
+                if (axis.present(samples, i)) {
+                    long current = Math.round(axis.get(samples, i) / quantum);
+                    out.writeZigZag(current - previous);
+                    previous = current;
+                }
+            }
+        }
+    }
+
+    private static void readQuantized(Cursor in, double[] values, boolean[] present, double quantum) {
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (present == null || present[i]) {
+                previous += in.readZigZag();
+                values[i] = previous * quantum;
+            }
+        }
+    }
+
+    // XOR de Gorilla: 0 si el valor se repite; si no, los bits significativos del XOR,
+    // reutilizando la ventana (ceros a izquierda/derecha) anterior cuando alcanza
+    private static void writeXor(BitWriter bits, Trajectory samples, Axis axis) {
+        long previous = 0;
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        boolean first = true;
+        for (int i = 0; i < samples.size(); i++) {
+            if (!axis.present(samples, i)) {
+                continue;
+            }
+            long current = Double.doubleToRawLongBits(axis.get(samples, i));
+            if (first) {
+                bits.write(current, 64);
+                first = false;
+            } else {
+                long xor = current ^ previous;
+                if (xor == 0) {
+                    bits.write(0, 1);
+                } else {
+                    int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                    int trailing = Long.numberOfTrailingZeros(xor);
+                    if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                        bits.write(0b10, 2);
+                        bits.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                    } else {
+                        int meaningful = 64 - leading - trailing;
+                        bits.write(0b11, 2);
+                        bits.write(leading, 5);
+                        bits.write(meaningful - 1, 6);
+                        bits.write(xor >>> trailing, meaningful);
+                        previousLeading = leading;
+                        previousTrailing = trailing;
+                    }
+                }
+            }
+            previous = current;
+        }
+    }
+
+    private static void readXor(BitReader bits, double[] values, boolean[] present) {
+        long previous = 0;
+        int leading = 0;
+        int trailing = 0;
+        boolean first = true;
+        for (int i = 0; i < values.length; i++) {
+            if (present != null && !present[i]) {
+                continue;
+            }
+            if (first) {
+                previous = bits.read(64);
+                first = false;
+            } else if (bits.read(1) == 1) {
+                if (bits.read(1) == 1) {
+                    leading = (int) bits.read(5);
+                    int meaningful = (int) bits.read(6) + 1;
+                    trailing = 64 - leading - meaningful;
+                }
+                previous ^= bits.read(64 - leading - trailing) << trailing;
+            }
+            values[i] = Double.longBitsToDouble(previous);
+        }
+    }
+
+    private enum Axis {
+        X, Y, Z;
+
+        boolean present(Trajectory samples, int i) {
+            return this != Z || samples.is3D(i);
+        }
+
+        double get(Trajectory samples, int i) {
+            return switch (this) {
+                case X -> samples.x(i);
+                case Y -> samples.y(i);
+                case Z -> samples.z(i);
+            };
+        }
+    }
+
+    private static final class Bytes extends ByteArrayOutputStream {
+        Bytes(int capacity) {
+            super(capacity);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeZigZag(long value) {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+    }
+
+    private static final class Cursor {
+        private final byte[] data;
+        private int position;
+
+        Cursor(byte[] data) {
+            this.data = data;
+        }
+
+        byte read() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Trayectoria comprimida truncada");
+            }
+            return data[position++];
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (read() & 0xFF);
+            }
+            return value;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint inválido en trayectoria comprimida");
+        }
+
+        long readZigZag() {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    private static final class BitWriter {
+        private final Bytes out;
+        private long buffer;
+        private int count;
+
+        BitWriter(Bytes out) {
+            this.out = out;
+        }
+
+        // Escribe los 'length' bits menos significativos de 'value' (length entre 1 y 64)
+        void write(long value, int length) {
+            for (int remaining = length; remaining > 0; ) {
+                int take = Math.min(remaining, 8 - count);
+                int shift = remaining - take;
+                long chunk = (value >>> shift) & ((1L << take) - 1);
+                buffer = (buffer << take) | chunk;
+                count += take;
+                remaining -= take;
+                if (count == 8) {
+                    out.write((int) buffer);
+                    buffer = 0;
+                    count = 0;
+                }
+            }
+        }
+
+        void flush() {
+            if (count > 0) {
+                out.write((int) (buffer << (8 - count)));
+                buffer = 0;
+                count = 0;
+            }
+        }
+    }
+
+    private static final class BitReader {
+        private final Cursor in;
+        private int current;
+        private int available;
+
+        BitReader(Cursor in) {
+            this.in = in;
+        }
+
+        long read(int length) {
+            long value = 0;
+            for (int remaining = length; remaining > 0; ) {
+                if (available == 0) {
+                    current = in.read() & 0xFF;
+                    available = 8;
+                }
+                int take = Math.min(remaining, available);
+                int bits = (current >>> (available - take)) & ((1 << take) - 1);
+                value = (value << take) | bits;
+                available -= take;
+                remaining -= take;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package project.Justina.infrastructure.adapter.codec;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.Trajectory;
+import project.Justina.infrastructure.adapter.entity.TrajectoryChunkEntity;
+
+// Elige, por despliegue, en qué columna se guardan las muestras de cada chunk nuevo.
+// La lectura no depende de esta configuración: los chunks ya escritos se leen en su formato.
+@Component
+@RequiredArgsConstructor
+public class TrajectoryChunkCodec {
+
+    public enum Format {
+        JSON,    // columna samples (jsonb), legible desde SQL
+        COMPACT  // columna samples_packed (bytea) con CompactTrajectoryCodec
+    }
+
+    @Value("${justina.trajectory.codec:JSON}")
+    private final Format format;
+
+    // 0 = coordenadas sin pérdida; > 0 = se redondean a múltiplos de este valor
+    @Value("${justina.trajectory.quantum:0}")
+    private final double quantum;
+
+    public TrajectoryChunkEntity encode(TrajectoryChunkEntity chunk) {
+        if (format == Format.COMPACT) {
+            chunk.setPackedSamples(CompactTrajectoryCodec.encode(Trajectory.copyOf(chunk.getSamples()), quantum));
+            chunk.setSamples(null);
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,6 @@
+package project.Justina.infrastructure.adapter.entity;
+
+import project.Justina.domain.model.SurgeryEvent;
+
+// Cantidad de muestras con un evento en una cirugía, contada sobre trajectory_events
+public record EventCount(SurgeryEvent event, Long count) {}
@@ -0,0 +1,8 @@
+package project.Justina.infrastructure.adapter.entity;
+
+import project.Justina.domain.model.Movement;
+
+import java.util.List;
+
+// Solo la columna jsonb legada de surgery_sessions, para cirugías guardadas antes de los chunks
+public record LegacyTrajectory(List<Movement> movements) {}
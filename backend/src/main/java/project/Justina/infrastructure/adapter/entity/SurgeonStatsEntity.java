@@ -0,0 +1,70 @@
+package project.Justina.infrastructure.adapter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Una fila por cirujano; se escribe solo con los UPDATE incrementales de JpaSurgeonStatsRepository
+@Entity
+@Table(name = "surgeon_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SurgeonStatsEntity {
+    @Id
+    @Column(name = "surgeon_id")
+    private UUID surgeonId;
+
+    // Cirugías terminadas
+    @Column(nullable = false)
+    private long sessions;
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    private long totalDurationSeconds;
+
+    @Column(nullable = false)
+    private long hemorrhages;
+
+    @Column(name = "kidney_touches", nullable = false)
+    private long kidneyTouches;
+
+    @Column(name = "tumor_removals", nullable = false)
+    private long tumorRemovals;
+
+    @Column(name = "scored_sessions", nullable = false)
+    private long scoredSessions;
+
+    @Column(name = "score_sum", nullable = false)
+    private double scoreSum;
+
+    @Column(name = "score_sum_squares", nullable = false)
+    private double scoreSumSquares;
+
+    // Sumas de la regresión score ~ fecha de inicio (SurgeonStats.trendX)
+    @Column(name = "trend_x_sum", nullable = false)
+    private double trendXSum;
+
+    @Column(name = "trend_xx_sum", nullable = false)
+    private double trendXxSum;
+
+    @Column(name = "trend_xy_sum", nullable = false)
+    private double trendXySum;
+
+    @Column(name = "best_score")
+    private Double bestScore;
+
+    @Column(name = "last_score")
+    private Double lastScore;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,15 @@
+package project.Justina.infrastructure.adapter.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Proyección de surgery_sessions sin la columna jsonb legada: leer la cabecera no trae la trayectoria
+public record SurgeryHeader(
+        UUID id,
+        UUID surgeonId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Long durationInSeconds,
+        Double score,
+        String feedback
+) {}
@@ -3,6 +3,7 @@ package project.Justina.infrastructure.adapter.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,7 +18,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "surgery_sessions")
+@Table(name = "surgery_sessions", indexes = {
+        // Historial por cirujano con keyset sobre (start_time, id)
+        @Index(name = "idx_surgery_sessions_surgeon_start", columnList = "surgeon_id, start_time, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,8 +33,10 @@ public class SurgerySessionEntity {
     @Column(name = "surgeon_id")
     private UUID surgeonId;
 
+    // Columna legada: las cirugías nuevas guardan la trayectoria en trajectory_chunks.
+    // No se actualiza para que guardar la cabecera no pise los datos existentes.
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(columnDefinition = "jsonb")
+    @Column(columnDefinition = "jsonb", updatable = false)
     private List<Movement> trajectory;
 
     @Column(name = "start_time")
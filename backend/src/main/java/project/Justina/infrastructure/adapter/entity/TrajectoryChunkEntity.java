@@ -0,0 +1,80 @@
+package project.Justina.infrastructure.adapter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+import project.Justina.domain.model.Movement;
+import project.Justina.infrastructure.adapter.codec.CompactTrajectoryCodec;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Tramo append-only de la trayectoria de una cirugía, escrito durante la telemetría en vivo
+@Entity
+@Table(name = "trajectory_chunks", indexes = {
+        @Index(name = "idx_trajectory_chunks_surgery_max_ts", columnList = "surgery_id, max_ts")
+})
+@IdClass(TrajectoryChunkId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrajectoryChunkEntity implements Persistable<TrajectoryChunkId> {
+    @Id
+    @Column(name = "surgery_id")
+    private UUID surgeryId;
+
+    @Id
+    @Column(name = "seq")
+    private Integer sequence;
+
+    // Las muestras van en una sola de las dos columnas, según justina.trajectory.codec
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<Movement> samples;
+
+    @Column(name = "samples_packed")
+    private byte[] packedSamples;
+
+    // Rango de timestamps del chunk: las consultas por ventana descartan chunks sin leer sus muestras
+    @Column(name = "min_ts", nullable = false)
+    private long minTimestamp;
+
+    @Column(name = "max_ts", nullable = false)
+    private long maxTimestamp;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public TrajectoryChunkEntity(UUID surgeryId, Integer sequence, List<Movement> samples,
+                                 long minTimestamp, long maxTimestamp, LocalDateTime createdAt) {
+        this(surgeryId, sequence, samples, null, minTimestamp, maxTimestamp, createdAt);
+    }
+
+    // Transparente para quien lee: decodifica si el chunk se guardó comprimido
+    public List<Movement> getSamples() {
+        return samples != null ? samples : CompactTrajectoryCodec.decode(packedSamples);
+    }
+
+    @Override
+    public TrajectoryChunkId getId() {
+        return new TrajectoryChunkId(surgeryId, sequence);
+    }
+
+    // Los chunks nunca se actualizan: persist directo, sin el SELECT previo de merge
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,17 @@
+package project.Justina.infrastructure.adapter.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+// Clave compuesta de trajectory_chunks: (surgery_id, seq)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrajectoryChunkId implements Serializable {
+    private UUID surgeryId;
+    private Integer sequence;
+}
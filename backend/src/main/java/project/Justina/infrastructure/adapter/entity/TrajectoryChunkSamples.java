@@ -0,0 +1,16 @@
+package project.Justina.infrastructure.adapter.entity;
+
+import project.Justina.domain.model.Movement;
+import project.Justina.infrastructure.adapter.codec.CompactTrajectoryCodec;
+
+import java.util.List;
+
+// Proyección de un chunk para leer por páginas: no queda administrada en el contexto de persistencia
+public record TrajectoryChunkSamples(Integer sequence, List<Movement> samples, byte[] packedSamples) {
+
+    // Igual que TrajectoryChunkEntity.getSamples: decodifica si el chunk se guardó comprimido
+    @Override
+    public List<Movement> samples() {
+        return samples != null ? samples : CompactTrajectoryCodec.decode(packedSamples);
+    }
+}
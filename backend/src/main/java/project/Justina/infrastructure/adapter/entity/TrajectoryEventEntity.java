@@ -0,0 +1,62 @@
+package project.Justina.infrastructure.adapter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+import project.Justina.domain.model.SurgeryEvent;
+
+import java.util.UUID;
+
+// Índice de eventos de la trayectoria: una fila por muestra con evento distinto de NONE,
+// escrita junto con su chunk. Permite ubicar una hemorragia sin leer las muestras.
+@Entity
+@Table(name = "trajectory_events", indexes = {
+        @Index(name = "idx_trajectory_events_surgery_event_ts", columnList = "surgery_id, event, ts")
+})
+@IdClass(TrajectoryEventId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrajectoryEventEntity implements Persistable<TrajectoryEventId> {
+    @Id
+    @Column(name = "surgery_id")
+    private UUID surgeryId;
+
+    // Chunk que contiene la muestra
+    @Id
+    @Column(name = "seq")
+    private Integer sequence;
+
+    @Id
+    @Column(name = "sample_index")
+    private Integer sampleIndex;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SurgeryEvent event;
+
+    @Column(name = "ts", nullable = false)
+    private long timestamp;
+
+    @Override
+    public TrajectoryEventId getId() {
+        return new TrajectoryEventId(surgeryId, sequence, sampleIndex);
+    }
+
+    // Igual que los chunks: solo se insertan
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package project.Justina.infrastructure.adapter.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+// Clave compuesta de trajectory_events: (surgery_id, seq, sample_index)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrajectoryEventId implements Serializable {
+    private UUID surgeryId;
+    private Integer sequence;
+    private Integer sampleIndex;
+}
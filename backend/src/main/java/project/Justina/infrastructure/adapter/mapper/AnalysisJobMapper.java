@@ -0,0 +1,32 @@
+package project.Justina.infrastructure.adapter.mapper;
+
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.AnalysisJob;
+import project.Justina.domain.model.AnalysisJobStatus;
+import project.Justina.infrastructure.adapter.entity.AnalysisJobEntity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Component
+public class AnalysisJobMapper {
+
+    // Trabajo nuevo de una cirugía recién terminada, listo para asignarse
+    public AnalysisJobEntity newPendingEntity(UUID surgeryId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AnalysisJobEntity(surgeryId, AnalysisJobStatus.PENDING, 0, null, null, now, now);
+    }
+
+    public AnalysisJob toDomain(AnalysisJobEntity entity) {
+        if (entity == null) return null;
+
+        return new AnalysisJob(
+                entity.getSurgeryId(),
+                entity.getStatus(),
+                entity.getAttempts(),
+                entity.getLeaseOwner(),
+                entity.getLeaseUntil(),
+                entity.getNextAttemptAt()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package project.Justina.infrastructure.adapter.mapper;
+
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.RefreshToken;
+import project.Justina.infrastructure.adapter.entity.RefreshTokenEntity;
+
+@Component
+public class RefreshTokenMapper {
+
+    public RefreshTokenEntity toEntity(RefreshToken refreshToken) {
+        return new RefreshTokenEntity(
+                refreshToken.id(),
+                refreshToken.tokenHash(),
+                refreshToken.familyId(),
+                refreshToken.userId(),
+                refreshToken.expiresAt(),
+                refreshToken.usedAt(),
+                refreshToken.revoked()
+        );
+    }
+
+    public RefreshToken toDomain(RefreshTokenEntity entity) {
+        if (entity == null) return null;
+
+        return new RefreshToken(
+                entity.getId(),
+                entity.getTokenHash(),
+                entity.getFamilyId(),
+                entity.getUserId(),
+                entity.getExpiresAt(),
+                entity.getUsedAt(),
+                entity.isRevoked()
+        );
+    }
+}
@@ -0,0 +1,31 @@
+package project.Justina.infrastructure.adapter.mapper;
+
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.SurgeonStats;
+import project.Justina.infrastructure.adapter.entity.SurgeonStatsEntity;
+
+@Component
+public class SurgeonStatsMapper {
+
+    public SurgeonStats toDomain(SurgeonStatsEntity entity) {
+        if (entity == null) return null;
+
+        return new SurgeonStats(
+                entity.getSurgeonId(),
+                entity.getSessions(),
+                entity.getTotalDurationSeconds(),
+                entity.getHemorrhages(),
+                entity.getKidneyTouches(),
+                entity.getTumorRemovals(),
+                entity.getScoredSessions(),
+                entity.getScoreSum(),
+                entity.getScoreSumSquares(),
+                entity.getTrendXSum(),
+                entity.getTrendXxSum(),
+                entity.getTrendXySum(),
+                entity.getBestScore(),
+                entity.getLastScore(),
+                entity.getUpdatedAt()
+        );
+    }
+}
@@ -1,19 +1,29 @@
 package project.Justina.infrastructure.adapter.mapper;
 
 import org.springframework.stereotype.Component;
+import project.Justina.domain.model.Movement;
+import project.Justina.domain.model.SurgeryEvent;
 import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.model.Trajectory;
+import project.Justina.infrastructure.adapter.entity.SurgeryHeader;
 import project.Justina.infrastructure.adapter.entity.SurgerySessionEntity;
+import project.Justina.infrastructure.adapter.entity.TrajectoryChunkEntity;
+import project.Justina.infrastructure.adapter.entity.TrajectoryEventEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 public class SurgeryMapper {
-    // De Dominio a Entidad (Para Guardar)
+    // De Dominio a Entidad (Para Guardar): solo la cabecera, la trayectoria va en chunks
     public SurgerySessionEntity toEntity(SurgerySession domain) {
         if (domain == null) return null;
 
         SurgerySessionEntity entity = new SurgerySessionEntity();
         entity.setId(domain.getId());
         entity.setSurgeonId(domain.getSurgeonId());
-        entity.setTrajectory(domain.getTrajectory());
         entity.setStartTime(domain.getStartTime());
         entity.setEndTime(domain.getEndTime());
         entity.setDurationInSeconds(domain.getDurationInSeconds());
@@ -22,18 +32,64 @@ public class SurgeryMapper {
         return entity;
     }
 
-    public SurgerySession toDomain(SurgerySessionEntity entity) {
-        if (entity == null) return null;
+    // Cabecera de una cirugía en curso: solo los campos que no cambian después de crearla,
+    // se pueden leer sin el lock de la sesión
+    public SurgerySessionEntity toStartedEntity(SurgerySession domain) {
+        SurgerySessionEntity entity = new SurgerySessionEntity();
+        entity.setId(domain.getId());
+        entity.setSurgeonId(domain.getSurgeonId());
+        entity.setStartTime(domain.getStartTime());
+        return entity;
+    }
+
+    // min/max en vez de primero/último: el rango sigue siendo válido aunque lleguen muestras desordenadas
+    public TrajectoryChunkEntity toChunkEntity(UUID surgeryId, int sequence, Trajectory samples) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < samples.size(); i++) {
+            min = Math.min(min, samples.timestamp(i));
+            max = Math.max(max, samples.timestamp(i));
+        }
+        return new TrajectoryChunkEntity(surgeryId, sequence, samples, min, max, LocalDateTime.now());
+    }
+
+    // Una fila del índice de eventos por cada muestra del chunk con evento distinto de NONE
+    public List<TrajectoryEventEntity> toEventEntities(UUID surgeryId, int sequence, Trajectory samples) {
+        List<TrajectoryEventEntity> events = new ArrayList<>();
+        for (int i = 0; i < samples.size(); i++) {
+            if (samples.event(i) != SurgeryEvent.NONE) {
+                events.add(new TrajectoryEventEntity(surgeryId, sequence, i, samples.event(i), samples.timestamp(i)));
+            }
+        }
+        return events;
+    }
+
+    // Solo la cabecera: la trayectoria se lee aparte, por páginas
+    public SurgerySession toHeader(SurgeryHeader header) {
+        return toDomain(header, new Trajectory(0));
+    }
+
+    // Rearma la trayectoria desde los chunks, en orden
+    public Trajectory toTrajectory(List<TrajectoryChunkEntity> chunks) {
+        // getSamples() decodifica los chunks comprimidos: se llama una sola vez por chunk
+        List<List<Movement>> decoded = chunks.stream().map(TrajectoryChunkEntity::getSamples).toList();
+        Trajectory trajectory = new Trajectory(decoded.stream().mapToInt(List::size).sum());
+        decoded.forEach(trajectory::addAll);
+        return trajectory;
+    }
+
+    public SurgerySession toDomain(SurgeryHeader header, Trajectory trajectory) {
+        if (header == null) return null;
 
         return new SurgerySession(
-                entity.getId(),
-                entity.getSurgeonId(),
-                entity.getTrajectory(),
-                entity.getStartTime(),
-                entity.getEndTime(),
-                entity.getDurationInSeconds(),
-                entity.getScore(),
-                entity.getFeedback()
+                header.id(),
+                header.surgeonId(),
+                trajectory,
+                header.startTime(),
+                header.endTime(),
+                header.durationInSeconds(),
+                header.score(),
+                header.feedback()
         );
     }
 }
@@ -0,0 +1,32 @@
+package project.Justina.infrastructure.adapter.mapper;
+
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.TokenRevocation;
+import project.Justina.infrastructure.adapter.entity.TokenRevocationEntity;
+
+import java.util.UUID;
+
+@Component
+public class TokenRevocationMapper {
+
+    public TokenRevocationEntity toEntity(TokenRevocation revocation) {
+        return new TokenRevocationEntity(
+                UUID.randomUUID(),
+                revocation.tokenId(),
+                revocation.userId(),
+                revocation.issuedBefore(),
+                revocation.expiresAt()
+        );
+    }
+
+    public TokenRevocation toDomain(TokenRevocationEntity entity) {
+        if (entity == null) return null;
+
+        return new TokenRevocation(
+                entity.getTokenId(),
+                entity.getUserId(),
+                entity.getIssuedBefore(),
+                entity.getExpiresAt()
+        );
+    }
+}
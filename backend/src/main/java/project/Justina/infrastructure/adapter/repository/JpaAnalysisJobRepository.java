@@ -0,0 +1,50 @@
+package project.Justina.infrastructure.adapter.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import project.Justina.domain.model.AnalysisJobStatus;
+import project.Justina.infrastructure.adapter.entity.AnalysisJobEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JpaAnalysisJobRepository extends JpaRepository<AnalysisJobEntity, UUID> {
+
+    @Query("SELECT j.surgeryId FROM AnalysisJobEntity j WHERE j.status = :status AND j.nextAttemptAt <= :now ORDER BY j.nextAttemptAt")
+    List<UUID> findDue(@Param("status") AnalysisJobStatus status, @Param("now") LocalDateTime now, Pageable page);
+
+    List<AnalysisJobEntity> findByStatusAndLeaseUntilBefore(AnalysisJobStatus status, LocalDateTime now);
+
+    // Las transiciones son UPDATE condicionales: solo una gana si dos nodos compiten por el mismo trabajo
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisJobEntity j SET j.status = project.Justina.domain.model.AnalysisJobStatus.LEASED, "
+            + "j.leaseOwner = :owner, j.leaseUntil = :leaseUntil, j.attempts = j.attempts + 1 "
+            + "WHERE j.surgeryId = :id AND j.status = project.Justina.domain.model.AnalysisJobStatus.PENDING "
+            + "AND j.nextAttemptAt <= :now")
+    int lease(@Param("id") UUID surgeryId, @Param("owner") String owner,
+              @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisJobEntity j SET j.status = :status, j.leaseOwner = NULL, j.leaseUntil = NULL, "
+            + "j.nextAttemptAt = :nextAttemptAt "
+            + "WHERE j.surgeryId = :id AND j.status = project.Justina.domain.model.AnalysisJobStatus.LEASED "
+            + "AND j.leaseOwner = :owner")
+    int releaseLease(@Param("id") UUID surgeryId, @Param("owner") String owner,
+                     @Param("status") AnalysisJobStatus status, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisJobEntity j SET j.status = project.Justina.domain.model.AnalysisJobStatus.DONE, "
+            + "j.leaseOwner = NULL, j.leaseUntil = NULL "
+            + "WHERE j.surgeryId = :id AND j.status <> project.Justina.domain.model.AnalysisJobStatus.DONE")
+    int complete(@Param("id") UUID surgeryId);
+}
@@ -0,0 +1,53 @@
+package project.Justina.infrastructure.adapter.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.Justina.infrastructure.adapter.entity.SurgeonStatsEntity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Las escrituras son incrementos atómicos en la base: dos cirugías del mismo cirujano que
+// terminan a la vez no se pisan (no hay lectura-modificación-escritura en Java)
+@Repository
+public interface JpaSurgeonStatsRepository extends JpaRepository<SurgeonStatsEntity, UUID> {
+
+    // La fila se crea vacía la primera vez que un UPDATE no la encuentra. Si otra transacción la crea
+    // a la vez, ON CONFLICT la deja pasar sin error (H2 en MODE=PostgreSQL solo acepta la forma sin columnas)
+    @Modifying
+    @Query(value = "INSERT INTO surgeon_stats (surgeon_id, sessions, total_duration_seconds, hemorrhages, "
+            + "kidney_touches, tumor_removals, scored_sessions, score_sum, score_sum_squares, "
+            + "trend_x_sum, trend_xx_sum, trend_xy_sum) "
+            + "VALUES (:surgeonId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0) "
+            + "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("surgeonId") UUID surgeonId);
+
+    @Modifying
+    @Query("UPDATE SurgeonStatsEntity s SET s.sessions = s.sessions + 1, "
+            + "s.totalDurationSeconds = s.totalDurationSeconds + :durationSeconds, "
+            + "s.hemorrhages = s.hemorrhages + :hemorrhages, s.kidneyTouches = s.kidneyTouches + :kidneyTouches, "
+            + "s.tumorRemovals = s.tumorRemovals + :tumorRemovals, s.updatedAt = :now "
+            + "WHERE s.surgeonId = :surgeonId")
+    int addSession(@Param("surgeonId") UUID surgeonId, @Param("durationSeconds") long durationSeconds,
+                   @Param("hemorrhages") long hemorrhages, @Param("kidneyTouches") long kidneyTouches,
+                   @Param("tumorRemovals") long tumorRemovals, @Param("now") LocalDateTime now);
+
+    // Suma las diferencias de un score nuevo (scored = 1) o reemplazado (scored = 0, deltas contra el anterior).
+    // bestScore solo sube: reemplazar el mejor score por uno menor no lo baja
+    @Modifying
+    @Query("UPDATE SurgeonStatsEntity s SET s.scoredSessions = s.scoredSessions + :scored, "
+            + "s.scoreSum = s.scoreSum + :scoreDelta, s.scoreSumSquares = s.scoreSumSquares + :squaresDelta, "
+            + "s.trendXSum = s.trendXSum + :xDelta, s.trendXxSum = s.trendXxSum + :xxDelta, "
+            + "s.trendXySum = s.trendXySum + :xyDelta, "
+            + "s.bestScore = CASE WHEN s.bestScore IS NULL OR s.bestScore < :score THEN :score ELSE s.bestScore END, "
+            + "s.lastScore = :score, s.updatedAt = :now "
+            + "WHERE s.surgeonId = :surgeonId")
+    int addScore(@Param("surgeonId") UUID surgeonId, @Param("scored") long scored,
+                 @Param("scoreDelta") double scoreDelta, @Param("squaresDelta") double squaresDelta,
+                 @Param("xDelta") double xDelta, @Param("xxDelta") double xxDelta, @Param("xyDelta") double xyDelta,
+                 @Param("score") double score, @Param("now") LocalDateTime now);
+}
@@ -1,11 +1,58 @@
 package project.Justina.infrastructure.adapter.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import project.Justina.domain.dto.SurgerySummaryDTO;
+import project.Justina.infrastructure.adapter.entity.LegacyTrajectory;
+import project.Justina.infrastructure.adapter.entity.SurgeryHeader;
 import project.Justina.infrastructure.adapter.entity.SurgerySessionEntity;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface JpaSurgeryRepository extends JpaRepository<SurgerySessionEntity, UUID> {
+
+    @Query("SELECT new project.Justina.infrastructure.adapter.entity.SurgeryHeader("
+            + "s.id, s.surgeonId, s.startTime, s.endTime, s.durationInSeconds, s.score, s.feedback) "
+            + "FROM SurgerySessionEntity s WHERE s.id = :id")
+    Optional<SurgeryHeader> findHeader(@Param("id") UUID id);
+
+    @Query("SELECT new project.Justina.infrastructure.adapter.entity.LegacyTrajectory(s.trajectory) "
+            + "FROM SurgerySessionEntity s WHERE s.id = :id")
+    Optional<LegacyTrajectory> findLegacyTrajectory(@Param("id") UUID id);
+
+    // Historial: recorre idx_surgery_sessions_surgeon_start hacia atrás desde la clave indicada, sin OFFSET
+    @Query("SELECT new project.Justina.domain.dto.SurgerySummaryDTO(s.id, s.startTime, s.endTime, s.durationInSeconds, s.score) "
+            + "FROM SurgerySessionEntity s WHERE s.surgeonId = :surgeonId "
+            + "ORDER BY s.startTime DESC, s.id DESC")
+    List<SurgerySummaryDTO> findSummaries(@Param("surgeonId") UUID surgeonId, Pageable page);
+
+    @Query("SELECT new project.Justina.domain.dto.SurgerySummaryDTO(s.id, s.startTime, s.endTime, s.durationInSeconds, s.score) "
+            + "FROM SurgerySessionEntity s WHERE s.surgeonId = :surgeonId "
+            + "AND (s.startTime < :afterStart OR (s.startTime = :afterStart AND s.id < :afterId)) "
+            + "ORDER BY s.startTime DESC, s.id DESC")
+    List<SurgerySummaryDTO> findSummariesAfter(@Param("surgeonId") UUID surgeonId,
+                                               @Param("afterStart") LocalDateTime afterStart,
+                                               @Param("afterId") UUID afterId,
+                                               Pageable page);
+
+    // Solo score y feedback: el análisis de la IA no relee ni reescribe el resto de la fila.
+    // Condicionados al score anterior: si otro análisis lo cambió en el medio, no actualizan nada
+    @Modifying
+    @Query("UPDATE SurgerySessionEntity s SET s.score = :score, s.feedback = :feedback "
+            + "WHERE s.id = :id AND s.score IS NULL")
+    int updateFirstAnalysis(@Param("id") UUID id, @Param("score") Double score, @Param("feedback") String feedback);
+
+    @Modifying
+    @Query("UPDATE SurgerySessionEntity s SET s.score = :score, s.feedback = :feedback "
+            + "WHERE s.id = :id AND s.score = :previous")
+    int replaceAnalysis(@Param("id") UUID id, @Param("previous") Double previous,
+                        @Param("score") Double score, @Param("feedback") String feedback);
 }
@@ -0,0 +1,37 @@
+package project.Justina.infrastructure.adapter.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.Justina.infrastructure.adapter.entity.TrajectoryChunkEntity;
+import project.Justina.infrastructure.adapter.entity.TrajectoryChunkId;
+import project.Justina.infrastructure.adapter.entity.TrajectoryChunkSamples;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JpaTrajectoryChunkRepository extends JpaRepository<TrajectoryChunkEntity, TrajectoryChunkId> {
+    List<TrajectoryChunkEntity> findBySurgeryIdOrderBySequenceAsc(UUID surgeryId);
+
+    // Keyset sobre (surgery_id, seq): cada página arranca en la clave primaria, sin OFFSET
+    @Query("SELECT new project.Justina.infrastructure.adapter.entity.TrajectoryChunkSamples(c.sequence, c.samples, c.packedSamples) "
+            + "FROM TrajectoryChunkEntity c WHERE c.surgeryId = :surgeryId AND c.sequence >= :fromSequence "
+            + "ORDER BY c.sequence")
+    List<TrajectoryChunkSamples> findPage(@Param("surgeryId") UUID surgeryId,
+                                          @Param("fromSequence") int fromSequence,
+                                          Pageable page);
+
+    // Chunks que se solapan con [from, to] según su rango de timestamps
+    @Query("SELECT new project.Justina.infrastructure.adapter.entity.TrajectoryChunkSamples(c.sequence, c.samples, c.packedSamples) "
+            + "FROM TrajectoryChunkEntity c WHERE c.surgeryId = :surgeryId "
+            + "AND c.maxTimestamp >= :from AND c.minTimestamp <= :to "
+            + "ORDER BY c.sequence")
+    List<TrajectoryChunkSamples> findOverlapping(@Param("surgeryId") UUID surgeryId,
+                                                 @Param("from") long from,
+                                                 @Param("to") long to);
+
+    boolean existsBySurgeryId(UUID surgeryId);
+}
@@ -0,0 +1,26 @@
+package project.Justina.infrastructure.adapter.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.infrastructure.adapter.entity.EventCount;
+import project.Justina.infrastructure.adapter.entity.TrajectoryEventEntity;
+import project.Justina.infrastructure.adapter.entity.TrajectoryEventId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface JpaTrajectoryEventRepository extends JpaRepository<TrajectoryEventEntity, TrajectoryEventId> {
+
+    @Query("SELECT e.timestamp FROM TrajectoryEventEntity e "
+            + "WHERE e.surgeryId = :surgeryId AND e.event IN :events ORDER BY e.timestamp")
+    List<Long> findTimestamps(@Param("surgeryId") UUID surgeryId, @Param("events") Collection<SurgeryEvent> events);
+
+    @Query("SELECT new project.Justina.infrastructure.adapter.entity.EventCount(e.event, COUNT(e)) "
+            + "FROM TrajectoryEventEntity e WHERE e.surgeryId = :surgeryId GROUP BY e.event")
+    List<EventCount> countBySurgeryId(@Param("surgeryId") UUID surgeryId);
+}
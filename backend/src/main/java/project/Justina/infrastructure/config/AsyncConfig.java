@@ -0,0 +1,70 @@
+package project.Justina.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class AsyncConfig {
+
+    // Finalización de cirugías fuera del hilo de I/O del WebSocket (guardado, SAVED y aviso a la IA).
+    // Acotado en concurrencia y en cola: si se llena, la finalización se rechaza y LiveSurgeryRegistry
+    // la reintenta en el próximo flush; el guardado nunca corre en el hilo de I/O que recibió el FINISH.
+    @Bean(name = "surgeryFinishExecutor")
+    public ExecutorService surgeryFinishExecutor(
+            @Value("${justina.telemetry.finish-concurrency:8}") int concurrency,
+            @Value("${justina.telemetry.finish-queue-capacity:256}") int queueCapacity) {
+        return new ThreadPoolExecutor(
+                concurrency, concurrency,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("surgery-finish-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Escritura de los chunks de trayectoria en vivo (write-behind), fuera del hilo de I/O y del lock
+    // de la sesión. Hay a lo sumo una escritura por cirugía en curso: el pool de conexiones pone el límite.
+    @Bean(name = "surgeryWriteExecutor")
+    public ExecutorService surgeryWriteExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("surgery-write-", 0).factory());
+    }
+
+    // Scheduler de los @Scheduled (flush, reparto a la IA, revocaciones, ranking, limpieza): con más de
+    // un hilo, una consulta lenta en una tarea no atrasa a las demás
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${justina.scheduling.pool-size:4}") int poolSize) {
+        return scheduler("scheduling-", poolSize);
+    }
+
+    // Feedback en vivo a los simuladores: hilo propio, así su ritmo no depende de las tareas con DB
+    @Bean(name = "simulationFeedbackScheduler")
+    public ThreadPoolTaskScheduler simulationFeedbackScheduler() {
+        return scheduler("simulation-feedback-", 1);
+    }
+
+    // Escritores de las colas de salida hacia la IA: un hilo virtual por cola mientras tenga mensajes
+    @Bean(name = "aiOutboundExecutor")
+    public ExecutorService aiOutboundExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ai-outbound-", 0).factory());
+    }
+
+    // Escritores de las respuestas y el feedback en vivo hacia los simuladores (/ws/simulation)
+    @Bean(name = "simulationOutboundExecutor")
+    public ExecutorService simulationOutboundExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("simulation-outbound-", 0).factory());
+    }
+
+    private static ThreadPoolTaskScheduler scheduler(String threadNamePrefix, int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix(threadNamePrefix);
+        return scheduler;
+    }
+}
@@ -5,18 +5,25 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import project.Justina.application.service.AuthService;
 import project.Justina.domain.dto.AuthResponseDTO;
 import project.Justina.domain.dto.LoginRequestDTO;
+import project.Justina.domain.dto.RefreshRequestDTO;
 import project.Justina.domain.dto.UserResponseDTO;
+import project.Justina.domain.exception.UserAlreadyExistsException;
+import project.Justina.infrastructure.security.JwtAuthenticationFilter;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -28,6 +35,10 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final String ACCESS_COOKIE = "jwt-token";
+    private static final String REFRESH_COOKIE = "refresh-token";
+    private static final String REFRESH_COOKIE_PATH = "/api/v1/auth";
+
     private final AuthService authService;
 
     @PostMapping("/login")
@@ -61,25 +72,40 @@ public class AuthController {
             HttpServletResponse response
     ) {
         AuthResponseDTO authResponse = authService.login(request.username(), request.password());
-        
 
-        jakarta.servlet.http.Cookie cookie = new jakarta.servlet.http.Cookie("jwt-token", authResponse.token());
-        cookie.setHttpOnly(true);
-        cookie.setSecure(true);
-        cookie.setPath("/");
-        cookie.setMaxAge(86400); // 24 horas
-        cookie.setAttribute("SameSite", "None");
-        
-        response.addCookie(cookie);
-        
-        return ResponseEntity.ok(Map.of(
-            "message", "Login exitoso",
-            "userId", authResponse.userId(),
-            "username", authResponse.username(),
-            "token", authResponse.token()
-        ));
+        return ResponseEntity.ok(withSessionCookies(authResponse, response));
     }
 
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Renovación del token de acceso",
+            description = "Consume el refresh token (cookie refresh-token o cuerpo) y devuelve un token de acceso "
+                    + "y un refresh token nuevos. Reusar un refresh token ya consumido revoca toda la sesión"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens renovados",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AuthResponseDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Refresh token ausente, inválido, vencido, revocado o reutilizado"
+            )
+    })
+    public ResponseEntity<?> refresh(
+            @CookieValue(name = REFRESH_COOKIE, required = false) String refreshCookie,
+            @RequestBody(required = false) RefreshRequestDTO request,
+            HttpServletResponse response
+    ) {
+        String refreshToken = refreshCookie != null ? refreshCookie : request != null ? request.refreshToken() : null;
+        AuthResponseDTO authResponse = authService.refresh(refreshToken);
+
+        return ResponseEntity.ok(withSessionCookies(authResponse, response));
+    }
 
     @PostMapping("/register")
     @Operation(
@@ -110,22 +136,60 @@ public class AuthController {
                                 }
                                 """)
                     )
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Servidor ocupado hasheando contraseñas; reintentar más tarde"
             )
     })
     public ResponseEntity<?> register(
             @RequestBody @Valid LoginRequestDTO request
     ) {
+        // Solo el usuario repetido es 400; lo demás (p.ej. 503 con el pool de hashing saturado)
+        // llega al GlobalExceptionHandler con su propio estado
         try {
             authService.register(request.username(), request.password());
             return ResponseEntity.ok(
                     Map.of("message", "Usuario registrado con éxito")
             );
-        } catch (RuntimeException e) {
+        } catch (UserAlreadyExistsException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            // Dos registros simultáneos con el mismo nombre: lo frena el índice único de users
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "El usuario ya existe"));
         }
     }
 
+    @PostMapping("/logout")
+    @Operation(
+            summary = "Cierre de sesión",
+            description = "Revoca el token actual (cookie o header Authorization) y su refresh token, y borra las cookies; "
+                    + "con allSessions=true revoca también todos los tokens del usuario emitidos hasta ahora"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Sesión cerrada (también si el token ya era inválido)"
+            )
+    })
+    public ResponseEntity<?> logout(
+            @RequestParam(defaultValue = "false") boolean allSessions,
+            @CookieValue(name = REFRESH_COOKIE, required = false) String refreshCookie,
+            @RequestBody(required = false) RefreshRequestDTO body,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
+        String refreshToken = refreshCookie != null ? refreshCookie : body != null ? body.refreshToken() : null;
+        authService.logout(JwtAuthenticationFilter.resolveToken(request), refreshToken, allSessions);
+
+        response.addCookie(cookie(ACCESS_COOKIE, "", "/", 0));
+        response.addCookie(cookie(REFRESH_COOKIE, "", REFRESH_COOKIE_PATH, 0));
+
+        return ResponseEntity.ok(Map.of("message", "Sesión cerrada"));
+    }
+
     @GetMapping("/me")
     @Operation(
             summary = "Obtener datos del usuario autenticado",
@@ -149,4 +213,29 @@ public class AuthController {
         return authService.getCurrentUser();
     }
 
+    // Token de acceso para toda la API; el refresh token solo viaja a los endpoints de /auth
+    private static Map<String, Object> withSessionCookies(AuthResponseDTO authResponse, HttpServletResponse response) {
+        response.addCookie(cookie(ACCESS_COOKIE, authResponse.token(), "/", authResponse.expiresIn()));
+        response.addCookie(cookie(REFRESH_COOKIE, authResponse.refreshToken(), REFRESH_COOKIE_PATH, authResponse.refreshExpiresIn()));
+
+        return Map.of(
+            "message", authResponse.message(),
+            "userId", authResponse.userId(),
+            "username", authResponse.username(),
+            "token", authResponse.token(),
+            "expiresIn", authResponse.expiresIn(),
+            "refreshToken", authResponse.refreshToken(),
+            "refreshExpiresIn", authResponse.refreshExpiresIn()
+        );
+    }
+
+    private static jakarta.servlet.http.Cookie cookie(String name, String value, String path, long maxAgeSeconds) {
+        jakarta.servlet.http.Cookie cookie = new jakarta.servlet.http.Cookie(name, value);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(true);
+        cookie.setPath(path);
+        cookie.setMaxAge((int) maxAgeSeconds);
+        cookie.setAttribute("SameSite", "None");
+        return cookie;
+    }
 }
@@ -9,6 +9,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import project.Justina.domain.exception.ForbiddenActionException;
 import project.Justina.domain.exception.JustinaException;
 import project.Justina.domain.exception.SurgeryNotFoundException;
@@ -32,6 +33,13 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", "JSON malformado o cuerpo de la petición inválido"));
     }
 
+    // Se lanza con un query param que no se puede convertir (ej: events=FOO o from=abc)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", "Valor inválido para el parámetro " + ex.getName()));
+    }
+
     // Se lanza cuando AuthenticationManager.authenticate() falla
     @ExceptionHandler({BadCredentialsException.class, UsernameNotFoundException.class})
     public ResponseEntity<Map<String, String>> handleAuthenticationException(RuntimeException ex) {
@@ -0,0 +1,50 @@
+package project.Justina.infrastructure.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import project.Justina.application.service.LeaderboardService;
+import project.Justina.application.service.SurgeonStatsService;
+import project.Justina.domain.dto.LeaderboardDTO;
+import project.Justina.domain.dto.SurgeonStatsDTO;
+import project.Justina.infrastructure.adapter.entity.UserEntity;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/surgeons")
+@RequiredArgsConstructor
+@Tag(name = "Surgeons", description = "Estadísticas de desempeño por cirujano")
+public class SurgeonController {
+
+    private final SurgeonStatsService statsService;
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping("/{surgeonId}/stats")
+    @Operation(summary = "Estadísticas acumuladas del cirujano",
+            description = "Score promedio, mejor y último, tendencia (puntos/día) y eventos por cirugía")
+    public ResponseEntity<SurgeonStatsDTO> getStats(@PathVariable UUID surgeonId) {
+        UserEntity userDetails = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        return ResponseEntity.ok(statsService.getSurgeonStats(surgeonId, userDetails.getId(), userDetails.getRole()));
+    }
+
+    @GetMapping("/leaderboard")
+    @Operation(summary = "Ranking de la cohorte",
+            description = "metric = BEST_SCORE, AVERAGE_SCORE, AVERAGE_DURATION o HEMORRHAGE_RATE; "
+                    + "se recalcula periódicamente, refreshedAt indica cuándo")
+    public ResponseEntity<LeaderboardDTO> getLeaderboard(
+            @RequestParam(defaultValue = "AVERAGE_SCORE") LeaderboardService.Metric metric,
+            @RequestParam(required = false) Integer limit) {
+        UserEntity userDetails = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(metric, limit, userDetails.getId()));
+    }
+}
@@ -4,17 +4,26 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import project.Justina.application.service.SurgeryService;
 import project.Justina.domain.dto.AnalysisDTO;
+import project.Justina.domain.dto.SurgeryPageDTO;
 import project.Justina.domain.dto.TrajectoryDTO;
+import project.Justina.domain.dto.TrajectoryMetricsDTO;
+import project.Justina.domain.dto.TrajectoryRangeDTO;
+import project.Justina.domain.exception.InvalidQueryException;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.SurgerySession;
 import project.Justina.infrastructure.adapter.entity.UserEntity;
 
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -24,10 +33,32 @@ import java.util.UUID;
 public class SurgeryController {
 
     private final SurgeryService surgeryService;
+    private final TrajectoryExporter trajectoryExporter;
+
+    @GetMapping
+    @Operation(summary = "Historial de cirugías del cirujano autenticado",
+            description = "Más recientes primero; pasar nextCursor como cursor para la página siguiente")
+    public ResponseEntity<SurgeryPageDTO> listSurgeries(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        UserEntity userDetails = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        return ResponseEntity.ok(surgeryService.listSurgeries(userDetails.getId(), cursor, limit));
+    }
 
     @GetMapping("/{id}/trajectory")
-    @Operation(summary = "Obtener trayectoria para IA")
-    public ResponseEntity<TrajectoryDTO> getTrajectory(@PathVariable UUID id) {
+    @Operation(summary = "Obtener trayectoria para IA",
+            description = "from/to (epoch ms) y events (con before/after ms de contexto) recortan la trayectoria; "
+                    + "maxPoints y tolerance (opcionales) la simplifican para visualización conservando los eventos")
+    public ResponseEntity<TrajectoryDTO> getTrajectory(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Set<SurgeryEvent> events,
+            @RequestParam(defaultValue = "${justina.trajectory.event-context-before-ms:2000}") long before,
+            @RequestParam(defaultValue = "${justina.trajectory.event-context-after-ms:2000}") long after,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(required = false) Double tolerance) {
 
         // Extraemos el ID del cirujano y su rol del contexto de seguridad (JWT)
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -37,10 +68,46 @@ public class SurgeryController {
         UUID authenticatedId = userDetails.getId();
         String role = userDetails.getRole();
 
-        TrajectoryDTO trajectory = surgeryService.getSurgeryTrajectory(id, authenticatedId, role);
+        TrajectoryRangeDTO range = new TrajectoryRangeDTO(from, to, events, before, after);
+        TrajectoryDTO trajectory = surgeryService.getSurgeryTrajectory(id, authenticatedId, role, range, maxPoints, tolerance);
         return ResponseEntity.ok(trajectory);
     }
 
+    @GetMapping("/{id}/trajectory/stream")
+    @Operation(summary = "Exportar trayectoria completa en streaming",
+            description = "format=ndjson (un movimiento por línea) o json (mismo formato que /trajectory); lee la trayectoria por páginas")
+    public ResponseEntity<StreamingResponseBody> streamTrajectory(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean ndjson = switch (format) {
+            case "ndjson" -> true;
+            case "json" -> false;
+            default -> throw new InvalidQueryException("format debe ser ndjson o json.");
+        };
+        UserEntity userDetails = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        // 404/403 se resuelven acá, antes de empezar a escribir el cuerpo
+        SurgerySession header = surgeryService.getSurgeryHeader(id, userDetails.getId(), userDetails.getRole());
+
+        if (ndjson) {
+            return ResponseEntity.ok()
+                    .contentType(TrajectoryExporter.APPLICATION_NDJSON)
+                    .body(out -> trajectoryExporter.writeNdjson(header, out));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> trajectoryExporter.writeJson(header, out));
+    }
+
+    @GetMapping("/{id}/metrics")
+    @Operation(summary = "Obtener métricas cinemáticas de la trayectoria")
+    public ResponseEntity<TrajectoryMetricsDTO> getMetrics(@PathVariable UUID id) {
+        UserEntity userDetails = (UserEntity) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        TrajectoryMetricsDTO metrics = surgeryService.getSurgeryMetrics(id, userDetails.getId(), userDetails.getRole());
+        return ResponseEntity.ok(metrics);
+    }
+
     @PostMapping("/{id}/analysis")
     @Operation(summary = "Recibir análisis de la IA")
     public ResponseEntity<Void> saveAnalysis(
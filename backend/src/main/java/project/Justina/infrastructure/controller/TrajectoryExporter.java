@@ -0,0 +1,81 @@
+package project.Justina.infrastructure.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import project.Justina.application.service.SurgeryService;
+import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.model.Trajectory;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+
+// Escribe la trayectoria directo al cuerpo de la respuesta, una página de chunks por vez.
+// Cada página se vuelca y se libera antes de leer la siguiente: la memoria no crece con la cirugía.
+@Component
+@RequiredArgsConstructor
+public class TrajectoryExporter {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final SurgeryService surgeryService;
+    private final ObjectMapper objectMapper;
+
+    // Un Movement por línea, con los mismos campos que en GET /trajectory
+    public void writeNdjson(SurgerySession header, OutputStream out) {
+        try (JsonGenerator generator = objectMapper.writer().withRootValueSeparator("\n").createGenerator(out)) {
+            surgeryService.forEachTrajectoryPage(header.getId(), page -> {
+                for (int i = 0; i < page.size(); i++) {
+                    writeMovement(generator, page, i);
+                }
+                generator.flush();
+            });
+            generator.writeRaw('\n');
+        }
+    }
+
+    // Mismo formato que TrajectoryDTO, con el arreglo de movimientos escrito a medida que se lee
+    public void writeJson(SurgerySession header, OutputStream out) {
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writePOJOProperty("surgeryId", header.getId());
+            generator.writePOJOProperty("startTime", header.getStartTime());
+            generator.writePOJOProperty("endTime", header.getEndTime());
+            generator.writeName("movements");
+            generator.writeStartArray();
+            // La cabecera sale antes de leer la primera página (el primer byte no espera a la trayectoria)
+            generator.flush();
+
+            surgeryService.forEachTrajectoryPage(header.getId(), page -> {
+                for (int i = 0; i < page.size(); i++) {
+                    writeMovement(generator, page, i);
+                }
+                generator.flush();
+            });
+
+            generator.writeEndArray();
+            generator.writePOJOProperty("score", header.getScore());
+            generator.writePOJOProperty("feedback", header.getFeedback());
+            generator.writeEndObject();
+        }
+    }
+
+    // Desde las columnas de la página, sin crear un Movement por muestra
+    private static void writeMovement(JsonGenerator generator, Trajectory page, int i) {
+        generator.writeStartObject();
+        generator.writeName("coordinates");
+        generator.writeStartArray();
+        generator.writeNumber(page.x(i));
+        generator.writeNumber(page.y(i));
+        if (page.is3D(i)) {
+            generator.writeNumber(page.z(i));
+        }
+        generator.writeEndArray();
+        generator.writeName("event");
+        generator.writeString(page.event(i).name());
+        generator.writeName("timestamp");
+        generator.writeNumber(page.timestamp(i));
+        generator.writeEndObject();
+    }
+}
@@ -1,16 +1,20 @@
 package project.Justina.infrastructure.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import project.Justina.domain.repository.UserRepository;
 import project.Justina.infrastructure.adapter.entity.UserEntity;
 import project.Justina.infrastructure.adapter.mapper.UserMapper;
 
+import java.util.Map;
+
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
@@ -30,8 +34,16 @@ public class ApplicationConfig {
         };
     }
 
+    // Los hashes nuevos se guardan como {bcrypt} con el costo configurado. Los viejos (bcrypt sin
+    // prefijo, o con un costo menor) siguen validando y AuthService.login los rehace al entrar.
+    // Para pasar a otro algoritmo alcanza con registrarlo acá y cambiar el id por defecto.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            PasswordHashingExecutor hashingExecutor,
+            @Value("${justina.security.bcrypt-strength:10}") int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new ThrottledPasswordEncoder(delegating, hashingExecutor);
     }
 }
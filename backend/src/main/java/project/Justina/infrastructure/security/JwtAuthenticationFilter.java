@@ -7,6 +7,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import project.Justina.infrastructure.adapter.entity.UserEntity;
 
 import java.io.IOException;
 import java.util.Map;
@@ -25,6 +27,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenPrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
+
+    // true: el principal se arma con los claims verificados, sin buscar al usuario en la base.
+    // Un usuario borrado o con otro rol sigue entrando hasta que su token venza o se revoque
+    @Value("${justina.security.claims-only:false}")
+    private final boolean claimsOnly;
 
     /*@Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -67,26 +76,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        // Primero intentar obtener el token de las cookies
-        String jwt = null;
-
-        // Buscar cookie "jwt-token"
-        if (request.getCookies() != null) {
-            for (jakarta.servlet.http.Cookie cookie : request.getCookies()) {
-                if ("jwt-token".equals(cookie.getName())) {
-                    jwt = cookie.getValue();
-                    break;
-                }
-            }
-        }
-
-        // Si no hay cookie, fallback al header Authorization (para compatibilidad)
-        if (jwt == null) {
-            final String authHeader = request.getHeader("Authorization");
-            if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                jwt = authHeader.substring(7);
-            }
-        }
+        String jwt = resolveToken(request);
 
         if (jwt == null) {
             filterChain.doFilter(request, response);
@@ -94,14 +84,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            // Si el token es basura, esto lanzará JWTDecodeException
-            String usernameFromToken = jwtService.extractUsername(jwt);
-
-            if (usernameFromToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(usernameFromToken);
-
-                // Verificamos si el token es válido según nuestra lógica (expiración, etc)
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Token ya verificado: sin HMAC ni consulta a la base
+                TokenPrincipalCache.Verified verified = principalCache.get(jwt);
+                if (verified == null) {
+                    verified = verifyAndResolve(jwt);
+                }
+                // La revocación se chequea siempre, también con el token en caché
+                if (verified != null && !revocationList.isRevoked(verified.claims())) {
+                    UserDetails userDetails = verified.principal();
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
 
@@ -114,4 +105,50 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    // Primero la cookie "jwt-token"; si no hay, el header Authorization (para compatibilidad)
+    public static String resolveToken(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (jakarta.servlet.http.Cookie cookie : request.getCookies()) {
+                if ("jwt-token".equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+
+        final String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return null;
+    }
+
+    // Si el token es basura o venció, verifyAndDecode lanza JWTVerificationException
+    private TokenPrincipalCache.Verified verifyAndResolve(String jwt) {
+        JwtClaims claims = jwtService.verifyAndDecode(jwt);
+        UserDetails userDetails = claimsOnly ? principalFromClaims(claims) : loadUser(claims);
+        if (userDetails == null) {
+            return null;
+        }
+        TokenPrincipalCache.Verified verified = new TokenPrincipalCache.Verified(userDetails, claims);
+        principalCache.put(jwt, verified);
+        return verified;
+    }
+
+    private UserDetails loadUser(JwtClaims claims) {
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.username());
+        return claims.username().equals(userDetails.getUsername()) ? userDetails : null;
+    }
+
+    // Modo claims-only: el token ya trae id, username y rol firmados, no hace falta ir a users
+    private UserDetails principalFromClaims(JwtClaims claims) {
+        if (claims.role() == null) {
+            return null;
+        }
+        UserEntity user = new UserEntity();
+        user.setId(claims.userId());
+        user.setUsername(claims.username());
+        user.setRole(claims.role());
+        return user;
+    }
+}
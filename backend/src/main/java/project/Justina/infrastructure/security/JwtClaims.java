@@ -0,0 +1,8 @@
+package project.Justina.infrastructure.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Claims de un JWT ya verificado (firma, issuer y expiración).
+// tokenId es null en tokens emitidos antes de que se agregara el jti
+public record JwtClaims(String tokenId, String username, UUID userId, String role, Instant issuedAt, Instant expiresAt) {}
@@ -1,52 +1,84 @@
 package project.Justina.infrastructure.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.UUID;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret.key}")
-    private String secretKey;
+    private static final String ISSUER = "Justina_Backend";
 
-    private final String issuer = "Justina_Backend";
+    // Se arman una sola vez: ambos son inmutables y thread-safe, se comparten entre requests
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
 
-    public String createToken(UUID userId, String username, String role) {
-        Algorithm algorithm = Algorithm.HMAC256(secretKey);
+    // Vida corta: se valida sin estado y la sesión se extiende con el refresh token
+    private final Duration accessTokenTtl;
+
+    public JwtService(@Value("${jwt.secret.key}") String secretKey,
+                      @Value("${justina.security.access-token-ttl-ms:900000}") long accessTokenTtlMillis) {
+        this.accessTokenTtl = Duration.ofMillis(accessTokenTtlMillis);
+        this.algorithm = Algorithm.HMAC256(secretKey);
+        this.verifier = JWT.require(algorithm)
+                .withIssuer(ISSUER)
+                .withClaimPresence("sub")
+                .withClaimPresence("userId")
+                .build();
+    }
 
+    public String createToken(UUID userId, String username, String role) {
         return JWT.create()
-                .withIssuer(issuer)
+                .withIssuer(ISSUER)
+                .withJWTId(UUID.randomUUID().toString())
                 .withSubject(username)
                 .withClaim("userId", userId.toString())
                 .withClaim("role", role)
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + 86400000)) // 1 dia
+                .withExpiresAt(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()))
                 .sign(algorithm);
     }
 
+    public Duration accessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    // Una sola verificación para leer todos los claims del token.
+    // Si el token es basura, está vencido o mal firmado lanza JWTVerificationException
+    public JwtClaims verifyAndDecode(String token) {
+        DecodedJWT decoded = verifier.verify(token);
+        UUID userId;
+        try {
+            userId = UUID.fromString(decoded.getClaim("userId").asString());
+        } catch (IllegalArgumentException e) {
+            throw new JWTDecodeException("El claim userId no es un UUID válido", e);
+        }
+        return new JwtClaims(
+                decoded.getId(),
+                decoded.getSubject(),
+                userId,
+                decoded.getClaim("role").asString(),
+                decoded.getIssuedAtAsInstant(),
+                decoded.getExpiresAtAsInstant()
+        );
+    }
+
     // Método para validar y sacar el username
     public String extractUsername(String token) {
-        return JWT.require(Algorithm.HMAC256(secretKey))
-                .withIssuer(issuer)
-                .build()
-                .verify(token)
-                .getSubject();
+        return verifyAndDecode(token).username();
     }
 
     public UUID extractUserId(String token) {
-        String id = JWT.require(Algorithm.HMAC256(secretKey))
-                .withIssuer(issuer)
-                .build()
-                .verify(token)
-                .getClaim("userId")
-                .asString();
-        return UUID.fromString(id);
+        return verifyAndDecode(token).userId();
     }
 
     public boolean isTokenValid(String jwt, UserDetails userDetails) {
@@ -58,12 +90,7 @@ public class JwtService {
         }
     }
 
-    public String extractRole(String token) { 
-        return JWT.require(Algorithm.HMAC256(secretKey))
-                .withIssuer(issuer)
-                .build()
-                .verify(token)
-                .getClaim("role")
-                .asString();
+    public String extractRole(String token) {
+        return verifyAndDecode(token).role();
     }
 }
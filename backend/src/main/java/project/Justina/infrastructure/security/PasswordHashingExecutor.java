@@ -0,0 +1,146 @@
+package project.Justina.infrastructure.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.Justina.domain.exception.ServiceOverloadedException;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Hashing de contraseñas (bcrypt) en un pool propio y acotado. Una ráfaga de logins (un curso
+// entero entrando a la misma hora) usa como mucho 'concurrency' núcleos; el resto espera en una
+// cola corta y, si se llena o la espera supera queue-timeout-ms, el login responde 503 en lugar
+// de quitarle CPU a la ingesta de telemetría.
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long queueTimeoutMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+
+    // Hashes atendidos (completados, rechazados o vencidos) a la fecha del último log
+    private long lastLoggedHandled;
+
+    public record Stats(
+            int active,
+            int queued,
+            long completed,
+            long rejected,
+            long timedOut,
+            double averageQueueWaitMillis,
+            double maxQueueWaitMillis
+    ) {
+        long handled() {
+            return completed + rejected + timedOut;
+        }
+
+        String summary() {
+            return String.format(Locale.ROOT, "Hashing de contraseñas: %d activos, %d en cola, %d completados, "
+                            + "%d rechazados, %d vencidos, espera media %.1f ms, máxima %.1f ms",
+                    active, queued, completed, rejected, timedOut, averageQueueWaitMillis, maxQueueWaitMillis);
+        }
+    }
+
+    public PasswordHashingExecutor(
+            @Value("${justina.security.hashing.concurrency:2}") int concurrency,
+            @Value("${justina.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${justina.security.hashing.queue-timeout-ms:5000}") long queueTimeoutMillis) {
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        // Hilos de plataforma: el trabajo es CPU puro y el límite de hilos es el límite de núcleos
+        this.executor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Corre el hash en el pool y espera el resultado; ServiceOverloadedException si no hay lugar o tarda demasiado
+    public <T> T execute(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                recordQueueWait(System.nanoTime() - enqueuedAt);
+                T result = task.get();
+                completed.increment();
+                return result;
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw overloaded();
+        }
+
+        try {
+            return future.get(queueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Si todavía estaba en cola no llega a correr; si ya arrancó, se deja terminar
+            future.cancel(false);
+            timedOut.increment();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public Stats stats() {
+        long done = completed.sum();
+        return new Stats(
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                done,
+                rejected.sum(),
+                timedOut.sum(),
+                done > 0 ? queueWaitNanos.sum() / 1e6 / done : 0,
+                maxQueueWaitNanos.get() / 1e6
+        );
+    }
+
+    // Métricas de la cola en el log, solo si hubo logins o registros desde la línea anterior
+    @Scheduled(fixedDelayString = "${justina.security.hashing.stats-log-interval-ms:60000}")
+    public void logStats() {
+        Stats stats = stats();
+        if (stats.handled() == lastLoggedHandled && stats.queued() == 0) {
+            return;
+        }
+        lastLoggedHandled = stats.handled();
+        System.out.println("🔐 " + stats.summary());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void recordQueueWait(long nanos) {
+        queueWaitNanos.add(nanos);
+        maxQueueWaitNanos.accumulate(nanos);
+    }
+
+    private static ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Demasiados inicios de sesión en curso, reintentá en unos segundos.");
+    }
+}
@@ -1,5 +1,6 @@
 package project.Justina.infrastructure.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,6 +32,8 @@ public class SecurityConfig {
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // El despacho ASYNC de las respuestas en streaming ya se autorizó en el request original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/v1/auth/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/ws/simulation/**").permitAll()
                         .requestMatchers("/ws/ai/**").permitAll()
@@ -41,10 +44,16 @@ public class SecurityConfig {
                         // 2. Solo el CIRUJANO puede ver su trayectoria (HU-05)
                         // (O la IA si necesita leerla para analizar)
                         .requestMatchers(HttpMethod.GET, "/api/v1/surgeries/*/trajectory").hasAnyAuthority("ROLE_SURGEON", "ROLE_AI")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/surgeries/*/trajectory/stream").hasAnyAuthority("ROLE_SURGEON", "ROLE_AI")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/surgeries/*/metrics").hasAnyAuthority("ROLE_SURGEON", "ROLE_AI")
 
                         // 3. Cualquier otra cosa en surgeries requiere estar logueado
                         .requestMatchers("/api/v1/surgeries/**").hasAuthority("ROLE_SURGEON")
 
+                        // 4. Estadísticas: el cirujano las suyas, la IA las de cualquiera (se valida en el servicio)
+                        .requestMatchers(HttpMethod.GET, "/api/v1/surgeons/*/stats").hasAnyAuthority("ROLE_SURGEON", "ROLE_AI")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/surgeons/leaderboard").hasAnyAuthority("ROLE_SURGEON", "ROLE_AI")
+
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
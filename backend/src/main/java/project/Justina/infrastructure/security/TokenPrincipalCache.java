@@ -0,0 +1,111 @@
+package project.Justina.infrastructure.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tokens ya verificados, con sus claims y su usuario, para que los requests siguientes con el
+// mismo JWT no repitan la verificación HMAC ni la búsqueda en users. La llave es el SHA-256 del token (el JWT
+// no queda en memoria) y cada entrada vence con el token o a los max-ttl-ms, lo que pase primero,
+// así un cambio de rol o un usuario borrado se refleja como mucho en ese plazo.
+@Component
+@RequiredArgsConstructor
+public class TokenPrincipalCache {
+
+    // Entradas que se miran para elegir cuál descartar con la caché llena
+    static final int EVICTION_SAMPLES = 8;
+
+    @Value("${justina.security.token-cache.max-entries:10000}")
+    private final int maxEntries;
+
+    @Value("${justina.security.token-cache.max-ttl-ms:300000}")
+    private final long maxTtlMillis;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public record Verified(UserDetails principal, JwtClaims claims) {}
+
+    private record Entry(Verified verified, long expiresAtMillis) {}
+
+    // null si no está o ya venció
+    public Verified get(String token) {
+        String key = key(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.verified();
+    }
+
+    public void put(String token, Verified verified) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maxTtlMillis;
+        Instant tokenExpiresAt = verified.claims().expiresAt();
+        if (tokenExpiresAt != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiresAt.toEpochMilli());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        String key = key(token);
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            evictOne();
+        }
+        entries.put(key, new Entry(verified, expiresAt));
+    }
+
+    // Las vencidas se borran acá y no en el request: con la caché llena, put solo descarta una entrada
+    @Scheduled(fixedDelayString = "${justina.security.token-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Llena de tokens vigentes: entre unas pocas entradas se descarta la que vence antes. Las llaves son
+    // hashes, así que las primeras del mapa son una muestra al azar y el costo no depende del tamaño
+    private void evictOne() {
+        String victim = null;
+        long earliest = Long.MAX_VALUE;
+        int sampled = 0;
+        for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+            if (candidate.getValue().expiresAtMillis() < earliest) {
+                victim = candidate.getKey();
+                earliest = candidate.getValue().expiresAtMillis();
+            }
+            if (++sampled == EVICTION_SAMPLES) {
+                break;
+            }
+        }
+        if (victim != null) {
+            entries.remove(victim);
+        }
+    }
+
+    private static String key(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM trae SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
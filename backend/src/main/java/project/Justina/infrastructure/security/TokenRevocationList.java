@@ -0,0 +1,87 @@
+package project.Justina.infrastructure.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.Justina.domain.model.TokenRevocation;
+import project.Justina.domain.repository.TokenRevocationRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Copia en memoria de token_revocations para chequear cada request sin ir a la base. Se carga al
+// arrancar y se recarga cada refresh-interval-ms (así ve lo que revocan otras instancias); si una
+// recarga falla se sigue usando la última buena. Solo guarda revocaciones que todavía alcanzan
+// tokens vigentes, así que su tamaño depende de cuántas hay, no de los usuarios.
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    private final TokenRevocationRepository repository;
+
+    // Se reemplaza entero: el filtro lee sin bloquear y nunca consulta la base
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    public boolean isRevoked(JwtClaims claims) {
+        Snapshot current = snapshot;
+        if (claims.tokenId() != null && current.tokenIds().contains(claims.tokenId())) {
+            return true;
+        }
+        Instant issuedBefore = current.issuedBefore().get(claims.userId());
+        return issuedBefore != null && (claims.issuedAt() == null || claims.issuedAt().isBefore(issuedBefore));
+    }
+
+    // Se persiste para las demás instancias y se aplica acá sin esperar al próximo refresco
+    public synchronized void revoke(TokenRevocation revocation) {
+        repository.save(revocation);
+        snapshot = snapshot.with(revocation);
+    }
+
+    // Antes de aceptar requests: el primero ya encuentra la lista cargada
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${justina.security.revocation.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        try {
+            Instant now = Instant.now();
+            repository.deleteExpired(now);
+            snapshot = Snapshot.of(repository.findActive(now));
+        } catch (RuntimeException e) {
+            // La base puede no estar disponible; se reintenta en la próxima recarga
+            System.err.println("❌ Error recargando tokens revocados: " + e.getMessage());
+        }
+    }
+
+    private record Snapshot(Set<String> tokenIds, Map<UUID, Instant> issuedBefore) {
+
+        static Snapshot of(Collection<TokenRevocation> revocations) {
+            return new Snapshot(Set.of(), Map.of()).with(revocations);
+        }
+
+        Snapshot with(TokenRevocation revocation) {
+            return with(List.of(revocation));
+        }
+
+        private Snapshot with(Collection<TokenRevocation> revocations) {
+            Set<String> tokenIds = new HashSet<>(this.tokenIds);
+            Map<UUID, Instant> issuedBefore = new HashMap<>(this.issuedBefore);
+            for (TokenRevocation revocation : revocations) {
+                if (revocation.tokenId() != null) {
+                    tokenIds.add(revocation.tokenId());
+                }
+                if (revocation.userId() != null && revocation.issuedBefore() != null) {
+                    // Varias por usuario: la más reciente cubre a las anteriores
+                    issuedBefore.merge(revocation.userId(), revocation.issuedBefore(),
+                            (a, b) -> a.isAfter(b) ? a : b);
+                }
+            }
+            return new Snapshot(Set.copyOf(tokenIds), Map.copyOf(issuedBefore));
+        }
+    }
+}
@@ -6,18 +6,19 @@ import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
-
-
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
 
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
 public class AIWebSocketHandler extends TextWebSocketHandler {
 
-    // Mapa de sesiones conectadas de IA (solo debería haber 1)
-    private static final ConcurrentHashMap<String, WebSocketSession> aiSessions = new ConcurrentHashMap<>();
+    // Cada sesión de IA es un worker: el dispatcher reparte las cirugías entre ellos
+    private final AnalysisDispatcher dispatcher;
+    private final ObjectMapper objectMapper;
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
@@ -25,41 +26,40 @@ public class AIWebSocketHandler extends TextWebSocketHandler {
         String role = (String) session.getAttributes().get("ROLE");
 
         if (role != null && role.equals("ROLE_AI")) {
-            aiSessions.put(session.getId(), session);
+            // Registra el worker y le envía la confirmación (y lo que estuviera esperando)
+            dispatcher.register(session);
             System.out.println("🤖 IA conectada: " + session.getId());
-
-            // Enviar confirmación
-            session.sendMessage(new TextMessage("{\"status\":\"connected\",\"message\":\"IA conectada exitosamente\"}"));
         } else {
             session.close(CloseStatus.POLICY_VIOLATION);
         }
     }
 
+    // La IA confirma cada cirugía asignada: {"event":"ACK"|"NACK","surgeryId":"..."}
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        // La IA puede enviar mensajes si es necesario (por ahora no hace nada)
-        System.out.println("📩 Mensaje de IA: " + message.getPayload());
+        try {
+            JsonNode node = objectMapper.readTree(message.getPayload());
+            String event = node.path("event").asString("");
+            UUID surgeryId = UUID.fromString(node.path("surgeryId").asString(""));
+
+            switch (event) {
+                case "ACK" -> dispatcher.acknowledge(session.getId(), surgeryId);
+                case "NACK" -> dispatcher.reject(session.getId(), surgeryId);
+                default -> System.out.println("📩 Mensaje de IA: " + message.getPayload());
+            }
+        } catch (JacksonException | IllegalArgumentException e) {
+            System.out.println("📩 Mensaje de IA: " + message.getPayload());
+        }
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        aiSessions.remove(session.getId());
+        dispatcher.unregister(session.getId());
         System.out.println("🤖 IA desconectada: " + session.getId());
     }
 
-    // Método estático para notificar a la IA desde cualquier parte del backend
-    public static void notificarNuevaCirugia(UUID surgeryId) {
-        aiSessions.values().forEach(session -> {
-            try {
-                String mensaje = String.format(
-                        "{\"event\":\"NEW_SURGERY\",\"surgeryId\":\"%s\"}",
-                        surgeryId
-                );
-                session.sendMessage(new TextMessage(mensaje));
-                System.out.println("🔔 Notificación enviada a IA: " + surgeryId);
-            } catch (Exception e) {
-                System.err.println("❌ Error notificando a IA: " + e.getMessage());
-            }
-        });
+    // Notifica a la IA desde cualquier parte del backend: asigna la cirugía a un único worker
+    public void notificarNuevaCirugia(UUID surgeryId) {
+        dispatcher.dispatch(surgeryId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,284 @@
+package project.Justina.infrastructure.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+import project.Justina.domain.model.AnalysisJob;
+import project.Justina.domain.repository.AnalysisJobRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+// Reparte las cirugías terminadas entre los workers de IA conectados a /ws/ai.
+// La fuente de verdad es la tabla analysis_jobs: cada cirugía se asigna a un único worker
+// con un lease, que confirma con ACK (o NACK si falló). Sin confirmación dentro del plazo,
+// o si el worker se desconecta, el trabajo vuelve a PENDING con backoff exponencial y se
+// reentrega a quien tenga lugar, incluso tras un reinicio o sin IA conectada al terminar.
+@Component
+@RequiredArgsConstructor
+public class AnalysisDispatcher {
+
+    public enum Strategy {
+        // El worker con menos cirugías sin confirmar (empates en ronda)
+        LEAST_OUTSTANDING,
+        ROUND_ROBIN
+    }
+
+    static final String CONNECTED_MESSAGE = "{\"status\":\"connected\",\"message\":\"IA conectada exitosamente\"}";
+
+    private static final class Worker {
+        private final String id;
+        // lease_owner en analysis_jobs: nodo + sesión
+        private final String owner;
+        private final OutboundMessageQueue queue;
+        // Cirugías con lease de este worker, aún sin confirmar
+        private final Set<UUID> leased = new LinkedHashSet<>();
+
+        private Worker(String id, String owner, OutboundMessageQueue queue) {
+            this.id = id;
+            this.owner = owner;
+            this.queue = queue;
+        }
+    }
+
+    private final AnalysisJobRepository jobs;
+
+    @Qualifier("aiOutboundExecutor")
+    private final Executor outboundExecutor;
+
+    @Value("${justina.ai.outbound-capacity:64}")
+    private final int outboundCapacity;
+
+    // REJECT por defecto: con la cola llena el trabajo sigue PENDING en lugar de perder el aviso
+    @Value("${justina.ai.overflow-policy:REJECT}")
+    private final OutboundMessageQueue.OverflowPolicy overflowPolicy;
+
+    @Value("${justina.ai.dispatch-strategy:LEAST_OUTSTANDING}")
+    private final Strategy strategy;
+
+    // Duración del lease: plazo del worker para responder ACK/NACK
+    @Value("${justina.ai.ack-timeout-ms:120000}")
+    private final long ackTimeoutMillis;
+
+    @Value("${justina.ai.max-attempts:3}")
+    private final int maxAttempts;
+
+    // Con la cola drenándose tras una caída, ningún worker recibe más de esto a la vez
+    @Value("${justina.ai.max-outstanding-per-worker:4}")
+    private final int maxOutstandingPerWorker;
+
+    @Value("${justina.ai.retry-base-delay-ms:5000}")
+    private final long retryBaseDelayMillis;
+
+    @Value("${justina.ai.retry-max-delay-ms:600000}")
+    private final long retryMaxDelayMillis;
+
+    // Los ids de sesión WebSocket solo son únicos dentro de un proceso: el lease_owner los antepone
+    // con el id de este nodo (configurable; si no, uno al azar por arranque)
+    @Value("${justina.ai.node-id:${random.uuid}}")
+    private String nodeId = UUID.randomUUID().toString();
+
+    // Protegidos por this: solo el estado en memoria (workers y sus lugares); las llamadas a
+    // analysis_jobs se hacen fuera del monitor para que una base lenta no frene a los demás hilos
+    private final Map<String, Worker> workers = new LinkedHashMap<>();
+    private int nextWorker;
+
+    // Registra el worker, le envía la confirmación y le entrega lo que estuviera pendiente
+    public void register(WebSocketSession session) {
+        synchronized (this) {
+            Worker worker = new Worker(session.getId(), owner(session.getId()),
+                    new OutboundMessageQueue(session, outboundCapacity, overflowPolicy, outboundExecutor));
+            workers.put(worker.id, worker);
+            worker.queue.offer(null, CONNECTED_MESSAGE);
+        }
+        pump(LocalDateTime.now());
+    }
+
+    // Los trabajos que tenía el worker vuelven a PENDING y se reparten entre los que quedan
+    public void unregister(String sessionId) {
+        Worker worker;
+        List<UUID> leased;
+        synchronized (this) {
+            worker = workers.remove(sessionId);
+            if (worker == null) {
+                return;
+            }
+            worker.queue.close();
+            leased = new ArrayList<>(worker.leased);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID surgeryId : leased) {
+            jobs.reschedule(surgeryId, worker.owner, now);
+        }
+        pump(now);
+    }
+
+    // El job ya quedó PENDING al guardar la cirugía; acá solo se intenta entregarlo enseguida
+    public void dispatch(UUID surgeryId) {
+        if (!assign(surgeryId, LocalDateTime.now())) {
+            System.out.println("⏳ Cirugía " + surgeryId + " en cola hasta que haya una IA disponible");
+        }
+    }
+
+    // El worker terminó el análisis: el trabajo queda DONE y se le entrega el siguiente
+    public void acknowledge(String sessionId, UUID surgeryId) {
+        if (!releaseSlot(sessionId, surgeryId)) {
+            return;
+        }
+        jobs.complete(surgeryId);
+        pump(LocalDateTime.now());
+    }
+
+    // El worker no pudo analizarla: se reintenta con backoff sin esperar a que venza el lease
+    public void reject(String sessionId, UUID surgeryId) {
+        if (!releaseSlot(sessionId, surgeryId)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jobs.findById(surgeryId).ifPresent(job -> retryOrFail(job, owner(sessionId), now));
+        pump(now);
+    }
+
+    @Scheduled(fixedDelayString = "${justina.ai.ack-check-interval-ms:5000}")
+    public void pump() {
+        try {
+            pump(LocalDateTime.now());
+        } catch (RuntimeException e) {
+            // La base puede no estar disponible; se reintenta en la próxima pasada
+            System.err.println("❌ Error repartiendo análisis pendientes: " + e.getMessage());
+        }
+    }
+
+    // Libera los leases vencidos (de este u otro nodo) y asigna los trabajos listos.
+    // Dos pasadas concurrentes pueden leer los mismos trabajos: el lease condicional elige una.
+    void pump(LocalDateTime now) {
+        for (AnalysisJob job : jobs.findExpiredLeases(now)) {
+            System.err.println("⏱️ La IA " + job.leaseOwner() + " no confirmó " + job.surgeryId() + ", se reintenta");
+            releaseSlot(sessionOf(job.leaseOwner()), job.surgeryId());
+            retryOrFail(job, job.leaseOwner(), now);
+        }
+
+        int capacity = 0;
+        synchronized (this) {
+            for (Worker worker : workers.values()) {
+                capacity += Math.max(maxOutstandingPerWorker - worker.leased.size(), 0);
+            }
+        }
+        if (capacity == 0) {
+            return;
+        }
+        for (UUID surgeryId : jobs.findDue(now, capacity)) {
+            assign(surgeryId, now);
+        }
+    }
+
+    synchronized int outstanding(String sessionId) {
+        Worker worker = workers.get(sessionId);
+        return worker == null ? 0 : worker.leased.size();
+    }
+
+    private String owner(String sessionId) {
+        return nodeId + "/" + sessionId;
+    }
+
+    // Sesión local dueña del lease, o null si lo tiene otro nodo
+    private String sessionOf(String owner) {
+        String prefix = nodeId + "/";
+        return owner != null && owner.startsWith(prefix) ? owner.substring(prefix.length()) : null;
+    }
+
+    // Libera el lugar del worker; false si no estaba conectado o no tenía esa cirugía
+    private synchronized boolean releaseSlot(String sessionId, UUID surgeryId) {
+        Worker worker = workers.get(sessionId);
+        return worker != null && worker.leased.remove(surgeryId);
+    }
+
+    private void retryOrFail(AnalysisJob job, String owner, LocalDateTime now) {
+        if (job.attempts() >= maxAttempts) {
+            if (jobs.fail(job.surgeryId(), owner)) {
+                System.err.println("❌ Cirugía " + job.surgeryId() + " sin analizar tras " + job.attempts() + " intentos");
+            }
+            return;
+        }
+        jobs.reschedule(job.surgeryId(), owner,
+                job.nextRetryAt(now, Duration.ofMillis(retryBaseDelayMillis), Duration.ofMillis(retryMaxDelayMillis)));
+    }
+
+    // Se reserva el lugar en el worker bajo el monitor, el lease se toma afuera y el envío vuelve
+    // a entrar: si entretanto el worker se fue o su cola se llenó, el trabajo vuelve a PENDING.
+    // El UPDATE condicional decide: si otro nodo lo tomó primero, no se envía.
+    private boolean assign(UUID surgeryId, LocalDateTime now) {
+        Worker worker;
+        synchronized (this) {
+            worker = pickWorker();
+            if (worker == null) {
+                return false;
+            }
+            worker.leased.add(surgeryId);
+        }
+
+        boolean leased;
+        try {
+            leased = jobs.lease(surgeryId, worker.owner, now, now.plus(Duration.ofMillis(ackTimeoutMillis)));
+        } catch (RuntimeException e) {
+            releaseSlot(worker.id, surgeryId);
+            throw e;
+        }
+        if (!leased) {
+            releaseSlot(worker.id, surgeryId);
+            return false;
+        }
+
+        String mensaje = String.format("{\"event\":\"NEW_SURGERY\",\"surgeryId\":\"%s\"}", surgeryId);
+        boolean sent;
+        synchronized (this) {
+            sent = workers.get(worker.id) == worker && worker.queue.offer(surgeryId.toString(), mensaje);
+            if (!sent) {
+                worker.leased.remove(surgeryId);
+            }
+        }
+        if (!sent) {
+            // La sesión se cerró o su cola está llena: el trabajo vuelve a PENDING para la próxima pasada
+            jobs.reschedule(surgeryId, worker.owner, now);
+            return false;
+        }
+        System.out.println("🔔 Cirugía " + surgeryId + " asignada a IA " + worker.id);
+        return true;
+    }
+
+    // Solo workers con lugar según max-outstanding-per-worker y, con REJECT, lugar en la cola de salida
+    private Worker pickWorker() {
+        List<Worker> candidates = new ArrayList<>();
+        for (Worker worker : workers.values()) {
+            if (worker.leased.size() < maxOutstandingPerWorker
+                    && (overflowPolicy != OutboundMessageQueue.OverflowPolicy.REJECT || worker.queue.hasRoom())) {
+                candidates.add(worker);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        int start = Math.floorMod(nextWorker++, candidates.size());
+        Worker best = candidates.get(start);
+        if (strategy == Strategy.LEAST_OUTSTANDING) {
+            for (int i = 1; i < candidates.size(); i++) {
+                Worker candidate = candidates.get((start + i) % candidates.size());
+                if (candidate.leased.size() < best.leased.size()) {
+                    best = candidate;
+                }
+            }
+        }
+        return best;
+    }
+}
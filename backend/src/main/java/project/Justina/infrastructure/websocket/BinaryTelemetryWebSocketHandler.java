@@ -0,0 +1,79 @@
+package project.Justina.infrastructure.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.Trajectory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.UUID;
+
+// Contraparte binaria de SimulationWebSocketHandler (subprotocolo SimulationWebSocketRouter.BINARY_PROTOCOL).
+// Cada frame trae uno o más registros de 33 bytes little-endian:
+//   x (f64) | y (f64) | z (f64, NaN si la muestra es 2D) | timestamp (i64) | evento (u8, ordinal de SurgeryEvent)
+// Se escriben directamente en la misma sesión de cirugía que usa el handler JSON.
+@Component
+@RequiredArgsConstructor
+public class BinaryTelemetryWebSocketHandler extends BinaryWebSocketHandler {
+
+    public static final int RECORD_SIZE = 33;
+
+    private static final SurgeryEvent[] EVENTS = SurgeryEvent.values();
+
+    // Buffer de decodificación reutilizable por hilo de I/O
+    private static final ThreadLocal<Trajectory> RECORD_BUFFER = ThreadLocal.withInitial(() -> new Trajectory(64));
+
+    private final LiveSurgeryRegistry liveSurgeries;
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        ByteBuffer payload = message.getPayload().duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int base = payload.position();
+        int length = payload.remaining();
+
+        // Se valida el frame completo antes de escribir nada (mismas reglas que TelemetryDTO)
+        if (length == 0 || length % RECORD_SIZE != 0 || !isValid(payload, base, length / RECORD_SIZE)) {
+            session.close(CloseStatus.BAD_DATA);
+            return;
+        }
+
+        // Obtener el ID del cirujano de los atributos (Puesto ahí por el Interceptor)
+        UUID surgeonId = (UUID) session.getAttributes().get("SURGEON_ID");
+        if (surgeonId == null) {
+            session.close(CloseStatus.POLICY_VIOLATION);
+            return;
+        }
+
+        Trajectory samples = RECORD_BUFFER.get();
+        samples.clear();
+        for (int offset = base; offset < base + length; offset += RECORD_SIZE) {
+            samples.append(
+                    payload.getDouble(offset),
+                    payload.getDouble(offset + 8),
+                    payload.getDouble(offset + 16),
+                    EVENTS[payload.get(offset + 32)],
+                    payload.getLong(offset + 24)
+            );
+        }
+        liveSurgeries.append(session, surgeonId, samples);
+    }
+
+    private static boolean isValid(ByteBuffer payload, int base, int records) {
+        for (int i = 0; i < records; i++) {
+            int offset = base + i * RECORD_SIZE;
+            int ordinal = payload.get(offset + 32) & 0xFF;
+            if (ordinal >= EVENTS.length
+                    || Double.isNaN(payload.getDouble(offset))
+                    || Double.isNaN(payload.getDouble(offset + 8))
+                    || payload.getLong(offset + 24) <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
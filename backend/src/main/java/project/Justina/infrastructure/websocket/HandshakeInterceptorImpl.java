@@ -8,16 +8,18 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 import org.springframework.web.util.UriComponentsBuilder;
+import project.Justina.infrastructure.security.JwtClaims;
 import project.Justina.infrastructure.security.JwtService;
+import project.Justina.infrastructure.security.TokenRevocationList;
 
 import java.util.Map;
-import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class HandshakeInterceptorImpl implements HandshakeInterceptor {
 
     private final JwtService jwtService;
+    private final TokenRevocationList revocationList;
 
     @Override
     public boolean beforeHandshake(ServerHttpRequest request,
@@ -36,13 +38,15 @@ public class HandshakeInterceptorImpl implements HandshakeInterceptor {
         }
 
         try {
-            String username = jwtService.extractUsername(token);
-            UUID userId = jwtService.extractUserId(token);
-            String role = jwtService.extractRole(token);
-
-            attributes.put("SURGEON_ID", userId);
-            attributes.put("USERNAME", username);
-            attributes.put("ROLE", role);
+            // Una sola verificación del token para los tres claims
+            JwtClaims claims = jwtService.verifyAndDecode(token);
+            if (revocationList.isRevoked(claims)) {
+                return false;
+            }
+
+            attributes.put("SURGEON_ID", claims.userId());
+            attributes.put("USERNAME", claims.username());
+            attributes.put("ROLE", claims.role());
 
             return true;
         } catch (Exception e) {
@@ -0,0 +1,273 @@
+package project.Justina.infrastructure.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+import project.Justina.application.metrics.TrajectoryMetrics;
+import project.Justina.domain.dto.TrajectoryMetricsDTO;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.model.Trajectory;
+import project.Justina.domain.repository.SurgeryRepository;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static project.Justina.infrastructure.websocket.SimulationChannel.number;
+
+// Estado compartido de las cirugías en curso para /ws/simulation,
+// usado tanto por el handler JSON como por el binario.
+@Component
+@RequiredArgsConstructor
+public class LiveSurgeryRegistry {
+
+    static final int DEFAULT_CHUNK_SAMPLES = 512;
+    static final int DEFAULT_FINISH_ATTEMPTS = 10;
+
+    private final SurgeryRepository surgeryRepository;
+
+    @Qualifier("surgeryFinishExecutor")
+    private final Executor finishExecutor;
+
+    @Qualifier("surgeryWriteExecutor")
+    private final Executor writeExecutor;
+
+    @Qualifier("simulationOutboundExecutor")
+    private final Executor outboundExecutor;
+
+    private final AIWebSocketHandler aiHandler;
+
+    // Memoria temporal: Llave = ID de sesión de WebSocket, Valor = Objeto de Dominio
+    private final Map<String, SurgerySession> activeSessions = new ConcurrentHashMap<>();
+
+    // Canal de salida por conexión (misma llave); vive hasta que el simulador se desconecta
+    private final Map<String, SimulationChannel> channels = new ConcurrentHashMap<>();
+
+    // Escrituras de chunks encadenadas por cirugía (llave = id de la cirugía): un chunk a la vez y
+    // en orden, fuera del lock de la sesión. La entrada desaparece cuando la cadena queda libre.
+    private final Map<UUID, CompletableFuture<Void>> writes = new ConcurrentHashMap<>();
+
+    // Finalizaciones rechazadas por el executor o con el guardado fallido (llave = id de la cirugía).
+    // La cirugía ya salió de activeSessions: acá se conserva hasta que flushPending la reintente.
+    private final Map<UUID, PendingFinish> retries = new ConcurrentHashMap<>();
+
+    // Write-behind: se guarda un chunk al juntar esta cantidad de muestras (o en flushPending)
+    @Value("${justina.telemetry.chunk-samples:" + DEFAULT_CHUNK_SAMPLES + "}")
+    private int chunkSamples = DEFAULT_CHUNK_SAMPLES;
+
+    // Intentos de guardar una cirugía terminada antes de responder ERROR (uno por flush)
+    @Value("${justina.telemetry.finish-attempts:" + DEFAULT_FINISH_ATTEMPTS + "}")
+    private int finishAttempts = DEFAULT_FINISH_ATTEMPTS;
+
+    @Value("${justina.telemetry.feedback-enabled:true}")
+    private boolean feedbackEnabled = true;
+
+    // Obtener o crear la sesión de cirugía usando el ID REAL del cirujano
+    public SurgerySession getOrCreate(WebSocketSession session, UUID surgeonId) {
+        return activeSessions.computeIfAbsent(session.getId(), k -> new SurgerySession(surgeonId));
+    }
+
+    // Agrega un bloque de muestras (una, un lote o un frame binario) en una sola operación.
+    // Si el bloque trae FINISH se cierra la cirugía y lo que venga después abre una nueva,
+    // igual que si llegaran frames sueltos.
+    public void append(WebSocketSession session, UUID surgeonId, Trajectory samples) {
+        channels.computeIfAbsent(session.getId(), k -> new SimulationChannel(session, outboundExecutor));
+        int size = samples.size();
+        int from = 0;
+        while (from < size) {
+            SurgerySession surgery = getOrCreate(session, surgeonId);
+            int finishAt = samples.indexOfEvent(SurgeryEvent.FINISH, from);
+            int to = finishAt < 0 ? size : finishAt + 1;
+
+            // El escritor de chunks corre en otro hilo y también toca la trayectoria; bajo el lock
+            // solo se agregan las muestras, los guardados se encolan afuera
+            boolean chunkDue;
+            synchronized (surgery) {
+                surgery.addSamples(samples, from, to);
+                chunkDue = surgery.getPendingSamples() >= chunkSamples;
+            }
+            if (finishAt >= 0) {
+                finish(session, surgery);
+            } else if (chunkDue) {
+                scheduleChunk(surgery);
+            }
+            from = to;
+        }
+    }
+
+    // Finalización y persistencia (HU-02): guarda, confirma al simulador y avisa a la IA.
+    // Con la mayor parte de la trayectoria ya en chunks, acá solo se escribe la cola y la cabecera.
+    // Se llama fuera del lock de la sesión. El guardado corre en surgeryFinishExecutor; el SAVED se
+    // envía al completarse, con las métricas. Si el executor está saturado o el guardado falla, la
+    // cirugía se reintenta en los próximos flush.
+    public void finish(WebSocketSession session, SurgerySession surgery) {
+        synchronized (surgery) {
+            surgery.endSurgery();
+        }
+        activeSessions.remove(session.getId());
+        // Las métricas se acumularon al recibir cada muestra: no hace falta releer la trayectoria
+        TrajectoryMetricsDTO summary = TrajectoryMetrics.of(surgery.getLiveMetrics());
+
+        submitFinish(new PendingFinish(session, surgery, summary, 1));
+    }
+
+    // Si el simulador se desconecta sin FINISH, se guarda lo pendiente y se libera la sesión
+    public void release(WebSocketSession session) {
+        SurgerySession surgery = activeSessions.remove(session.getId());
+        SimulationChannel channel = channels.remove(session.getId());
+        if (channel != null) {
+            channel.close();
+        }
+        if (surgery != null) {
+            enqueueChunk(surgery);
+        }
+    }
+
+    // Flush por tiempo: ninguna cirugía en curso acumula más de un intervalo sin persistir
+    @Scheduled(fixedDelayString = "${justina.telemetry.flush-interval-ms:2000}")
+    public void flushPending() {
+        activeSessions.values().forEach(this::scheduleChunk);
+        for (UUID id : retries.keySet()) {
+            PendingFinish pending = retries.remove(id);
+            if (pending != null) {
+                submitFinish(pending.nextAttempt());
+            }
+        }
+    }
+
+    // Feedback en vivo: a lo sumo un mensaje por intervalo y por cirugía, calculado de las
+    // métricas en línea (el ingreso de muestras no hace trabajo extra por frame).
+    // Corre en su propio scheduler: el flush y las tareas con DB no le quitan el turno.
+    @Scheduled(fixedRateString = "${justina.telemetry.feedback-interval-ms:250}", scheduler = "simulationFeedbackScheduler")
+    public void pushFeedback() {
+        if (!feedbackEnabled) {
+            return;
+        }
+        activeSessions.forEach((sessionId, surgery) -> {
+            SimulationChannel channel = channels.get(sessionId);
+            if (channel != null) {
+                channel.pushFeedback(surgery);
+            }
+        });
+    }
+
+    // Espera el chunk que pudiera estar escribiéndose y guarda la cola con la cabecera. Sin lock:
+    // la cirugía ya salió de activeSessions y los chunks encolados después la ven terminada.
+    private void persist(SurgerySession surgery) {
+        CompletableFuture<Void> pending = writes.get(surgery.getId());
+        if (pending != null) {
+            pending.join();
+        }
+        surgeryRepository.save(surgery);
+    }
+
+    // Nunca guarda en el hilo que llama: con el executor saturado la cirugía espera al próximo flush
+    private void submitFinish(PendingFinish pending) {
+        try {
+            CompletableFuture.runAsync(() -> persist(pending.surgery()), finishExecutor)
+                    .whenComplete((ignored, error) -> onFinished(pending, error));
+        } catch (RejectedExecutionException e) {
+            onFinished(pending, e);
+        }
+    }
+
+    private void onFinished(PendingFinish pending, Throwable error) {
+        SurgerySession surgery = pending.surgery();
+        if (error == null) {
+            reply(pending.session(), String.format("{\"status\":\"SAVED\", \"surgeryId\":\"%s\", \"metrics\":%s}",
+                    surgery.getId(), toJson(pending.summary())));
+            aiHandler.notificarNuevaCirugia(surgery.getId());
+            return;
+        }
+        if (pending.attempt() < finishAttempts) {
+            // Las muestras pendientes siguen en la sesión: el próximo intento las vuelve a escribir
+            retries.put(surgery.getId(), pending);
+            return;
+        }
+        System.err.println("❌ Error guardando cirugía " + surgery.getId() + " tras " + pending.attempt()
+                + " intentos: " + error.getMessage());
+        reply(pending.session(), String.format("{\"status\":\"ERROR\", \"surgeryId\":\"%s\"}", surgery.getId()));
+    }
+
+    // Mismos nombres de campo que GET /api/v1/surgeries/{id}/metrics
+    private static String toJson(TrajectoryMetricsDTO metrics) {
+        return "{\"samples\":" + metrics.samples()
+                + ",\"durationSeconds\":" + number(metrics.durationSeconds())
+                + ",\"pathLength\":" + number(metrics.pathLength())
+                + ",\"directDistance\":" + number(metrics.directDistance())
+                + ",\"economyOfMotion\":" + number(metrics.economyOfMotion())
+                + ",\"meanVelocity\":" + number(metrics.meanVelocity())
+                + ",\"velocityStdDev\":" + number(metrics.velocityStdDev())
+                + ",\"maxAcceleration\":" + number(metrics.maxAcceleration())
+                + ",\"meanJerk\":" + number(metrics.meanJerk())
+                + ",\"hemorrhages\":" + metrics.hemorrhages()
+                + ",\"kidneyTouches\":" + metrics.kidneyTouches()
+                + ",\"tumorRemovals\":" + metrics.tumorRemovals() + "}";
+    }
+
+    // Las respuestas salen por el mismo escritor que el feedback (sendMessage no admite envíos concurrentes)
+    private void reply(WebSocketSession session, String message) {
+        SimulationChannel channel = channels.get(session.getId());
+        if (channel == null) {
+            System.err.println("❌ El simulador " + session.getId() + " se desconectó antes de recibir: " + message);
+            return;
+        }
+        channel.reply(message);
+    }
+
+    // Flush y umbral de chunk: si ya hay una escritura en curso, lo pendiente va en la siguiente
+    private void scheduleChunk(SurgerySession surgery) {
+        if (!writes.containsKey(surgery.getId())) {
+            enqueueChunk(surgery);
+        }
+    }
+
+    private void enqueueChunk(SurgerySession surgery) {
+        UUID id = surgery.getId();
+        CompletableFuture<Void> write = writes.compute(id, (key, previous) ->
+                (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                        .thenRunAsync(() -> writeChunk(surgery), writeExecutor));
+        write.whenComplete((ignored, error) -> writes.remove(id, write));
+    }
+
+    // Bajo el lock solo se separa el tramo pendiente; la escritura corre afuera
+    private void writeChunk(SurgerySession surgery) {
+        Trajectory chunk;
+        int sequence;
+        synchronized (surgery) {
+            // Terminada: el guardado final se lleva lo pendiente
+            if (surgery.getEndTime() != null || surgery.getPendingSamples() == 0) {
+                return;
+            }
+            sequence = surgery.getChunkCount();
+            chunk = surgery.takePendingSamples();
+        }
+        try {
+            surgeryRepository.saveChunk(surgery, sequence, chunk);
+            synchronized (surgery) {
+                surgery.confirmChunk();
+            }
+        } catch (RuntimeException e) {
+            // Las muestras vuelven a quedar pendientes y se reintentan en el próximo flush
+            synchronized (surgery) {
+                surgery.restorePendingSamples(chunk);
+            }
+            System.err.println("❌ Error guardando chunk de trayectoria " + surgery.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private record PendingFinish(WebSocketSession session, SurgerySession surgery,
+                                 TrajectoryMetricsDTO summary, int attempt) {
+
+        PendingFinish nextAttempt() {
+            return new PendingFinish(session, surgery, summary, attempt + 1);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package project.Justina.infrastructure.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+// Cola de salida acotada de una sesión WebSocket: quien encola nunca bloquea y un único
+// escritor por sesión la drena en orden (sendMessage no admite envíos concurrentes).
+// Un cliente lento solo llena su propia cola, sin frenar a la simulación ni a otros clientes.
+public class OutboundMessageQueue {
+
+    public enum OverflowPolicy {
+        // Con la cola llena no se encola ni se descarta nada: offer devuelve false y decide quien ofrece
+        REJECT,
+        // Con la cola llena se descarta el mensaje más viejo
+        DROP_OLDEST,
+        // Un mensaje con la misma clave reemplaza al encolado; si no hay, se descarta el más viejo
+        COALESCE,
+        // Con la cola llena se cierra la sesión: el cliente no da abasto
+        DISCONNECT
+    }
+
+    private static final class Pending {
+        private final String key;
+        private String payload;
+
+        private Pending(String key, String payload) {
+            this.key = key;
+            this.payload = payload;
+        }
+    }
+
+    private final WebSocketSession session;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Executor writer;
+
+    // Protegidos por this
+    private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+    private boolean draining;
+    private boolean closed;
+    private long dropped;
+
+    public OutboundMessageQueue(WebSocketSession session, int capacity, OverflowPolicy policy, Executor writer) {
+        this.session = session;
+        this.capacity = Math.max(capacity, 1);
+        this.policy = policy;
+        this.writer = writer;
+    }
+
+    // Encola sin bloquear; devuelve false si la sesión ya no acepta mensajes (o, con REJECT, si está llena)
+    public boolean offer(String key, String payload) {
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            if (policy == OverflowPolicy.COALESCE && coalesce(key, payload)) {
+                return true;
+            }
+            if (pending.size() >= capacity) {
+                if (policy == OverflowPolicy.REJECT) {
+                    return false;
+                }
+                dropped++;
+                if (policy == OverflowPolicy.DISCONNECT) {
+                    closed = true;
+                    pending.clear();
+                    writer.execute(this::disconnect);
+                    return false;
+                }
+                pending.pollFirst();
+            }
+            pending.addLast(new Pending(key, payload));
+            if (draining) {
+                return true;
+            }
+            draining = true;
+        }
+        writer.execute(this::drain);
+        return true;
+    }
+
+    // Se llama al cerrarse la conexión: lo pendiente ya no se puede entregar
+    public synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    // false si un offer no se encolaría sin descartar otro mensaje
+    public synchronized boolean hasRoom() {
+        return !closed && pending.size() < capacity;
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    public synchronized long dropped() {
+        return dropped;
+    }
+
+    private boolean coalesce(String key, String payload) {
+        if (key == null) {
+            return false;
+        }
+        for (Pending queued : pending) {
+            if (key.equals(queued.key)) {
+                queued.payload = payload;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() {
+        while (true) {
+            Pending next;
+            synchronized (this) {
+                next = pending.pollFirst();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                session.sendMessage(new TextMessage(next.payload));
+            } catch (Exception e) {
+                System.err.println("❌ Error enviando a " + session.getId() + ": " + e.getMessage());
+                if (!session.isOpen()) {
+                    close();
+                }
+            }
+        }
+    }
+
+    private void disconnect() {
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            System.err.println("❌ Error cerrando " + session.getId() + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package project.Justina.infrastructure.websocket;
+
+import org.springframework.web.socket.WebSocketSession;
+import project.Justina.domain.model.LiveMetrics;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.SurgerySession;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+// Canal de salida de una conexión de /ws/simulation: respuestas (SAVED/ERROR) y feedback en vivo
+// comparten un único escritor. El feedback usa siempre la misma clave, así que si el cliente
+// no terminó de recibir el anterior se reemplaza por el más nuevo en lugar de acumularse.
+class SimulationChannel {
+
+    static final int CAPACITY = 16;
+    static final String FEEDBACK_KEY = "FEEDBACK";
+
+    // Economía por encima de la cual el pipeline de IA penaliza el puntaje
+    static final double ECONOMY_ALERT_THRESHOLD = 1.8;
+
+    private final OutboundMessageQueue queue;
+
+    // Último feedback enviado; solo lo usa el hilo del scheduler
+    private UUID surgeryId;
+    private int pushedSamples;
+    private int pushedHemorrhages;
+    private int pushedKidneyTouches;
+
+    SimulationChannel(WebSocketSession session, Executor writer) {
+        this.queue = new OutboundMessageQueue(session, CAPACITY, OutboundMessageQueue.OverflowPolicy.COALESCE, writer);
+    }
+
+    void reply(String message) {
+        queue.offer(null, message);
+    }
+
+    // Empuja las métricas actuales si llegaron muestras desde el último envío
+    void pushFeedback(SurgerySession surgery) {
+        String message;
+        synchronized (surgery) {
+            message = feedback(surgery);
+        }
+        if (message != null) {
+            queue.offer(FEEDBACK_KEY, message);
+        }
+    }
+
+    void close() {
+        queue.close();
+    }
+
+    private String feedback(SurgerySession surgery) {
+        LiveMetrics metrics = surgery.getLiveMetrics();
+        if (!surgery.getId().equals(surgeryId)) {
+            surgeryId = surgery.getId();
+            pushedSamples = 0;
+            pushedHemorrhages = 0;
+            pushedKidneyTouches = 0;
+        }
+        if (metrics.getSamples() == pushedSamples) {
+            return null;
+        }
+        int hemorrhages = metrics.getEventCount(SurgeryEvent.HEMORRHAGE);
+        int kidneyTouches = metrics.getEventCount(SurgeryEvent.KIDNEY_TOUCH);
+
+        StringBuilder alerts = new StringBuilder();
+        if (hemorrhages > pushedHemorrhages) {
+            alert(alerts, "HEMORRHAGE");
+        }
+        if (kidneyTouches > pushedKidneyTouches) {
+            alert(alerts, "KIDNEY_TOUCH");
+        }
+        if (metrics.getEconomyOfMotion() > ECONOMY_ALERT_THRESHOLD) {
+            alert(alerts, "LOW_ECONOMY");
+        }
+        pushedSamples = metrics.getSamples();
+        pushedHemorrhages = hemorrhages;
+        pushedKidneyTouches = kidneyTouches;
+
+        return "{\"event\":\"FEEDBACK\",\"surgeryId\":\"" + surgeryId + "\""
+                + ",\"samples\":" + metrics.getSamples()
+                + ",\"speed\":" + number(metrics.getCurrentVelocity())
+                + ",\"jerk\":" + number(metrics.getCurrentJerk())
+                + ",\"meanVelocity\":" + number(metrics.getMeanVelocity())
+                + ",\"pathLength\":" + number(metrics.getPathLength())
+                + ",\"economyOfMotion\":" + number(metrics.getEconomyOfMotion())
+                + ",\"hemorrhages\":" + hemorrhages
+                + ",\"kidneyTouches\":" + kidneyTouches
+                + ",\"tumorRemovals\":" + metrics.getEventCount(SurgeryEvent.TUMOR_REMOVAL)
+                + ",\"alerts\":[" + alerts + "]}";
+    }
+
+    private static void alert(StringBuilder alerts, String alert) {
+        if (!alerts.isEmpty()) {
+            alerts.append(',');
+        }
+        alerts.append('"').append(alert).append('"');
+    }
+
+    // JSON no admite NaN ni infinitos
+    static String number(double value) {
+        return Double.isFinite(value) ? Double.toString(value) : "null";
+    }
+}
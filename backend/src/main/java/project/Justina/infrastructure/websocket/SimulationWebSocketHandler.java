@@ -8,50 +8,72 @@ import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
+import project.Justina.domain.dto.TelemetryBatchDTO;
 import project.Justina.domain.dto.TelemetryDTO;
 import project.Justina.domain.model.Movement;
-import project.Justina.domain.model.SurgeryEvent;
-import project.Justina.domain.model.SurgerySession;
-import project.Justina.domain.repository.SurgeryRepository;
+import project.Justina.domain.model.Trajectory;
 import tools.jackson.databind.ObjectMapper;
 
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
 public class SimulationWebSocketHandler extends TextWebSocketHandler {
 
-    private final ObjectMapper objectMapper; //Convertir JSON  a objetos
-    private final SurgeryRepository surgeryRepository;
-    private final Validator validator;
+    // Un parser reutilizable por hilo de I/O: el camino rápido no genera basura por frame
+    private static final ThreadLocal<TelemetryFrameParser> FRAME_PARSER =
+            ThreadLocal.withInitial(TelemetryFrameParser::new);
 
-    // Memoria temporal: Llave = ID de sesión de WebSocket, Valor = Objeto de Dominio
-    private final Map<String, SurgerySession> activeSessions = new ConcurrentHashMap<>();
+    // Último número de secuencia de lote aceptado en la conexión
+    private static final String LAST_SEQUENCE = "LAST_BATCH_SEQ";
 
+    private final ObjectMapper objectMapper; //Convertir JSON  a objetos
+    private final LiveSurgeryRegistry liveSurgeries;
+    private final Validator validator;
 
     @Override
     public void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception{
-        // Recibir el DTO (La entrada técnica)
-        TelemetryDTO dto = objectMapper.readValue(message.getPayload(), TelemetryDTO.class);
-
-        Set<ConstraintViolation<TelemetryDTO>> violations = validator.validate(dto);
-
-        if (!violations.isEmpty()) {
-            session.close(CloseStatus.BAD_DATA);
-            return;
+        String payload = message.getPayload();
+        TelemetryFrameParser parser = FRAME_PARSER.get();
+
+        // Camino rápido: frames bien formados (sueltos o en lote) se leen sin Jackson ni Bean Validation
+        Trajectory samples;
+        long sequence;
+        if (parser.parse(payload)) {
+            samples = parser.samples();
+            sequence = parser.sequence();
+        } else if (parser.isBatch()) {
+            // Fallback de lotes con otra forma o inválidos
+            TelemetryBatchDTO batch = objectMapper.readValue(payload, TelemetryBatchDTO.class);
+
+            if (!validator.validate(batch).isEmpty()) {
+                session.close(CloseStatus.BAD_DATA);
+                return;
+            }
+
+            samples = new Trajectory(batch.samples().size());
+            for (TelemetryDTO dto : batch.samples()) {
+                samples.add(toMovement(dto));
+            }
+            sequence = batch.seq();
+        } else {
+            // Fallback: frames con otra forma o inválidos pasan por el DTO validado
+            TelemetryDTO dto = objectMapper.readValue(payload, TelemetryDTO.class);
+
+            Set<ConstraintViolation<TelemetryDTO>> violations = validator.validate(dto);
+
+            if (!violations.isEmpty()) {
+                session.close(CloseStatus.BAD_DATA);
+                return;
+            }
+
+            samples = new Trajectory(1);
+            samples.add(toMovement(dto));
+            sequence = -1;
         }
 
-        // Mapeo Manual: Convertir DTO a Movement (Objeto de Dominio)
-        // Se mapea manualmente para controlar la traducción
-        Movement movement = new Movement(
-                dto.coordinates(),
-                dto.event(),
-                dto.timestamp()
-        );
-
         // Obtener el ID del cirujano de los atributos (Puesto ahí por el Interceptor)
         UUID surgeonId = (UUID) session.getAttributes().get("SURGEON_ID");
 
@@ -61,24 +83,31 @@ public class SimulationWebSocketHandler extends TextWebSocketHandler {
             return;
         }
 
-        // 4. Obtener o crear la sesión de cirugía usando el ID REAL
-        SurgerySession surgery = activeSessions.computeIfAbsent(session.getId(), k -> {
-            return new SurgerySession(surgeonId);
-        });
+        // Lotes reenviados o fuera de orden se descartan para no duplicar muestras
+        if (sequence >= 0 && !acceptSequence(session, sequence)) {
+            return;
+        }
 
-        // Agregar el movimiento al modelo de dominio
-        surgery.addMovement(movement);
+        // Agregar las muestras al modelo de dominio; con FINISH se dispara la persistencia de la HU-02
+        liveSurgeries.append(session, surgeonId, samples);
+    }
 
-        // Si llega el evento FINISH, disparamos la persistencia de la HU-02
-        // 6. Finalización y persistencia
-        if (movement.event() == SurgeryEvent.FINISH) {
-            surgery.endSurgery();
-            surgeryRepository.save(surgery);
-            activeSessions.remove(session.getId());
+    // Mapeo Manual: Convertir DTO a Movement (Objeto de Dominio)
+    // Se mapea manualmente para controlar la traducción
+    private static Movement toMovement(TelemetryDTO dto) {
+        return new Movement(
+                dto.coordinates(),
+                dto.event(),
+                dto.timestamp()
+        );
+    }
 
-            String response = String.format("{\"status\":\"SAVED\", \"surgeryId\":\"%s\"}", surgery.getId());
-            session.sendMessage(new TextMessage(response));
-            AIWebSocketHandler.notificarNuevaCirugia(surgery.getId());
+    private static boolean acceptSequence(WebSocketSession session, long sequence) {
+        Map<String, Object> attributes = session.getAttributes();
+        if (attributes.get(LAST_SEQUENCE) instanceof Long last && sequence <= last) {
+            return false;
         }
+        attributes.put(LAST_SEQUENCE, sequence);
+        return true;
     }
 }
@@ -0,0 +1,66 @@
+package project.Justina.infrastructure.websocket;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+
+// Punto de entrada de /ws/simulation: negocia el subprotocolo en el handshake
+// (Sec-WebSocket-Protocol) y delega cada conexión en el handler JSON o en el binario.
+// Los clientes que no piden subprotocolo siguen usando JSON.
+@Component
+@RequiredArgsConstructor
+public class SimulationWebSocketRouter implements WebSocketHandler, SubProtocolCapable {
+
+    public static final String BINARY_PROTOCOL = "justina.telemetry.binary.v1";
+    public static final String JSON_PROTOCOL = "justina.telemetry.json.v1";
+
+    // Los lotes de telemetría superan el buffer por defecto de 8 KB del contenedor
+    static final int MAX_FRAME_SIZE = 64 * 1024;
+
+    private final SimulationWebSocketHandler jsonHandler;
+    private final BinaryTelemetryWebSocketHandler binaryHandler;
+    private final LiveSurgeryRegistry liveSurgeries;
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(BINARY_PROTOCOL, JSON_PROTOCOL);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        session.setTextMessageSizeLimit(MAX_FRAME_SIZE);
+        session.setBinaryMessageSizeLimit(MAX_FRAME_SIZE);
+        delegate(session).afterConnectionEstablished(session);
+    }
+
+    @Override
+    public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+        delegate(session).handleMessage(session, message);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        delegate(session).handleTransportError(session, exception);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        liveSurgeries.release(session);
+        delegate(session).afterConnectionClosed(session, closeStatus);
+    }
+
+    @Override
+    public boolean supportsPartialMessages() {
+        return false;
+    }
+
+    private WebSocketHandler delegate(WebSocketSession session) {
+        return BINARY_PROTOCOL.equals(session.getAcceptedProtocol()) ? binaryHandler : jsonHandler;
+    }
+}
@@ -0,0 +1,409 @@
+package project.Justina.infrastructure.websocket;
+
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.Trajectory;
+
+// Parser de camino rápido para frames de telemetría. Acepta dos formas:
+//   - muestra suelta: {"coordinates":[x,y(,z)],"event":"...","timestamp":n}
+//   - lote:           {"seq":n,"samples":[{muestra},{muestra},...]}
+// Lee directamente los caracteres del payload a un buffer columnar reutilizable, sin crear
+// DTOs ni Strings, y aplica a mano las mismas reglas que TelemetryDTO (@NotNull, @Size(2,3), @Positive).
+// Si el frame tiene cualquier otra forma (claves extra, nulls, escapes, valores inválidos)
+// parse() devuelve false y el handler usa el camino Jackson + Validator de siempre.
+// No es thread-safe: se reutiliza una instancia por hilo.
+public final class TelemetryFrameParser {
+
+    private static final SurgeryEvent[] EVENTS = SurgeryEvent.values();
+
+    // Potencias de 10 representables exactamente como double (algoritmo rápido de Clinger)
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private String json;
+    private int pos;
+    private boolean failed;
+
+    // Muestras del último frame; se vacía en cada parse()
+    private final Trajectory samples = new Trajectory(64);
+    private boolean batchEnvelope;
+    private long sequence;
+
+    // Muestra en curso
+    private final double[] coordinates = new double[3];
+    private int coordinateCount;
+    private SurgeryEvent event;
+    private long timestamp;
+    private boolean hasTimestamp;
+
+    public boolean parse(String payload) {
+        json = payload;
+        pos = 0;
+        failed = false;
+        samples.clear();
+        batchEnvelope = false;
+        sequence = -1;
+        resetSample();
+
+        boolean hasSequence = false;
+        boolean hasSamples = false;
+        boolean hasSampleFields = false;
+
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        while (!failed) {
+            expect('"');
+            int keyStart = pos;
+            int keyEnd = skipPlainString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            if (failed) {
+                break;
+            }
+
+            if (keyEquals(keyStart, keyEnd, "seq") && !hasSequence) {
+                batchEnvelope = true;
+                hasSequence = true;
+                sequence = parseLong();
+            } else if (keyEquals(keyStart, keyEnd, "samples") && !hasSamples) {
+                batchEnvelope = true;
+                hasSamples = true;
+                parseSamples();
+            } else if (parseSampleField(keyStart, keyEnd)) {
+                hasSampleFields = true;
+            } else {
+                failed = true;
+            }
+
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+                skipWhitespace();
+            } else {
+                expect('}');
+                break;
+            }
+        }
+        skipWhitespace();
+        json = null;
+
+        if (failed || pos != payload.length()) {
+            return false;
+        }
+        if (batchEnvelope) {
+            return !hasSampleFields && hasSequence && sequence >= 0 && hasSamples && !samples.isEmpty();
+        }
+        return appendSample();
+    }
+
+    // Muestras del último frame aceptado (buffer reutilizado: consumir antes del siguiente parse)
+    public Trajectory samples() {
+        return samples;
+    }
+
+    public boolean isBatch() {
+        return batchEnvelope;
+    }
+
+    // Número de secuencia del lote, o -1 para muestras sueltas
+    public long sequence() {
+        return batchEnvelope ? sequence : -1;
+    }
+
+    private void parseSamples() {
+        expect('[');
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return;
+        }
+        while (!failed) {
+            parseSampleObject();
+            if (!failed && !appendSample()) {
+                failed = true;
+            }
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+                skipWhitespace();
+            } else {
+                expect(']');
+                break;
+            }
+        }
+    }
+
+    private void parseSampleObject() {
+        resetSample();
+        expect('{');
+        skipWhitespace();
+        while (!failed) {
+            expect('"');
+            int keyStart = pos;
+            int keyEnd = skipPlainString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            if (failed) {
+                return;
+            }
+            if (!parseSampleField(keyStart, keyEnd)) {
+                failed = true;
+                return;
+            }
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+                skipWhitespace();
+            } else {
+                expect('}');
+                return;
+            }
+        }
+    }
+
+    // Devuelve false si la clave no pertenece a una muestra o está repetida
+    private boolean parseSampleField(int keyStart, int keyEnd) {
+        if (keyEquals(keyStart, keyEnd, "coordinates") && coordinateCount < 0) {
+            parseCoordinates();
+        } else if (keyEquals(keyStart, keyEnd, "event") && event == null) {
+            parseEvent();
+        } else if (keyEquals(keyStart, keyEnd, "timestamp") && !hasTimestamp) {
+            timestamp = parseLong();
+            hasTimestamp = true;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    // Equivalente a las restricciones de TelemetryDTO
+    private boolean appendSample() {
+        if (coordinateCount < 2 || coordinateCount > 3 || event == null || !hasTimestamp || timestamp <= 0) {
+            return false;
+        }
+        samples.append(
+                coordinates[0],
+                coordinates[1],
+                coordinateCount == 3 ? coordinates[2] : Double.NaN,
+                event,
+                timestamp
+        );
+        return true;
+    }
+
+    private void resetSample() {
+        coordinateCount = -1;
+        event = null;
+        timestamp = 0;
+        hasTimestamp = false;
+    }
+
+    private void parseCoordinates() {
+        expect('[');
+        skipWhitespace();
+        int count = 0;
+        if (peek() == ']') {
+            pos++;
+            coordinateCount = 0;
+            return;
+        }
+        while (!failed) {
+            double value = parseDouble();
+            if (count < coordinates.length) {
+                coordinates[count] = value;
+            }
+            count++;
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+                skipWhitespace();
+            } else {
+                expect(']');
+                break;
+            }
+        }
+        coordinateCount = count;
+    }
+
+    private void parseEvent() {
+        expect('"');
+        int start = pos;
+        int end = skipPlainString();
+        if (failed) {
+            return;
+        }
+        int length = end - start;
+        for (SurgeryEvent candidate : EVENTS) {
+            String name = candidate.name();
+            if (name.length() == length && json.regionMatches(start, name, 0, length)) {
+                event = candidate;
+                return;
+            }
+        }
+        failed = true;
+    }
+
+    private long parseLong() {
+        int start = pos;
+        boolean negative = false;
+        if (peek() == '-') {
+            negative = true;
+            pos++;
+        }
+        int digitsStart = pos;
+        long value = 0;
+        while (isDigit(peek())) {
+            if (pos - digitsStart >= 18) { // evita overflow; timestamps reales tienen 13 dígitos
+                failed = true;
+                return 0;
+            }
+            value = value * 10 + (json.charAt(pos) - '0');
+            pos++;
+        }
+        if (pos == digitsStart || hasLeadingZero(digitsStart) || isNumberContinuation(peek())) {
+            pos = start;
+            failed = true;
+            return 0;
+        }
+        return negative ? -value : value;
+    }
+
+    private double parseDouble() {
+        int start = pos;
+        boolean negative = false;
+        if (peek() == '-') {
+            negative = true;
+            pos++;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+
+        int intStart = pos;
+        while (isDigit(peek())) {
+            int digit = json.charAt(pos) - '0';
+            if (mantissa != 0 || digit != 0) {
+                significantDigits++;
+            }
+            mantissa = mantissa * 10 + digit;
+            pos++;
+        }
+        if (pos == intStart || hasLeadingZero(intStart)) {
+            failed = true;
+            return 0;
+        }
+
+        if (peek() == '.') {
+            pos++;
+            int fractionStart = pos;
+            while (isDigit(peek())) {
+                int digit = json.charAt(pos) - '0';
+                if (mantissa != 0 || digit != 0) {
+                    significantDigits++;
+                }
+                mantissa = mantissa * 10 + digit;
+                exponent--;
+                pos++;
+            }
+            if (pos == fractionStart) {
+                failed = true;
+                return 0;
+            }
+        }
+
+        if (peek() == 'e' || peek() == 'E') {
+            pos++;
+            boolean negativeExponent = false;
+            if (peek() == '+' || peek() == '-') {
+                negativeExponent = peek() == '-';
+                pos++;
+            }
+            int expStart = pos;
+            int explicitExponent = 0;
+            while (isDigit(peek())) {
+                if (explicitExponent < 10_000) {
+                    explicitExponent = explicitExponent * 10 + (json.charAt(pos) - '0');
+                }
+                pos++;
+            }
+            if (pos == expStart) {
+                failed = true;
+                return 0;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        // Camino exacto sin asignaciones (mantisa de hasta 15 dígitos significativos);
+        // los casos raros usan el parser del JDK
+        if (significantDigits <= 15 && mantissa < MAX_EXACT_MANTISSA && Math.abs(exponent) <= 22) {
+            double value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+            return negative ? -value : value;
+        }
+        return Double.parseDouble(json.substring(start, pos));
+    }
+
+    // Solo acepta strings sin escapes; devuelve la posición de la comilla de cierre
+    private int skipPlainString() {
+        int start = pos;
+        int length = json.length();
+        while (pos < length) {
+            char c = json.charAt(pos);
+            if (c == '"') {
+                int end = pos;
+                pos++;
+                return end;
+            }
+            if (c == '\\' || c < 0x20) {
+                break;
+            }
+            pos++;
+        }
+        failed = true;
+        return start;
+    }
+
+    private boolean keyEquals(int start, int end, String key) {
+        return end - start == key.length() && json.regionMatches(start, key, 0, key.length());
+    }
+
+    private boolean hasLeadingZero(int digitsStart) {
+        return json.charAt(digitsStart) == '0' && pos - digitsStart > 1;
+    }
+
+    private static boolean isNumberContinuation(int c) {
+        return c == '.' || c == 'e' || c == 'E';
+    }
+
+    private void skipWhitespace() {
+        int length = json.length();
+        while (pos < length) {
+            char c = json.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private void expect(char c) {
+        if (peek() == c) {
+            pos++;
+        } else {
+            failed = true;
+        }
+    }
+
+    private int peek() {
+        return pos < json.length() ? json.charAt(pos) : -1;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -11,13 +11,13 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketConfigurer {
 
-    private final SimulationWebSocketHandler simulationHandler;
+    private final SimulationWebSocketRouter simulationRouter;
     private final HandshakeInterceptorImpl handshakeInterceptor;
     private final AIWebSocketHandler aiHandler;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
-        registry.addHandler(simulationHandler, "/ws/simulation")
+        registry.addHandler(simulationRouter, "/ws/simulation")
                 .addInterceptors(handshakeInterceptor)
                 .setAllowedOrigins("*");
 
@@ -0,0 +1,100 @@
+package project.Justina.application.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.Justina.domain.dto.TrajectoryMetricsDTO;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.model.Trajectory;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para TrajectoryMetrics")
+class TrajectoryMetricsTest {
+
+    @Test
+    @DisplayName("of - Calcula recorrido, velocidad, aceleración y jerk como el pipeline de IA")
+    void of_ComputesKinematicsLikeAiPipeline() {
+        // Given - dos tramos de 5 unidades por segundo y una pausa
+        Trajectory trajectory = new Trajectory();
+        trajectory.append(0.0, 0.0, 0.0, SurgeryEvent.START, 1000L);
+        trajectory.append(3.0, 4.0, 0.0, SurgeryEvent.NONE, 2000L);
+        trajectory.append(6.0, 8.0, 0.0, SurgeryEvent.NONE, 3000L);
+        trajectory.append(6.0, 8.0, 0.0, SurgeryEvent.FINISH, 4000L);
+
+        // When
+        TrajectoryMetricsDTO metrics = TrajectoryMetrics.of(trajectory);
+
+        // Then - v = [0, 5, 5, 0], a = [-, 5, 0, -5], j = [-, -, -5, -5]
+        assertEquals(4, metrics.samples());
+        assertEquals(3.0, metrics.durationSeconds());
+        assertEquals(10.0, metrics.pathLength());
+        assertEquals(10.0, metrics.directDistance());
+        assertEquals(1.0, metrics.economyOfMotion());
+        assertEquals(2.5, metrics.meanVelocity());
+        assertEquals(5.0, metrics.maxAcceleration());
+        assertEquals(5.0, metrics.meanJerk());
+    }
+
+    @Test
+    @DisplayName("of - Economía de movimiento respecto de la línea recta, con z = 0 en 2D")
+    void of_ComputesEconomyAgainstStraightLine_With2DSamples() {
+        // Given
+        Trajectory trajectory = new Trajectory();
+        trajectory.append2D(0.0, 0.0, SurgeryEvent.START, 1000L);
+        trajectory.append(3.0, 4.0, 0.0, SurgeryEvent.NONE, 2000L);
+        trajectory.append2D(3.0, 0.0, SurgeryEvent.FINISH, 3000L);
+
+        // When
+        TrajectoryMetricsDTO metrics = TrajectoryMetrics.of(trajectory);
+
+        // Then
+        assertEquals(9.0, metrics.pathLength());
+        assertEquals(3.0, metrics.directDistance());
+        assertEquals(3.0, metrics.economyOfMotion());
+    }
+
+    @Test
+    @DisplayName("of - Resume las métricas en vivo igual que una pasada sobre la trayectoria")
+    void of_LiveMetricsMatchSinglePassOverTrajectory() {
+        // Given
+        Trajectory trajectory = new Trajectory();
+        for (int i = 0; i < 100; i++) {
+            SurgeryEvent event = i % 10 == 0 ? SurgeryEvent.HEMORRHAGE : SurgeryEvent.NONE;
+            trajectory.append(Math.sin(i / 10.0), Math.cos(i / 7.0), i * 0.01, event, 1000L + i * 16L);
+        }
+        SurgerySession session = new SurgerySession(UUID.randomUUID());
+
+        // When
+        session.addSamples(trajectory, 0, 1);
+        session.addSamples(trajectory, 1, 37);
+        session.addSamples(trajectory, 37, 100);
+
+        // Then
+        TrajectoryMetricsDTO live = TrajectoryMetrics.of(session.getLiveMetrics());
+        assertEquals(TrajectoryMetrics.of(trajectory), live);
+        assertEquals(10, live.hemorrhages());
+    }
+
+    @Test
+    @DisplayName("of - Sin muestras o con timestamps repetidos no divide por cero")
+    void of_HandlesEmptyTrajectoryAndZeroTimeSteps() {
+        // Given
+        Trajectory repeated = new Trajectory();
+        repeated.append(0.0, 0.0, 0.0, SurgeryEvent.START, 1000L);
+        repeated.append(1.0, 0.0, 0.0, SurgeryEvent.NONE, 1000L);
+
+        // When
+        TrajectoryMetricsDTO empty = TrajectoryMetrics.of(new Trajectory());
+        TrajectoryMetricsDTO metrics = TrajectoryMetrics.of(repeated);
+
+        // Then
+        assertEquals(0, empty.samples());
+        assertEquals(1.0, empty.economyOfMotion());
+        assertEquals(1.0, metrics.pathLength());
+        assertEquals(0.0, metrics.meanVelocity());
+        assertEquals(0.0, metrics.maxAcceleration());
+    }
+}
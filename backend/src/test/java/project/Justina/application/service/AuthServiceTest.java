@@ -1,5 +1,6 @@
 package project.Justina.application.service;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,11 +12,18 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import project.Justina.domain.dto.AuthResponseDTO;
 import project.Justina.domain.exception.AuthException;
+import project.Justina.domain.exception.ServiceOverloadedException;
 import project.Justina.domain.exception.UserAlreadyExistsException;
 import project.Justina.domain.model.User;
 import project.Justina.domain.repository.UserRepository;
+import project.Justina.domain.model.TokenRevocation;
+import project.Justina.infrastructure.security.JwtClaims;
 import project.Justina.infrastructure.security.JwtService;
+import project.Justina.infrastructure.security.TokenRevocationList;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -37,6 +45,12 @@ class AuthServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenRevocationList revocationList;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private AuthService authService;
 
@@ -65,6 +79,7 @@ class AuthServiceTest {
         when(userRepository.findByUsername(testUsername)).thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
         when(jwtService.createToken(testUserId, testUsername, testUser.getRole())).thenReturn(testToken);
+        givenSessionTokens();
 
         // When
         AuthResponseDTO result = authService.login(testUsername, testPassword);
@@ -120,6 +135,46 @@ class AuthServiceTest {
         verify(jwtService, never()).createToken(any(), anyString(), anyString());
     }
 
+    @Test
+    @DisplayName("login - Rehace el hash guardado cuando usa un algoritmo o costo anterior")
+    void login_UpgradesStoredHash_WhenOutdated() {
+        // Given
+        when(userRepository.findByUsername(testUsername)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(encodedPassword)).thenReturn(true);
+        when(passwordEncoder.encode(testPassword)).thenReturn("{bcrypt}$2a$12$nuevoHash");
+        when(jwtService.createToken(testUserId, testUsername, "ROLE_SURGEON")).thenReturn(testToken);
+        givenSessionTokens();
+
+        // When
+        AuthResponseDTO result = authService.login(testUsername, testPassword);
+
+        // Then
+        assertEquals(testToken, result.token());
+        verify(userRepository).save(argThat(user -> user.getId().equals(testUserId)
+                && user.getPassword().equals("{bcrypt}$2a$12$nuevoHash")
+                && user.getRole().equals("ROLE_SURGEON")));
+    }
+
+    @Test
+    @DisplayName("login - Entra igual si no hay lugar para rehacer el hash")
+    void login_Succeeds_WhenUpgradeIsRejected() {
+        // Given
+        when(userRepository.findByUsername(testUsername)).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(encodedPassword)).thenReturn(true);
+        when(passwordEncoder.encode(testPassword)).thenThrow(new ServiceOverloadedException("ocupado"));
+        when(jwtService.createToken(testUserId, testUsername, "ROLE_SURGEON")).thenReturn(testToken);
+        givenSessionTokens();
+
+        // When
+        AuthResponseDTO result = authService.login(testUsername, testPassword);
+
+        // Then
+        assertEquals(testToken, result.token());
+        verify(userRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("register - Éxito con nuevo usuario")
     void register_Success_WhenNewUser() {
@@ -194,4 +249,102 @@ class AuthServiceTest {
             user.getRole().equals(role)
         ));
     }
+
+    @Test
+    @DisplayName("logout - Revoca solo el token actual")
+    void logout_RevokesCurrentToken() {
+        // Given
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        when(jwtService.verifyAndDecode(testToken))
+                .thenReturn(new JwtClaims("jti-1", testUsername, testUserId, "ROLE_SURGEON", Instant.now(), expiresAt));
+
+        // When
+        authService.logout(testToken, null, false);
+
+        // Then
+        verify(revocationList).revoke(TokenRevocation.ofToken("jti-1", expiresAt));
+        verifyNoMoreInteractions(revocationList);
+    }
+
+    @Test
+    @DisplayName("logout - Con allSessions revoca también todos los tokens del usuario, incluso los del mismo segundo")
+    void logout_AllSessions_RevokesUserTokens() {
+        // Given - iat con resolución de segundos, emitido en el mismo segundo que el logout
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        when(jwtService.verifyAndDecode(testToken))
+                .thenReturn(new JwtClaims("jti-1", testUsername, testUserId, "ROLE_SURGEON", issuedAt, issuedAt.plusSeconds(3600)));
+        when(jwtService.accessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+
+        // When
+        authService.logout(testToken, "refresh-1", true);
+
+        // Then
+        verify(revocationList).revoke(argThat(revocation -> revocation != null
+                && testUserId.equals(revocation.userId())
+                && revocation.issuedBefore() != null
+                && issuedAt.isBefore(revocation.issuedBefore())
+                && revocation.expiresAt().isAfter(revocation.issuedBefore())));
+        verify(revocationList).revoke(argThat(revocation -> revocation != null && "jti-1".equals(revocation.tokenId())));
+        verify(refreshTokenService).revoke("refresh-1");
+        verify(refreshTokenService).revokeAll(testUserId);
+    }
+
+    @Test
+    @DisplayName("logout - No revoca nada sin token o con un token inválido")
+    void logout_DoesNothing_WhenTokenMissingOrInvalid() {
+        // Given
+        when(jwtService.verifyAndDecode("basura")).thenThrow(new JWTVerificationException("Token inválido"));
+
+        // When
+        assertDoesNotThrow(() -> authService.logout(null, null, true));
+        assertDoesNotThrow(() -> authService.logout("basura", null, true));
+
+        // Then
+        verifyNoInteractions(revocationList);
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    @DisplayName("refresh - Rota el refresh token y emite un token de acceso con el rol actual")
+    void refresh_RotatesAndIssuesAccessTokenWithCurrentRole() {
+        // Given
+        User promoted = new User(testUserId, testUsername, encodedPassword, "ROLE_AI");
+        when(refreshTokenService.rotate("refresh-1"))
+                .thenReturn(new RefreshTokenService.Issued("refresh-2", testUserId, Instant.now().plusSeconds(3600)));
+        when(userRepository.findById(testUserId)).thenReturn(Optional.of(promoted));
+        when(jwtService.createToken(testUserId, testUsername, "ROLE_AI")).thenReturn(testToken);
+        when(jwtService.accessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+        when(refreshTokenService.ttlSeconds()).thenReturn(604800L);
+
+        // When
+        AuthResponseDTO result = authService.refresh("refresh-1");
+
+        // Then
+        assertEquals(testToken, result.token());
+        assertEquals("refresh-2", result.refreshToken());
+        assertEquals(900, result.expiresIn());
+        assertEquals("Token renovado", result.message());
+    }
+
+    @Test
+    @DisplayName("refresh - Lanza AuthException sin refresh token o si el usuario ya no existe")
+    void refresh_ThrowsAuthException_WhenTokenMissingOrUserDeleted() {
+        // Given
+        when(refreshTokenService.rotate("refresh-1"))
+                .thenReturn(new RefreshTokenService.Issued("refresh-2", testUserId, Instant.now().plusSeconds(3600)));
+        when(userRepository.findById(testUserId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(AuthException.class, () -> authService.refresh(null));
+        assertThrows(AuthException.class, () -> authService.refresh("refresh-1"));
+        verify(refreshTokenService).revokeAll(testUserId);
+        verify(jwtService, never()).createToken(any(), anyString(), anyString());
+    }
+
+    private void givenSessionTokens() {
+        when(refreshTokenService.issue(testUserId))
+                .thenReturn(new RefreshTokenService.Issued("refresh-1", testUserId, Instant.now().plusSeconds(3600)));
+        when(jwtService.accessTokenTtl()).thenReturn(Duration.ofMinutes(15));
+        when(refreshTokenService.ttlSeconds()).thenReturn(604800L);
+    }
 }
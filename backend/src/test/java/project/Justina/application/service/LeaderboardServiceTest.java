@@ -0,0 +1,137 @@
+package project.Justina.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.Justina.domain.dto.LeaderboardDTO;
+import project.Justina.domain.dto.LeaderboardEntryDTO;
+import project.Justina.domain.exception.InvalidQueryException;
+import project.Justina.domain.model.SurgeonStats;
+import project.Justina.domain.model.User;
+import project.Justina.domain.repository.SurgeonStatsRepository;
+import project.Justina.domain.repository.UserRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para LeaderboardService")
+class LeaderboardServiceTest {
+
+    @Mock
+    private SurgeonStatsRepository statsRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    private UUID ana;
+    private UUID beto;
+    private UUID caro;
+    private UUID dani;
+
+    @BeforeEach
+    void setUp() {
+        ana = UUID.randomUUID();
+        beto = UUID.randomUUID();
+        caro = UUID.randomUUID();
+        dani = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("getLeaderboard - Ordena por score promedio con empates compartiendo puesto")
+    void getLeaderboard_RanksByAverageScoreWithTies() {
+        // Given: promedios 90, 80, 80 y un cirujano sin scores
+        when(statsRepository.findAll()).thenReturn(List.of(
+                stats(beto, 2, 160, 0), stats(ana, 1, 90, 0), stats(caro, 4, 320, 0), unscored(dani)));
+        when(userRepository.findAllById(any())).thenReturn(List.of(
+                user(ana, "ana"), user(beto, "beto"), user(caro, "caro")));
+
+        // When
+        LeaderboardDTO leaderboard = leaderboardService.getLeaderboard(LeaderboardService.Metric.AVERAGE_SCORE, 10, caro);
+
+        // Then
+        assertEquals("AVERAGE_SCORE", leaderboard.metric());
+        assertEquals(3, leaderboard.ranked());
+        List<LeaderboardEntryDTO> entries = leaderboard.entries();
+        assertEquals(List.of(1, 2, 2), entries.stream().map(LeaderboardEntryDTO::rank).toList());
+        assertEquals(ana, entries.get(0).surgeonId());
+        assertEquals("ana", entries.get(0).username());
+        assertEquals(90.0, entries.get(0).value());
+        assertEquals(caro, leaderboard.me().surgeonId());
+        assertEquals(2, leaderboard.me().rank());
+    }
+
+    @Test
+    @DisplayName("getLeaderboard - En hemorragias por cirugía gana el menor")
+    void getLeaderboard_RanksHemorrhageRateAscending() {
+        // Given: 2/2 = 1.0, 1/4 = 0.25, 0/1 = 0
+        when(statsRepository.findAll()).thenReturn(List.of(
+                stats(ana, 2, 0, 2), stats(beto, 4, 0, 1), stats(caro, 1, 0, 0)));
+        when(userRepository.findAllById(any())).thenReturn(List.of());
+
+        // When
+        LeaderboardDTO leaderboard = leaderboardService.getLeaderboard(LeaderboardService.Metric.HEMORRHAGE_RATE, 2, dani);
+
+        // Then: solo los 2 primeros y el usuario no rankeado no tiene puesto
+        assertEquals(3, leaderboard.ranked());
+        assertEquals(List.of(caro, beto), leaderboard.entries().stream().map(LeaderboardEntryDTO::surgeonId).toList());
+        assertNull(leaderboard.me());
+    }
+
+    @Test
+    @DisplayName("getLeaderboard - Sirve del snapshot hasta el próximo refresco")
+    void getLeaderboard_ServesSnapshotUntilRefresh() {
+        // Given
+        when(statsRepository.findAll()).thenReturn(List.of(stats(ana, 1, 70, 0)));
+        when(userRepository.findAllById(any())).thenReturn(List.of());
+        leaderboardService.getLeaderboard(LeaderboardService.Metric.BEST_SCORE, null, ana);
+
+        // When: llega un score nuevo, pero todavía no se refrescó
+        when(statsRepository.findAll()).thenReturn(List.of(stats(ana, 1, 70, 0), stats(beto, 1, 95, 0)));
+        LeaderboardDTO stale = leaderboardService.getLeaderboard(LeaderboardService.Metric.BEST_SCORE, null, ana);
+        leaderboardService.refresh();
+        LeaderboardDTO fresh = leaderboardService.getLeaderboard(LeaderboardService.Metric.BEST_SCORE, null, ana);
+
+        // Then
+        assertEquals(1, stale.ranked());
+        assertEquals(2, fresh.ranked());
+        assertEquals(2, fresh.me().rank());
+        verify(statsRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("getLeaderboard - Lanza InvalidQueryException con limit fuera de rango")
+    void getLeaderboard_ThrowsInvalidQuery_WhenLimitOutOfRange() {
+        // When & Then
+        assertThrows(InvalidQueryException.class,
+                () -> leaderboardService.getLeaderboard(LeaderboardService.Metric.AVERAGE_SCORE, 0, ana));
+        assertThrows(InvalidQueryException.class,
+                () -> leaderboardService.getLeaderboard(LeaderboardService.Metric.AVERAGE_SCORE, LeaderboardService.MAX_LIMIT + 1, ana));
+        verify(statsRepository, never()).findAll();
+    }
+
+    // Cirujano con 'sessions' cirugías, todas con score, que suman scoreSum
+    private static SurgeonStats stats(UUID surgeonId, long sessions, double scoreSum, long hemorrhages) {
+        return new SurgeonStats(surgeonId, sessions, 600 * sessions, hemorrhages, 0, 0,
+                sessions, scoreSum, 0, 0, 0, 0, scoreSum / sessions, scoreSum / sessions, null);
+    }
+
+    private static SurgeonStats unscored(UUID surgeonId) {
+        return new SurgeonStats(surgeonId, 1, 600, 0, 0, 0, 0, 0, 0, 0, 0, 0, null, null, null);
+    }
+
+    private static User user(UUID id, String username) {
+        return new User(id, username, "hash", "ROLE_SURGEON");
+    }
+}
@@ -0,0 +1,122 @@
+package project.Justina.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.Justina.domain.exception.AuthException;
+import project.Justina.domain.model.RefreshToken;
+import project.Justina.domain.repository.RefreshTokenRepository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para RefreshTokenService")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    private RefreshTokenService refreshTokenService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(repository, 3_600_000);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("issue - Guarda solo el hash y abre una familia nueva por login")
+    void issue_StoresHashAndOpensNewFamily() {
+        // When
+        RefreshTokenService.Issued first = refreshTokenService.issue(userId);
+        RefreshTokenService.Issued second = refreshTokenService.issue(userId);
+
+        // Then
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository, times(2)).save(saved.capture());
+        RefreshToken stored = saved.getAllValues().get(0);
+        assertNotEquals(first.token(), stored.tokenHash());
+        assertEquals(64, stored.tokenHash().length());
+        assertEquals(userId, stored.userId());
+        assertNotEquals(first.token(), second.token());
+        assertNotEquals(stored.familyId(), saved.getAllValues().get(1).familyId());
+    }
+
+    @Test
+    @DisplayName("rotate - Consume el token y emite el siguiente de la misma familia")
+    void rotate_ConsumesTokenAndIssuesNextInFamily() {
+        // Given
+        RefreshToken current = storedToken(null, false, Instant.now().plusSeconds(3600));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(repository.markUsed(eq(current.id()), any())).thenReturn(true);
+
+        // When
+        RefreshTokenService.Issued next = refreshTokenService.rotate("refresh-1");
+
+        // Then
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(saved.capture());
+        assertEquals(current.familyId(), saved.getValue().familyId());
+        assertEquals(userId, next.userId());
+        verify(repository, never()).revokeFamily(any());
+    }
+
+    @Test
+    @DisplayName("rotate - Un token ya usado revoca la familia entera")
+    void rotate_RevokesFamily_WhenTokenReused() {
+        // Given
+        RefreshToken used = storedToken(Instant.now().minusSeconds(10), false, Instant.now().plusSeconds(3600));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(used));
+
+        // When & Then
+        assertThrows(AuthException.class, () -> refreshTokenService.rotate("refresh-1"));
+        verify(repository).revokeFamily(used.familyId());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("rotate - Si otro request lo rotó al mismo tiempo también se trata como reuso")
+    void rotate_RevokesFamily_WhenConcurrentRotationWins() {
+        // Given
+        RefreshToken current = storedToken(null, false, Instant.now().plusSeconds(3600));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(repository.markUsed(eq(current.id()), any())).thenReturn(false);
+
+        // When & Then
+        assertThrows(AuthException.class, () -> refreshTokenService.rotate("refresh-1"));
+        verify(repository).revokeFamily(current.familyId());
+    }
+
+    @Test
+    @DisplayName("rotate - Rechaza tokens desconocidos, vencidos o revocados")
+    void rotate_Rejects_UnknownExpiredOrRevokedTokens() {
+        // Given
+        when(repository.findByTokenHash(anyString())).thenReturn(
+                Optional.empty(),
+                Optional.of(storedToken(null, false, Instant.now().minusSeconds(1))),
+                Optional.of(storedToken(null, true, Instant.now().plusSeconds(3600))));
+
+        // When & Then
+        assertThrows(AuthException.class, () -> refreshTokenService.rotate("desconocido"));
+        assertThrows(AuthException.class, () -> refreshTokenService.rotate("vencido"));
+        assertThrows(AuthException.class, () -> refreshTokenService.rotate("revocado"));
+        verify(repository, never()).markUsed(any(), any());
+        verify(repository, never()).save(any());
+    }
+
+    private RefreshToken storedToken(Instant usedAt, boolean revoked, Instant expiresAt) {
+        return new RefreshToken(UUID.randomUUID(), "hash", UUID.randomUUID(), userId, expiresAt, usedAt, revoked);
+    }
+}
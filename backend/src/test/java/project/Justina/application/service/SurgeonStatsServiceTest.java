@@ -0,0 +1,85 @@
+package project.Justina.application.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.Justina.domain.dto.SurgeonStatsDTO;
+import project.Justina.domain.exception.ForbiddenActionException;
+import project.Justina.domain.model.SurgeonStats;
+import project.Justina.domain.repository.SurgeonStatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para SurgeonStatsService")
+class SurgeonStatsServiceTest {
+
+    @Mock
+    private SurgeonStatsRepository statsRepository;
+
+    @InjectMocks
+    private SurgeonStatsService statsService;
+
+    private UUID surgeonId;
+
+    @BeforeEach
+    void setUp() {
+        surgeonId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("getSurgeonStats - Devuelve promedios y tasas del agregado del cirujano")
+    void getSurgeonStats_ReturnsDerivedValues() {
+        // Given: 2 cirugías terminadas, una con score 80
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(statsRepository.findBySurgeonId(surgeonId)).thenReturn(Optional.of(new SurgeonStats(
+                surgeonId, 2, 1800, 3, 1, 2, 1, 80, 6400, 0, 0, 0, 80.0, 80.0, updatedAt)));
+
+        // When
+        SurgeonStatsDTO stats = statsService.getSurgeonStats(surgeonId, surgeonId, "ROLE_SURGEON");
+
+        // Then
+        assertEquals(2, stats.sessions());
+        assertEquals(1, stats.scoredSessions());
+        assertEquals(80.0, stats.averageScore());
+        assertEquals(0.0, stats.scoreStdDev());
+        assertNull(stats.scoreTrendPerDay());
+        assertEquals(900.0, stats.averageDurationSeconds());
+        assertEquals(1.5, stats.hemorrhagesPerSession());
+        assertEquals(updatedAt, stats.updatedAt());
+    }
+
+    @Test
+    @DisplayName("getSurgeonStats - Devuelve estadísticas vacías si el cirujano no terminó cirugías")
+    void getSurgeonStats_ReturnsEmpty_WhenNoRow() {
+        // Given
+        when(statsRepository.findBySurgeonId(surgeonId)).thenReturn(Optional.empty());
+
+        // When
+        SurgeonStatsDTO stats = statsService.getSurgeonStats(surgeonId, UUID.randomUUID(), "ROLE_AI");
+
+        // Then
+        assertEquals(surgeonId, stats.surgeonId());
+        assertEquals(0, stats.sessions());
+        assertNull(stats.averageScore());
+    }
+
+    @Test
+    @DisplayName("getSurgeonStats - Lanza ForbiddenActionException para otro cirujano")
+    void getSurgeonStats_ThrowsForbidden_WhenDifferentSurgeon() {
+        // When & Then
+        assertThrows(ForbiddenActionException.class,
+                () -> statsService.getSurgeonStats(surgeonId, UUID.randomUUID(), "ROLE_SURGEON"));
+        verify(statsRepository, never()).findBySurgeonId(any());
+    }
+}
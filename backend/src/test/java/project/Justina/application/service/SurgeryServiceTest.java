@@ -8,17 +8,24 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import project.Justina.domain.dto.AnalysisDTO;
+import project.Justina.domain.dto.SurgeryPageDTO;
+import project.Justina.domain.dto.SurgerySummaryDTO;
 import project.Justina.domain.dto.TrajectoryDTO;
+import project.Justina.domain.dto.TrajectoryMetricsDTO;
+import project.Justina.domain.dto.TrajectoryRangeDTO;
 import project.Justina.domain.exception.ForbiddenActionException;
+import project.Justina.domain.exception.InvalidQueryException;
 import project.Justina.domain.exception.SurgeryNotFoundException;
 import project.Justina.domain.model.Movement;
 import project.Justina.domain.model.SurgeryEvent;
 import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.model.Trajectory;
 import project.Justina.domain.repository.SurgeryRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -127,82 +134,200 @@ class SurgeryServiceTest {
     }
 
     @Test
-    @DisplayName("saveAiAnalysis - Éxito cuando la cirugía existe")
-    void saveAiAnalysis_Success_WhenSurgeryExists() {
+    @DisplayName("getSurgeryTrajectory - Simplifica la trayectoria con maxPoints conservando los eventos")
+    void getSurgeryTrajectory_SimplifiesWithMaxPoints() {
         // Given
-        AnalysisDTO analysisDTO = new AnalysisDTO(92.5, "Excelente técnica quirúrgica");
-        SurgerySession sessionToUpdate = new SurgerySession(
-            testSurgeryId,
-            testSurgeonId,
-            testMovements,
-            startTime,
-            endTime,
-            3600L,
-            null, // score inicialmente null
-            null  // feedback inicialmente null
-        );
-
-        when(surgeryRepository.findById(testSurgeryId)).thenReturn(Optional.of(sessionToUpdate));
-        doNothing().when(surgeryRepository).save(any(SurgerySession.class));
+        when(surgeryRepository.findById(testSurgeryId)).thenReturn(Optional.of(testSurgerySession));
 
         // When
-        assertDoesNotThrow(() -> surgeryService.saveAiAnalysis(testSurgeryId, analysisDTO));
+        TrajectoryDTO result = surgeryService.getSurgeryTrajectory(testSurgeryId, testSurgeonId, "ROLE_SURGEON", 2, 0.5);
 
-        // Then
-        assertEquals(92.5, sessionToUpdate.getScore());
-        assertEquals("Excelente técnica quirúrgica", sessionToUpdate.getFeedback());
+        // Then - las tres muestras tienen evento: ninguna se descarta
+        assertEquals(testMovements, result.movements());
+    }
 
-        verify(surgeryRepository).findById(testSurgeryId);
-        verify(surgeryRepository).save(sessionToUpdate);
+    @Test
+    @DisplayName("getSurgeryTrajectory - Rechaza maxPoints o tolerance inválidos")
+    void getSurgeryTrajectory_ThrowsInvalidQuery_WithInvalidParameters() {
+        // When & Then
+        assertThrows(InvalidQueryException.class,
+                () -> surgeryService.getSurgeryTrajectory(testSurgeryId, testSurgeonId, "ROLE_SURGEON", 1, null));
+        assertThrows(InvalidQueryException.class,
+                () -> surgeryService.getSurgeryTrajectory(testSurgeryId, testSurgeonId, "ROLE_SURGEON", null, -1.0));
+        assertThrows(InvalidQueryException.class,
+                () -> surgeryService.getSurgeryTrajectory(testSurgeryId, testSurgeonId, "ROLE_SURGEON", null, Double.NaN));
+        verifyNoInteractions(surgeryRepository);
     }
 
     @Test
-    @DisplayName("saveAiAnalysis - Lanza SurgeryNotFoundException cuando la cirugía no existe")
-    void saveAiAnalysis_ThrowsNotFound_WhenSurgeryNotExists() {
+    @DisplayName("getSurgeryMetrics - Calcula las métricas de la trayectoria guardada")
+    void getSurgeryMetrics_ComputesMetricsOfStoredTrajectory() {
+        // Given
+        when(surgeryRepository.findById(testSurgeryId)).thenReturn(Optional.of(testSurgerySession));
+
+        // When
+        TrajectoryMetricsDTO result = surgeryService.getSurgeryMetrics(testSurgeryId, testSurgeonId, "ROLE_SURGEON");
+
+        // Then - dos tramos rectos de sqrt(0.75)
+        assertEquals(3, result.samples());
+        assertEquals(2 * Math.sqrt(0.75), result.pathLength(), 1e-9);
+        assertEquals(1.0, result.economyOfMotion(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("getSurgeryMetrics - Lanza SurgeryNotFoundException cuando la cirugía no existe")
+    void getSurgeryMetrics_ThrowsNotFound_WhenSurgeryNotExists() {
         // Given
         UUID nonExistentSurgeryId = UUID.randomUUID();
-        AnalysisDTO analysisDTO = new AnalysisDTO(75.0, "Técnica mejorada");
         when(surgeryRepository.findById(nonExistentSurgeryId)).thenReturn(Optional.empty());
 
         // When & Then
-        SurgeryNotFoundException exception = assertThrows(
-                SurgeryNotFoundException.class,
-                () -> surgeryService.saveAiAnalysis(nonExistentSurgeryId, analysisDTO)
-        );
+        assertThrows(SurgeryNotFoundException.class,
+                () -> surgeryService.getSurgeryMetrics(nonExistentSurgeryId, testSurgeonId, "ROLE_SURGEON"));
+    }
 
-        assertEquals("La cirugía con id " + nonExistentSurgeryId + " no existe.", exception.getMessage());
+    @Test
+    @DisplayName("getSurgeryTrajectory - Con from/to lee solo la ventana, sin cargar la trayectoria completa")
+    void getSurgeryTrajectory_ReadsOnlyTimeWindow() {
+        // Given
+        Trajectory window = Trajectory.copyOf(testMovements.subList(1, 2));
+        when(surgeryRepository.findHeaderById(testSurgeryId)).thenReturn(Optional.of(testSurgerySession));
+        when(surgeryRepository.findTrajectoryRange(testSurgeryId, 100L, 200L)).thenReturn(window);
 
-        verify(surgeryRepository).findById(nonExistentSurgeryId);
-        verify(surgeryRepository, never()).save(any());
+        // When
+        TrajectoryDTO result = surgeryService.getSurgeryTrajectory(testSurgeryId, testSurgeonId, "ROLE_SURGEON",
+                new TrajectoryRangeDTO(100L, 200L, null, 0, 0), null, null);
+
+        // Then
+        assertEquals(window, result.movements());
+        assertEquals(testSurgerySession.getStartTime(), result.startTime());
+        verify(surgeryRepository, never()).findById(any());
     }
 
     @Test
-    @DisplayName("saveAiAnalysis - Actualiza análisis existente cuando la cirugía ya tiene análisis previo")
-    void saveAiAnalysis_UpdatesExistingAnalysis_WhenSurgeryHasPreviousAnalysis() {
+    @DisplayName("getSurgeryTrajectory - Con events lee una ventana por evento con su contexto")
+    void getSurgeryTrajectory_ReadsWindowsAroundEvents() {
         // Given
-        AnalysisDTO newAnalysisDTO = new AnalysisDTO(95.0, "Técnica perfecta después de mejora");
-        SurgerySession sessionWithExistingAnalysis = new SurgerySession(
-            testSurgeryId,
-            testSurgeonId,
-            testMovements,
-            startTime,
-            endTime,
-            3600L,
-            80.0, // score existente
-            "Buena técnica" // feedback existente
+        Set<SurgeryEvent> events = Set.of(SurgeryEvent.HEMORRHAGE);
+        when(surgeryRepository.findHeaderById(testSurgeryId)).thenReturn(Optional.of(testSurgerySession));
+        when(surgeryRepository.findEventTimestamps(testSurgeryId, events)).thenReturn(List.of(1000L, 5000L));
+        when(surgeryRepository.findTrajectoryRange(testSurgeryId, 900L, 1200L))
+                .thenReturn(Trajectory.copyOf(testMovements.subList(0, 1)));
+        when(surgeryRepository.findTrajectoryRange(testSurgeryId, 4900L, 5200L))
+                .thenReturn(Trajectory.copyOf(testMovements.subList(2, 3)));
+
+        // When
+        TrajectoryDTO result = surgeryService.getSurgeryTrajectory(testSurgeryId, testSurgeonId, "ROLE_SURGEON",
+                new TrajectoryRangeDTO(null, null, events, 100, 200), null, null);
+
+        // Then
+        assertEquals(List.of(testMovements.get(0), testMovements.get(2)), result.movements());
+    }
+
+    @Test
+    @DisplayName("getSurgeryTrajectory - Lanza InvalidQueryException con from posterior a to o contexto negativo")
+    void getSurgeryTrajectory_ThrowsInvalidQuery_WithInvalidRange() {
+        // When & Then
+        assertThrows(InvalidQueryException.class, () -> surgeryService.getSurgeryTrajectory(testSurgeryId,
+                testSurgeonId, "ROLE_SURGEON", new TrajectoryRangeDTO(200L, 100L, null, 0, 0), null, null));
+        assertThrows(InvalidQueryException.class, () -> surgeryService.getSurgeryTrajectory(testSurgeryId,
+                testSurgeonId, "ROLE_SURGEON", new TrajectoryRangeDTO(null, null, Set.of(SurgeryEvent.HEMORRHAGE), -1, 0), null, null));
+        verifyNoInteractions(surgeryRepository);
+    }
+
+    @Test
+    @DisplayName("listSurgeries - Devuelve el cursor de la última fila cuando hay más páginas")
+    void listSurgeries_ReturnsCursorWhenMoreRowsExist() {
+        // Given - el repositorio devuelve limit + 1 filas
+        List<SurgerySummaryDTO> rows = List.of(
+                new SurgerySummaryDTO(UUID.randomUUID(), endTime, endTime.plusMinutes(30), 1800L, 90.0),
+                new SurgerySummaryDTO(testSurgeryId, startTime, endTime, 3600L, null),
+                new SurgerySummaryDTO(UUID.randomUUID(), startTime.minusDays(1), null, null, null)
         );
+        when(surgeryRepository.findSummaries(testSurgeonId, null, null, 3)).thenReturn(rows);
+        when(surgeryRepository.findSummaries(testSurgeonId, startTime, testSurgeryId, 3)).thenReturn(rows.subList(2, 3));
+
+        // When
+        SurgeryPageDTO first = surgeryService.listSurgeries(testSurgeonId, null, 2);
+        SurgeryPageDTO second = surgeryService.listSurgeries(testSurgeonId, first.nextCursor(), 2);
+
+        // Then
+        assertEquals(rows.subList(0, 2), first.items());
+        assertNotNull(first.nextCursor());
+        assertEquals(rows.subList(2, 3), second.items());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    @DisplayName("listSurgeries - Lanza InvalidQueryException con limit fuera de rango o cursor inválido")
+    void listSurgeries_ThrowsInvalidQuery_WithInvalidParameters() {
+        // When & Then
+        assertThrows(InvalidQueryException.class, () -> surgeryService.listSurgeries(testSurgeonId, null, 0));
+        assertThrows(InvalidQueryException.class, () -> surgeryService.listSurgeries(testSurgeonId, null, 101));
+        assertThrows(InvalidQueryException.class, () -> surgeryService.listSurgeries(testSurgeonId, "no-es-un-cursor", 10));
+        assertThrows(InvalidQueryException.class, () -> surgeryService.listSurgeries(testSurgeonId, "%%%", 10));
+        verifyNoInteractions(surgeryRepository);
+    }
 
-        when(surgeryRepository.findById(testSurgeryId)).thenReturn(Optional.of(sessionWithExistingAnalysis));
-        doNothing().when(surgeryRepository).save(any(SurgerySession.class));
+    @Test
+    @DisplayName("getSurgeryHeader - Valida el acceso solo con la cabecera")
+    void getSurgeryHeader_ChecksAccessWithHeaderOnly() {
+        // Given
+        when(surgeryRepository.findHeaderById(testSurgeryId)).thenReturn(Optional.of(testSurgerySession));
 
         // When
-        assertDoesNotThrow(() -> surgeryService.saveAiAnalysis(testSurgeryId, newAnalysisDTO));
+        SurgerySession result = surgeryService.getSurgeryHeader(testSurgeryId, testSurgeonId, "ROLE_SURGEON");
 
         // Then
-        assertEquals(95.0, sessionWithExistingAnalysis.getScore());
-        assertEquals("Técnica perfecta después de mejora", sessionWithExistingAnalysis.getFeedback());
+        assertSame(testSurgerySession, result);
+        verify(surgeryRepository, never()).findById(any());
+        assertThrows(ForbiddenActionException.class,
+                () -> surgeryService.getSurgeryHeader(testSurgeryId, differentSurgeonId, "ROLE_SURGEON"));
+    }
 
-        verify(surgeryRepository).findById(testSurgeryId);
-        verify(surgeryRepository).save(sessionWithExistingAnalysis);
+    @Test
+    @DisplayName("getSurgeryHeader - Lanza SurgeryNotFoundException cuando la cirugía no existe")
+    void getSurgeryHeader_ThrowsNotFound_WhenSurgeryNotExists() {
+        // Given
+        UUID nonExistentSurgeryId = UUID.randomUUID();
+        when(surgeryRepository.findHeaderById(nonExistentSurgeryId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(SurgeryNotFoundException.class,
+                () -> surgeryService.getSurgeryHeader(nonExistentSurgeryId, testSurgeonId, "ROLE_AI"));
+    }
+
+    @Test
+    @DisplayName("saveAiAnalysis - Actualiza solo score y feedback sin cargar la trayectoria")
+    void saveAiAnalysis_Success_WhenSurgeryExists() {
+        // Given
+        AnalysisDTO analysisDTO = new AnalysisDTO(92.5, "Excelente técnica quirúrgica");
+        when(surgeryRepository.updateAnalysis(testSurgeryId, 92.5, "Excelente técnica quirúrgica")).thenReturn(true);
+
+        // When
+        assertDoesNotThrow(() -> surgeryService.saveAiAnalysis(testSurgeryId, analysisDTO));
+
+        // Then
+        verify(surgeryRepository).updateAnalysis(testSurgeryId, 92.5, "Excelente técnica quirúrgica");
+        verify(surgeryRepository, never()).findById(any());
+        verify(surgeryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("saveAiAnalysis - Lanza SurgeryNotFoundException cuando la cirugía no existe")
+    void saveAiAnalysis_ThrowsNotFound_WhenSurgeryNotExists() {
+        // Given
+        UUID nonExistentSurgeryId = UUID.randomUUID();
+        AnalysisDTO analysisDTO = new AnalysisDTO(75.0, "Técnica mejorada");
+        when(surgeryRepository.updateAnalysis(nonExistentSurgeryId, 75.0, "Técnica mejorada")).thenReturn(false);
+
+        // When & Then
+        SurgeryNotFoundException exception = assertThrows(
+                SurgeryNotFoundException.class,
+                () -> surgeryService.saveAiAnalysis(nonExistentSurgeryId, analysisDTO)
+        );
+
+        assertEquals("La cirugía con id " + nonExistentSurgeryId + " no existe.", exception.getMessage());
+        verify(surgeryRepository, never()).save(any());
     }
 }
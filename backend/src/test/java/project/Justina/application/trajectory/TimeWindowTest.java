@@ -0,0 +1,42 @@
+package project.Justina.application.trajectory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para TimeWindow")
+class TimeWindowTest {
+
+    @Test
+    @DisplayName("around - Une las ventanas que se solapan o se tocan")
+    void around_MergesOverlappingWindows() {
+        // When
+        List<TimeWindow> windows = TimeWindow.around(List.of(1000L, 1500L, 2101L, 9000L), 100, 500, TimeWindow.ALL);
+
+        // Then - [900,1500] y [1400,2000] se solapan; [2001,2601] empieza justo después
+        assertEquals(List.of(new TimeWindow(900, 2601), new TimeWindow(8900, 9500)), windows);
+    }
+
+    @Test
+    @DisplayName("around - Recorta a los límites y descarta eventos fuera de ellos")
+    void around_ClipsToBounds() {
+        // When
+        List<TimeWindow> windows = TimeWindow.around(List.of(1000L, 5000L, 9000L), 200, 200, new TimeWindow(4900, 9100));
+
+        // Then
+        assertEquals(List.of(new TimeWindow(4900, 5200), new TimeWindow(8800, 9100)), windows);
+    }
+
+    @Test
+    @DisplayName("around - No desborda con contexto enorme")
+    void around_DoesNotOverflowWithHugeContext() {
+        // When
+        List<TimeWindow> windows = TimeWindow.around(List.of(10L), Long.MAX_VALUE, Long.MAX_VALUE, TimeWindow.ALL);
+
+        // Then
+        assertEquals(List.of(new TimeWindow(10 - Long.MAX_VALUE, Long.MAX_VALUE)), windows);
+    }
+}
@@ -0,0 +1,107 @@
+package project.Justina.application.trajectory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.Trajectory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para TrajectorySimplifier")
+class TrajectorySimplifierTest {
+
+    @Test
+    @DisplayName("byTolerance - Reduce un tramo recto a sus extremos")
+    void byTolerance_CollapsesStraightLine() {
+        // Given
+        Trajectory line = new Trajectory();
+        for (int i = 0; i < 1000; i++) {
+            line.append(i, 2.0 * i, 0.0, SurgeryEvent.NONE, i + 1);
+        }
+
+        // When
+        Trajectory simplified = TrajectorySimplifier.byTolerance(line, 0.01);
+
+        // Then
+        assertEquals(2, simplified.size());
+        assertEquals(line.get(0), simplified.get(0));
+        assertEquals(line.get(999), simplified.get(1));
+    }
+
+    @Test
+    @DisplayName("byTolerance - Conserva los vértices que se alejan más que la tolerancia")
+    void byTolerance_KeepsVerticesBeyondTolerance() {
+        // Given - una "V" con ruido menor a la tolerancia
+        Trajectory trajectory = new Trajectory();
+        for (int i = 0; i <= 100; i++) {
+            double noise = i % 2 == 0 ? 0.001 : -0.001;
+            trajectory.append2D(i, Math.abs(i - 50) + noise, SurgeryEvent.NONE, i + 1);
+        }
+
+        // When
+        Trajectory simplified = TrajectorySimplifier.byTolerance(trajectory, 0.1);
+
+        // Then
+        assertEquals(3, simplified.size());
+        assertEquals(50.0, simplified.x(1));
+        assertFalse(simplified.is3D(1));
+    }
+
+    @Test
+    @DisplayName("byTolerance - Nunca descarta muestras con eventos")
+    void byTolerance_AlwaysKeepsEvents() {
+        // Given
+        Trajectory line = new Trajectory();
+        for (int i = 0; i < 100; i++) {
+            SurgeryEvent event = i == 37 ? SurgeryEvent.HEMORRHAGE : i == 64 ? SurgeryEvent.KIDNEY_TOUCH : SurgeryEvent.NONE;
+            line.append(i, 0.0, 0.0, event, i + 1);
+        }
+
+        // When
+        Trajectory simplified = TrajectorySimplifier.byTolerance(line, 1.0);
+
+        // Then
+        assertEquals(4, simplified.size());
+        assertEquals(SurgeryEvent.HEMORRHAGE, simplified.event(1));
+        assertEquals(37L + 1, simplified.timestamp(1));
+        assertEquals(SurgeryEvent.KIDNEY_TOUCH, simplified.event(2));
+    }
+
+    @Test
+    @DisplayName("toPointCount - Devuelve a lo sumo maxPoints conservando extremos y eventos")
+    void toPointCount_ReturnsAtMostMaxPointsKeepingEndsAndEvents() {
+        // Given
+        Trajectory trajectory = new Trajectory();
+        for (int i = 0; i < 10_000; i++) {
+            SurgeryEvent event = i % 2500 == 1234 ? SurgeryEvent.TUMOR_REMOVAL : SurgeryEvent.NONE;
+            trajectory.append(Math.sin(i / 100.0), Math.cos(i / 70.0), i / 1000.0, event, i + 1);
+        }
+
+        // When
+        Trajectory simplified = TrajectorySimplifier.toPointCount(trajectory, 100);
+
+        // Then
+        assertTrue(simplified.size() <= 100);
+        assertTrue(simplified.size() >= 90);
+        assertEquals(trajectory.get(0), simplified.get(0));
+        assertEquals(trajectory.get(9_999), simplified.get(simplified.size() - 1));
+        long removals = simplified.stream().filter(m -> m.event() == SurgeryEvent.TUMOR_REMOVAL).count();
+        assertEquals(4, removals);
+        for (int i = 1; i < simplified.size(); i++) {
+            assertTrue(simplified.timestamp(i) > simplified.timestamp(i - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("toPointCount - No modifica trayectorias que ya entran en el límite")
+    void toPointCount_ReturnsSameTrajectory_WhenAlreadySmallEnough() {
+        // Given
+        Trajectory trajectory = new Trajectory();
+        trajectory.append(1.0, 1.0, 1.0, SurgeryEvent.START, 1L);
+        trajectory.append(2.0, 2.0, 2.0, SurgeryEvent.FINISH, 2L);
+
+        // When & Then
+        assertSame(trajectory, TrajectorySimplifier.toPointCount(trajectory, 10));
+        assertSame(trajectory, TrajectorySimplifier.byTolerance(trajectory, 10.0));
+    }
+}
@@ -0,0 +1,83 @@
+package project.Justina.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de Dominio para LiveMetrics")
+class LiveMetricsTest {
+
+    @Test
+    @DisplayName("accept - Actualiza recorrido, velocidad y aceleración con cada muestra")
+    void accept_UpdatesKinematicsPerSample() {
+        // Given
+        LiveMetrics metrics = new LiveMetrics();
+
+        // When - v = [0, 5, 5, 0]
+        metrics.accept(0.0, 0.0, 0.0, SurgeryEvent.START, 1000L);
+        metrics.accept(3.0, 4.0, 0.0, SurgeryEvent.NONE, 2000L);
+        metrics.accept(6.0, 8.0, 0.0, SurgeryEvent.NONE, 3000L);
+        metrics.accept(6.0, 8.0, 0.0, SurgeryEvent.FINISH, 4000L);
+
+        // Then
+        assertEquals(4, metrics.getSamples());
+        assertEquals(3.0, metrics.getDurationSeconds());
+        assertEquals(10.0, metrics.getPathLength());
+        assertEquals(2.5, metrics.getMeanVelocity());
+        assertEquals(25.0 / 3.0, metrics.getVelocityVariance(), 1e-12);
+        assertEquals(0.0, metrics.getCurrentVelocity());
+        assertEquals(5.0, metrics.getMaxAcceleration());
+        assertEquals(5.0, metrics.getMeanJerk());
+    }
+
+    @Test
+    @DisplayName("accept - Trata z = NaN como 0 en muestras 2D")
+    void accept_TreatsNaNZAsZero() {
+        // Given
+        LiveMetrics metrics = new LiveMetrics();
+
+        // When
+        metrics.accept(0.0, 0.0, Double.NaN, SurgeryEvent.START, 1000L);
+        metrics.accept(3.0, 4.0, 0.0, SurgeryEvent.NONE, 2000L);
+        metrics.accept(3.0, 0.0, Double.NaN, SurgeryEvent.NONE, 3000L);
+
+        // Then
+        assertEquals(9.0, metrics.getPathLength());
+        assertEquals(3.0, metrics.getDirectDistance());
+        assertEquals(3.0, metrics.getEconomyOfMotion());
+    }
+
+    @Test
+    @DisplayName("accept - Cuenta los eventos de riesgo")
+    void accept_CountsEvents() {
+        // Given
+        LiveMetrics metrics = new LiveMetrics();
+
+        // When
+        metrics.accept(0.0, 0.0, 0.0, SurgeryEvent.HEMORRHAGE, 1L);
+        metrics.accept(0.0, 0.0, 0.0, SurgeryEvent.HEMORRHAGE, 2L);
+        metrics.accept(0.0, 0.0, 0.0, SurgeryEvent.KIDNEY_TOUCH, 3L);
+        metrics.accept(0.0, 0.0, 0.0, SurgeryEvent.TUMOR_REMOVAL, 4L);
+
+        // Then
+        assertEquals(2, metrics.getEventCount(SurgeryEvent.HEMORRHAGE));
+        assertEquals(1, metrics.getEventCount(SurgeryEvent.KIDNEY_TOUCH));
+        assertEquals(1, metrics.getEventCount(SurgeryEvent.TUMOR_REMOVAL));
+        assertEquals(0, metrics.getEventCount(SurgeryEvent.TUMOR_TOUCH));
+    }
+
+    @Test
+    @DisplayName("getters - Sin muestras devuelven valores neutros")
+    void getters_ReturnNeutralValues_WhenEmpty() {
+        // Given
+        LiveMetrics metrics = new LiveMetrics();
+
+        // When & Then
+        assertEquals(0, metrics.getSamples());
+        assertEquals(0.0, metrics.getDurationSeconds());
+        assertEquals(1.0, metrics.getEconomyOfMotion());
+        assertEquals(0.0, metrics.getVelocityVariance());
+        assertEquals(0.0, metrics.getMeanJerk());
+    }
+}
@@ -207,15 +207,14 @@ class MovementTest {
         Movement firstMovement = new Movement(testCoordinates2D, testEvent, testTimestamp);
         Movement secondMovement = new Movement(testCoordinates2D.clone(), testEvent, testTimestamp);
 
-        // When & Then - Los records implementan equals() automáticamente
-        // Pero los arrays se comparan por referencia, no por contenido
+        // When & Then - equals() compara el contenido de las coordenadas, no la referencia del array
         assertEquals(testEvent, secondMovement.event());
         assertEquals(testTimestamp, secondMovement.timestamp());
         assertArrayEquals(testCoordinates2D, secondMovement.coordinates());
-        
-        // Los movimientos no son iguales porque los arrays tienen referencias diferentes
-        assertNotEquals(firstMovement, secondMovement);
-        assertNotEquals(firstMovement.hashCode(), secondMovement.hashCode());
+
+        // Los movimientos son iguales aunque los arrays tengan referencias diferentes
+        assertEquals(firstMovement, secondMovement);
+        assertEquals(firstMovement.hashCode(), secondMovement.hashCode());
     }
 
     @Test
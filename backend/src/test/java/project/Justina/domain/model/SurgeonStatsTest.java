@@ -0,0 +1,91 @@
+package project.Justina.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de Dominio para SurgeonStats")
+class SurgeonStatsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    @Test
+    @DisplayName("empty - Sin cirugías no hay promedios ni tasas")
+    void empty_HasNoAveragesOrRates() {
+        // When
+        SurgeonStats stats = SurgeonStats.empty(UUID.randomUUID());
+
+        // Then
+        assertEquals(0, stats.sessions());
+        assertNull(stats.averageScore());
+        assertNull(stats.scoreStdDev());
+        assertNull(stats.scoreTrendPerDay());
+        assertNull(stats.hemorrhagesPerSession());
+        assertNull(stats.averageDurationSeconds());
+    }
+
+    @Test
+    @DisplayName("averageScore/scoreStdDev - Salen de las sumas acumuladas")
+    void averageAndStdDev_ComeFromSums() {
+        // Given: scores 70, 80 y 90 el mismo día
+        SurgeonStats stats = scored(new double[]{70, 80, 90}, new double[]{0, 0, 0});
+
+        // Then
+        assertEquals(80.0, stats.averageScore(), 1e-9);
+        assertEquals(Math.sqrt(200.0 / 3), stats.scoreStdDev(), 1e-9);
+        assertNull(stats.scoreTrendPerDay());
+    }
+
+    @Test
+    @DisplayName("scoreTrendPerDay - Es la pendiente de mínimos cuadrados contra la fecha")
+    void scoreTrendPerDay_IsLeastSquaresSlope() {
+        // Given: +5 puntos por día, con un poco de ruido simétrico
+        SurgeonStats stats = scored(new double[]{60, 66, 69, 75}, new double[]{0, 1, 2, 3});
+
+        // Then: pendiente exacta de (0,60) (1,66) (2,69) (3,75)
+        assertEquals(4.8, stats.scoreTrendPerDay(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("scoreTrendPerDay - Es null si los scores caen en la misma hora")
+    void scoreTrendPerDay_IsNullWithinSameHour() {
+        // Given: dos cirugías separadas por 10 minutos
+        SurgeonStats stats = scored(new double[]{50, 90}, new double[]{0, 10.0 / (24 * 60)});
+
+        // Then
+        assertNull(stats.scoreTrendPerDay());
+    }
+
+    @Test
+    @DisplayName("perSession - Promedia eventos y duración por cirugía terminada")
+    void perSession_AveragesEventsAndDuration() {
+        // Given
+        SurgeonStats stats = new SurgeonStats(UUID.randomUUID(), 4, 4800, 6, 2, 3,
+                0, 0, 0, 0, 0, 0, null, null, null);
+
+        // Then
+        assertEquals(1200.0, stats.averageDurationSeconds());
+        assertEquals(1.5, stats.hemorrhagesPerSession());
+        assertEquals(0.5, stats.kidneyTouchesPerSession());
+        assertEquals(0.75, stats.tumorRemovalsPerSession());
+    }
+
+    // Acumula las sumas como lo hace surgeon_stats, con fechas en días desde BASE
+    private static SurgeonStats scored(double[] scores, double[] days) {
+        double sum = 0, squares = 0, xSum = 0, xxSum = 0, xySum = 0;
+        for (int i = 0; i < scores.length; i++) {
+            double x = SurgeonStats.trendX(BASE.plusSeconds(Math.round(days[i] * 86_400)));
+            sum += scores[i];
+            squares += scores[i] * scores[i];
+            xSum += x;
+            xxSum += x * x;
+            xySum += x * scores[i];
+        }
+        return new SurgeonStats(UUID.randomUUID(), scores.length, 0, 0, 0, 0,
+                scores.length, sum, squares, xSum, xxSum, xySum, null, scores[scores.length - 1], BASE);
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -136,17 +137,14 @@ class SurgerySessionTest {
     }
 
     @Test
-    @DisplayName("addMovement - Permite movimientos nulos")
-    void addMovement_AllowsNullMovements() {
+    @DisplayName("addMovement - Rechaza movimientos nulos")
+    void addMovement_RejectsNullMovements() {
         // Given
         SurgerySession session = new SurgerySession(surgeonId);
 
-        // When
-        session.addMovement(null);
-
-        // Then
-        assertEquals(1, session.getTrajectory().size());
-        assertNull(session.getTrajectory().get(0));
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> session.addMovement(null));
+        assertEquals(0, session.getTrajectory().size());
     }
 
     @Test
@@ -271,4 +269,104 @@ class SurgerySessionTest {
         assertTrue(session.getScore() >= 0 && session.getScore() <= 100);
         assertNotNull(session.getFeedback());
     }
+
+    @Test
+    @DisplayName("takePendingSamples - Libera de memoria el tramo y confirmChunk avanza el número de chunk")
+    void takePendingSamples_ReleasesSamplesAndConfirmChunkAdvancesSequence() {
+        // Given
+        SurgerySession session = new SurgerySession(surgeonId);
+        session.addMovement(testMovement);
+        session.addSample(4.0, 5.0, Double.NaN, SurgeryEvent.NONE, 2L);
+
+        // When
+        Trajectory chunk = session.takePendingSamples();
+
+        // Then
+        assertEquals(2, chunk.size());
+        assertEquals(testMovement, chunk.get(0));
+        assertEquals(0, session.getPendingSamples());
+        assertTrue(session.getTrajectory().isEmpty());
+        assertEquals(0, session.getChunkCount());
+
+        // When
+        session.confirmChunk();
+
+        // Then
+        assertEquals(1, session.getChunkCount());
+    }
+
+    @Test
+    @DisplayName("restorePendingSamples - Devuelve el tramo tomado delante de lo recibido mientras tanto")
+    void restorePendingSamples_PutsChunkBeforeNewerSamples() {
+        // Given
+        SurgerySession session = new SurgerySession(surgeonId);
+        session.addMovement(testMovement);
+        Trajectory chunk = session.takePendingSamples();
+        session.addSample(4.0, 5.0, Double.NaN, SurgeryEvent.NONE, 2L);
+
+        // When
+        session.restorePendingSamples(chunk);
+
+        // Then
+        assertEquals(2, session.getPendingSamples());
+        assertEquals(testMovement, session.getTrajectory().get(0));
+        assertEquals(2L, session.getTrajectory().get(1).timestamp());
+        assertEquals(0, session.getChunkCount());
+    }
+
+    @Test
+    @DisplayName("getPendingSamples - Una cirugía recuperada de DB no tiene muestras pendientes")
+    void getPendingSamples_IsZero_ForSessionLoadedFromDatabase() {
+        // When
+        SurgerySession session = new SurgerySession(sessionId, surgeonId, List.of(testMovement), testStartTime,
+                testStartTime.plusHours(1), 3600L, null, null);
+
+        // Then
+        assertEquals(0, session.getPendingSamples());
+        assertEquals(1, session.getTrajectory().size());
+    }
+
+    @Test
+    @DisplayName("addMovement/addSample/addSamples - Alimentan las métricas en vivo y los acumuladores agregados")
+    void addMethods_FeedLiveMetricsAndPluggedAccumulators() {
+        // Given
+        SurgerySession session = new SurgerySession(surgeonId);
+        List<SurgeryEvent> seen = new ArrayList<>();
+        session.addAccumulator((x, y, z, event, timestamp) -> seen.add(event));
+        Trajectory batch = new Trajectory();
+        batch.append2D(3.0, 4.0, SurgeryEvent.HEMORRHAGE, 2000L);
+        batch.append(3.0, 4.0, 12.0, SurgeryEvent.KIDNEY_TOUCH, 3000L);
+
+        // When
+        session.addMovement(new Movement(new double[]{0.0, 0.0}, SurgeryEvent.START, 1000L));
+        session.addSamples(batch, 0, 2);
+        session.addSample(3.0, 4.0, 12.0, SurgeryEvent.FINISH, 4000L);
+
+        // Then
+        LiveMetrics metrics = session.getLiveMetrics();
+        assertEquals(4, metrics.getSamples());
+        assertEquals(17.0, metrics.getPathLength());
+        assertEquals(1, metrics.getEventCount(SurgeryEvent.HEMORRHAGE));
+        assertEquals(1, metrics.getEventCount(SurgeryEvent.KIDNEY_TOUCH));
+        assertEquals(List.of(SurgeryEvent.START, SurgeryEvent.HEMORRHAGE, SurgeryEvent.KIDNEY_TOUCH, SurgeryEvent.FINISH), seen);
+    }
+
+    @Test
+    @DisplayName("getLiveMetrics - Se conservan aunque la trayectoria pase a chunks")
+    void getLiveMetrics_SurviveChunkPersistence() {
+        // Given
+        SurgerySession session = new SurgerySession(surgeonId);
+        session.addSample(0.0, 0.0, 0.0, SurgeryEvent.START, 1000L);
+        session.addSample(0.0, 0.0, 2.0, SurgeryEvent.NONE, 2000L);
+
+        // When
+        session.takePendingSamples();
+        session.confirmChunk();
+        session.addSample(0.0, 0.0, 5.0, SurgeryEvent.FINISH, 3000L);
+
+        // Then
+        assertEquals(1, session.getTrajectory().size());
+        assertEquals(3, session.getLiveMetrics().getSamples());
+        assertEquals(5.0, session.getLiveMetrics().getPathLength());
+    }
 }
@@ -0,0 +1,147 @@
+package project.Justina.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de Dominio para Trajectory")
+class TrajectoryTest {
+
+    @Test
+    @DisplayName("append - Guarda la muestra en columnas primitivas")
+    void append_StoresSampleInColumns() {
+        // Given
+        Trajectory trajectory = new Trajectory();
+
+        // When
+        trajectory.append(1.0, 2.0, 3.0, SurgeryEvent.HEMORRHAGE, 1000L);
+
+        // Then
+        assertEquals(1, trajectory.size());
+        assertEquals(1.0, trajectory.x(0));
+        assertEquals(2.0, trajectory.y(0));
+        assertEquals(3.0, trajectory.z(0));
+        assertTrue(trajectory.is3D(0));
+        assertEquals(SurgeryEvent.HEMORRHAGE, trajectory.event(0));
+        assertEquals(1000L, trajectory.timestamp(0));
+    }
+
+    @Test
+    @DisplayName("get - Reconstruye el Movement preservando 2D y 3D")
+    void get_RebuildsMovementPreservingDimensions() {
+        // Given
+        Movement movement2D = new Movement(new double[]{1.0, 2.0}, SurgeryEvent.NONE, 10L);
+        Movement movement3D = new Movement(new double[]{4.0, 5.0, 6.0}, SurgeryEvent.FINISH, 20L);
+        Trajectory trajectory = new Trajectory();
+
+        // When
+        trajectory.add(movement2D);
+        trajectory.add(movement3D);
+
+        // Then
+        assertEquals(movement2D, trajectory.get(0));
+        assertEquals(movement3D, trajectory.get(1));
+        assertArrayEquals(new double[]{1.0, 2.0}, trajectory.get(0).coordinates());
+        assertFalse(trajectory.is3D(0));
+        assertEquals(0.0, trajectory.z(0));
+    }
+
+    @Test
+    @DisplayName("append - Crece por encima de la capacidad inicial")
+    void append_GrowsBeyondInitialCapacity() {
+        // Given
+        Trajectory trajectory = new Trajectory(2);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            trajectory.append(i, i, i, SurgeryEvent.NONE, i + 1);
+        }
+
+        // Then
+        assertEquals(1000, trajectory.size());
+        assertEquals(999.0, trajectory.x(999));
+        assertEquals(1000L, trajectory.timestamp(999));
+    }
+
+    @Test
+    @DisplayName("copyOf - Copia una lista y reutiliza instancias columnares")
+    void copyOf_CopiesListAndReusesTrajectory() {
+        // Given
+        List<Movement> movements = List.of(
+                new Movement(new double[]{1.0, 2.0, 3.0}, SurgeryEvent.START, 1L),
+                new Movement(new double[]{1.5, 2.5, 3.5}, SurgeryEvent.TUMOR_TOUCH, 2L)
+        );
+
+        // When
+        Trajectory copy = Trajectory.copyOf(movements);
+
+        // Then
+        assertEquals(movements, copy);
+        assertSame(copy, Trajectory.copyOf(copy));
+        assertTrue(Trajectory.copyOf(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("add - Rechaza coordenadas con tamaño inválido")
+    void add_RejectsInvalidCoordinates() {
+        // Given
+        Trajectory trajectory = new Trajectory();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> trajectory.add(new Movement(new double[]{1.0}, SurgeryEvent.NONE, 1L)));
+        assertThrows(IllegalArgumentException.class,
+                () -> trajectory.add(new Movement(new double[]{1.0, 2.0, 3.0}, null, 1L)));
+        assertTrue(trajectory.isEmpty());
+    }
+
+    @Test
+    @DisplayName("get - Lanza excepción con índice fuera de rango")
+    void get_ThrowsWhenIndexOutOfBounds() {
+        // Given
+        Trajectory trajectory = new Trajectory();
+
+        // When & Then
+        assertThrows(IndexOutOfBoundsException.class, () -> trajectory.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> trajectory.x(-1));
+    }
+
+    @Test
+    @DisplayName("appendRange - Copia en bloque un rango de otra trayectoria")
+    void appendRange_CopiesRangeFromAnotherTrajectory() {
+        // Given
+        Trajectory batch = new Trajectory();
+        batch.append(1.0, 1.0, 1.0, SurgeryEvent.START, 1L);
+        batch.append2D(2.0, 2.0, SurgeryEvent.FINISH, 2L);
+        batch.append(3.0, 3.0, 3.0, SurgeryEvent.NONE, 3L);
+        Trajectory trajectory = new Trajectory(1);
+
+        // When
+        trajectory.appendRange(batch, 0, 2);
+
+        // Then
+        assertEquals(batch.subList(0, 2), trajectory);
+        assertEquals(1, batch.indexOfEvent(SurgeryEvent.FINISH, 0));
+        assertEquals(-1, batch.indexOfEvent(SurgeryEvent.FINISH, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> trajectory.appendRange(batch, 2, 4));
+    }
+
+    @Test
+    @DisplayName("clear - Vacía la trayectoria y permite reutilizarla")
+    void clear_EmptiesAndAllowsReuse() {
+        // Given
+        Trajectory trajectory = new Trajectory();
+        trajectory.append(1.0, 2.0, 3.0, SurgeryEvent.START, 1L);
+
+        // When
+        trajectory.clear();
+        trajectory.append(4.0, 5.0, 6.0, SurgeryEvent.NONE, 2L);
+
+        // Then
+        assertEquals(1, trajectory.size());
+        assertEquals(4.0, trajectory.x(0));
+    }
+}
@@ -0,0 +1,92 @@
+package project.Justina.infrastructure.adapter.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.Trajectory;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para CompactTrajectoryCodec")
+class CompactTrajectoryCodecTest {
+
+    @Test
+    @DisplayName("encode/decode - Sin cuantizar recupera exactamente cada muestra")
+    void roundTrip_IsLosslessWithoutQuantum() {
+        // Given - 2D y 3D mezclados, eventos y timestamps irregulares (incluso hacia atrás)
+        Random random = new Random(42);
+        Trajectory samples = new Trajectory();
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < 2000; i++) {
+            timestamp += random.nextInt(5) == 0 ? random.nextInt(200) - 50 : 16;
+            SurgeryEvent event = i % 97 == 0 ? SurgeryEvent.HEMORRHAGE : SurgeryEvent.NONE;
+            if (i % 300 < 20) {
+                samples.append2D(random.nextGaussian() * 100, -i * 0.1, event, timestamp);
+            } else {
+                samples.append(Math.sin(i * 0.01) * 50, i * 0.25, random.nextDouble(), event, timestamp);
+            }
+        }
+
+        // When
+        Trajectory decoded = CompactTrajectoryCodec.decode(CompactTrajectoryCodec.encode(samples, 0));
+
+        // Then
+        assertEquals(samples, decoded);
+    }
+
+    @Test
+    @DisplayName("encode/decode - Cuantizado queda a menos de medio quantum y ocupa 10 veces menos que el JSON")
+    void roundTrip_QuantizedIsCloseAndSmall() {
+        // Given - movimiento suave a ~60 Hz, como el del simulador
+        Trajectory samples = new Trajectory();
+        for (int i = 0; i < 512; i++) {
+            double t = i / 60.0;
+            samples.append(10 * Math.cos(t) + 0.0123456789, 10 * Math.sin(t), 0.5 * t,
+                    i == 0 ? SurgeryEvent.START : SurgeryEvent.NONE, 1_700_000_000_000L + i * 16L);
+        }
+        double quantum = 0.0001;
+
+        // When
+        byte[] packed = CompactTrajectoryCodec.encode(samples, quantum);
+        Trajectory decoded = CompactTrajectoryCodec.decode(packed);
+
+        // Then
+        assertEquals(samples.size(), decoded.size());
+        for (int i = 0; i < samples.size(); i++) {
+            assertEquals(samples.x(i), decoded.x(i), quantum / 2);
+            assertEquals(samples.y(i), decoded.y(i), quantum / 2);
+            assertEquals(samples.z(i), decoded.z(i), quantum / 2);
+            assertEquals(samples.event(i), decoded.event(i));
+            assertEquals(samples.timestamp(i), decoded.timestamp(i));
+        }
+        int json = JsonMapper.builder().build().writeValueAsBytes(samples).length;
+        assertTrue(packed.length * 10 < json, "bytea " + packed.length + " vs jsonb " + json);
+    }
+
+    @Test
+    @DisplayName("encode - Con valores no finitos no cuantiza y conserva los bits")
+    void encode_FallsBackToLosslessWithNonFiniteValues() {
+        // Given
+        Trajectory samples = new Trajectory();
+        samples.append(1.0, Double.POSITIVE_INFINITY, 3.0, SurgeryEvent.NONE, 1L);
+        samples.append2D(1e300, -0.0, SurgeryEvent.FINISH, 2L);
+
+        // When
+        Trajectory decoded = CompactTrajectoryCodec.decode(CompactTrajectoryCodec.encode(samples, 0.001));
+
+        // Then
+        assertEquals(samples, decoded);
+        assertFalse(decoded.is3D(1));
+    }
+
+    @Test
+    @DisplayName("decode - Trayectoria vacía y datos con versión desconocida")
+    void decode_HandlesEmptyAndRejectsUnknownVersion() {
+        // When & Then
+        assertTrue(CompactTrajectoryCodec.decode(CompactTrajectoryCodec.encode(new Trajectory(), 0)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> CompactTrajectoryCodec.decode(new byte[]{9, 0, 0}));
+    }
+}
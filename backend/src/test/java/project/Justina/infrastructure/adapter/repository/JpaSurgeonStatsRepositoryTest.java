@@ -0,0 +1,43 @@
+package project.Justina.infrastructure.adapter.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+import project.Justina.infrastructure.adapter.entity.SurgeonStatsEntity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Corre contra la H2 de application-test.properties (MODE=PostgreSQL), no contra la base embebida por defecto
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("Tests de Integración para JpaSurgeonStatsRepository")
+class JpaSurgeonStatsRepositoryTest {
+
+    @Autowired
+    private JpaSurgeonStatsRepository statsRepository;
+
+    @Test
+    @DisplayName("insertIfAbsent - Con la fila ya creada no inserta ni falla por clave duplicada")
+    void insertIfAbsent_DoesNothing_WhenRowAlreadyExists() {
+        // Given
+        UUID surgeonId = UUID.randomUUID();
+        assertEquals(1, statsRepository.insertIfAbsent(surgeonId));
+
+        // When
+        int inserted = statsRepository.insertIfAbsent(surgeonId);
+
+        // Then
+        assertEquals(0, inserted);
+        assertEquals(1, statsRepository.addSession(surgeonId, 60, 1, 0, 0, LocalDateTime.now()));
+        SurgeonStatsEntity stats = statsRepository.findById(surgeonId).orElseThrow();
+        assertEquals(1, stats.getSessions());
+        assertEquals(60, stats.getTotalDurationSeconds());
+    }
+}
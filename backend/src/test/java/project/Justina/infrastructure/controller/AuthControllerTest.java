@@ -13,9 +13,16 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import project.Justina.application.service.AuthService;
 import project.Justina.domain.dto.LoginRequestDTO;
+import project.Justina.domain.dto.RefreshRequestDTO;
+import project.Justina.domain.exception.ServiceOverloadedException;
+import project.Justina.infrastructure.security.JwtService;
+import project.Justina.infrastructure.security.TokenRevocationList;
 
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,6 +37,12 @@ class AuthControllerTest {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
     
@@ -101,6 +114,25 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.message").value("Usuario registrado con éxito"));
     }
 
+    @Test
+    @DisplayName("register - Retorna 503 si el pool de hashing está saturado")
+    void register_Returns503_WhenPasswordHashingIsOverloaded() throws Exception {
+        // Given - el servicio rechaza el hash por falta de lugar
+        AuthService overloaded = mock(AuthService.class);
+        doThrow(new ServiceOverloadedException("Servidor ocupado, reintente en unos segundos"))
+                .when(overloaded).register("newuser503", "newpassword123");
+        MockMvc standalone = MockMvcBuilders.standaloneSetup(new AuthController(overloaded))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        // When & Then
+        standalone.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequestDTO("newuser503", "newpassword123"))))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("Servidor ocupado, reintente en unos segundos"));
+    }
+
     @Test
     @DisplayName("register - Retorna 400 cuando usuario ya existe")
     void register_Returns400_WithExistingUser() throws Exception {
@@ -177,4 +209,51 @@ class AuthControllerTest {
                 .content("{invalid json}"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("logout - Revoca el token, borra la cookie y el token queda rechazado")
+    void logout_RevokesTokenAndClearsCookie() throws Exception {
+        // Given
+        LoginRequestDTO request = new LoginRequestDTO("logout_surgeon", testPassword);
+        authService.register(request.username(), request.password());
+        String token = authService.login(request.username(), request.password()).token();
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/auth/logout")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(cookie().maxAge("jwt-token", 0))
+                .andExpect(jsonPath("$.message").value("Sesión cerrada"));
+
+        assertTrue(revocationList.isRevoked(jwtService.verifyAndDecode(token)));
+    }
+
+    @Test
+    @DisplayName("refresh - Rota el refresh token y reusar el anterior cierra toda la sesión")
+    void refresh_RotatesToken_AndReuseRevokesFamily() throws Exception {
+        // Given
+        authService.register("refresh_surgeon", testPassword);
+        String first = authService.login("refresh_surgeon", testPassword).refreshToken();
+
+        // When: el primer refresh rota
+        String response = mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequestDTO(first))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists())
+                .andExpect(jsonPath("$.message").value("Token renovado"))
+                .andExpect(cookie().path("refresh-token", "/api/v1/auth"))
+                .andReturn().getResponse().getContentAsString();
+        String second = objectMapper.readTree(response).get("refreshToken").asText();
+
+        // Then: el anterior ya no sirve y, al reusarlo, tampoco el nuevo
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequestDTO(first))))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshRequestDTO(second))))
+                .andExpect(status().isUnauthorized());
+    }
 }
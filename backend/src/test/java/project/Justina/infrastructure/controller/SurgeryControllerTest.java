@@ -10,11 +10,15 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import project.Justina.application.service.AuthService;
+import project.Justina.application.service.LeaderboardService;
 import project.Justina.application.service.SurgeryService;
 import project.Justina.domain.dto.AnalysisDTO;
+import project.Justina.domain.model.Movement;
+import project.Justina.domain.model.SurgeryEvent;
 import project.Justina.domain.model.SurgerySession;
 import project.Justina.domain.repository.SurgeryRepository;
 import project.Justina.domain.repository.UserRepository;
@@ -23,6 +27,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -42,6 +47,9 @@ class SurgeryControllerTest {
     @Autowired
     private SurgeryService surgeryService;
 
+    @Autowired
+    private LeaderboardService leaderboardService;
+
     @Autowired
     private SurgeryRepository surgeryRepository;
 
@@ -220,6 +228,28 @@ class SurgeryControllerTest {
                 .andExpect(status().isNoContent()); // Ahora sí encontrará la cirugía y devolverá 204
     }
 
+    @Test
+    @WithMockUser(roles = {"AI"})
+    @DisplayName("saveAnalysis - Guarda score y feedback conservando la trayectoria")
+    void saveAnalysis_UpdatesHeaderAndKeepsTrajectory() throws Exception {
+        // GIVEN
+        SurgerySession session = givenChunkedSurgery(3);
+
+        // WHEN
+        mockMvc.perform(post("/api/v1/surgeries/{id}/analysis", session.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testAnalysisDTO))
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+
+        // THEN
+        SurgerySession saved = surgeryRepository.findById(session.getId()).orElseThrow();
+        assertEquals(85.5, saved.getScore());
+        assertEquals("Buena precisión en los movimientos", saved.getFeedback());
+        assertEquals(6, saved.getTrajectory().size());
+        assertEquals(session.getSurgeonId(), saved.getSurgeonId());
+    }
+
     @Test
     @WithMockUser(roles = {"AI"}) // Usamos AI para que Spring nos deje pasar al controlador
     @DisplayName("saveAnalysis - Retorna 400 con JSON malformado")
@@ -267,4 +297,260 @@ class SurgeryControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.error").value("La cirugía con id " + nonExistentId + " no existe."));
     }
+
+    @Test
+    @DisplayName("streamTrajectory - Exporta en NDJSON todos los chunks en orden")
+    void streamTrajectory_WritesNdjsonAcrossPages() throws Exception {
+        // GIVEN: una cirugía con más chunks que los de una página de exportación
+        SurgerySession session = givenChunkedSurgery(20);
+
+        // WHEN
+        MvcResult pending = mockMvc.perform(get("/api/v1/surgeries/{id}/trajectory/stream", session.getId())
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // THEN
+        String body = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(40, lines.length);
+        assertEquals("{\"coordinates\":[0.0,0.0,0.0],\"event\":\"START\",\"timestamp\":1}", lines[0]);
+        assertEquals("{\"coordinates\":[39.0,39.0],\"event\":\"FINISH\",\"timestamp\":40}", lines[39]);
+    }
+
+    @Test
+    @DisplayName("streamTrajectory - Exporta en JSON con el mismo formato que /trajectory")
+    void streamTrajectory_WritesJsonLikeTrajectoryDTO() throws Exception {
+        // GIVEN
+        SurgerySession session = givenChunkedSurgery(3);
+
+        // WHEN
+        MvcResult pending = mockMvc.perform(get("/api/v1/surgeries/{id}/trajectory/stream", session.getId())
+                        .param("format", "json")
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // THEN
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.surgeryId").value(session.getId().toString()))
+                .andExpect(jsonPath("$.movements.length()").value(6))
+                .andExpect(jsonPath("$.movements[5].event").value("FINISH"))
+                .andExpect(jsonPath("$.score").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("streamTrajectory - Retorna 403 antes de escribir si el usuario no es dueño")
+    void streamTrajectory_Returns403_WithDifferentUser() throws Exception {
+        // GIVEN
+        SurgerySession session = givenChunkedSurgery(1);
+        String differentUsername = "surgeon3_" + System.currentTimeMillis();
+        authService.register(differentUsername, "password789");
+        String differentToken = authService.login(differentUsername, "password789").token();
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/v1/surgeries/{id}/trajectory/stream", session.getId())
+                        .header("Authorization", "Bearer " + differentToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("streamTrajectory - Retorna 400 con formato desconocido")
+    void streamTrajectory_Returns400_WithUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/surgeries/{id}/trajectory/stream", testSurgeryId)
+                        .param("format", "csv")
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("getTrajectory - Con from/to devuelve solo las muestras de la ventana")
+    void getTrajectory_ReturnsTimeWindow() throws Exception {
+        // GIVEN: 40 muestras con timestamps 1..40 en 20 chunks
+        SurgerySession session = givenChunkedSurgery(20);
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/v1/surgeries/{id}/trajectory", session.getId())
+                        .param("from", "10")
+                        .param("to", "14")
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movements.length()").value(5))
+                .andExpect(jsonPath("$.movements[0].timestamp").value(10))
+                .andExpect(jsonPath("$.movements[4].timestamp").value(14));
+    }
+
+    @Test
+    @DisplayName("getTrajectory - Con events devuelve el contexto alrededor de cada evento")
+    void getTrajectory_ReturnsContextAroundEvents() throws Exception {
+        // GIVEN: START en t=1 y FINISH en t=40
+        SurgerySession session = givenChunkedSurgery(20);
+
+        // WHEN & THEN - 2 ms después de START y 3 ms antes de FINISH
+        mockMvc.perform(get("/api/v1/surgeries/{id}/trajectory", session.getId())
+                        .param("events", "START,FINISH")
+                        .param("before", "3")
+                        .param("after", "2")
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movements.length()").value(7))
+                .andExpect(jsonPath("$.movements[0].event").value("START"))
+                .andExpect(jsonPath("$.movements[2].timestamp").value(3))
+                .andExpect(jsonPath("$.movements[3].timestamp").value(37))
+                .andExpect(jsonPath("$.movements[6].event").value("FINISH"));
+    }
+
+    @Test
+    @DisplayName("getTrajectory - Retorna 400 con un evento desconocido")
+    void getTrajectory_Returns400_WithUnknownEvent() throws Exception {
+        mockMvc.perform(get("/api/v1/surgeries/{id}/trajectory", testSurgeryId)
+                        .param("events", "EXPLOSION")
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Valor inválido para el parámetro events"));
+    }
+
+    @Test
+    @DisplayName("listSurgeries - Pagina el historial del cirujano con cursor, más recientes primero")
+    void listSurgeries_PagesHistoryWithCursor() throws Exception {
+        // GIVEN: 5 cirugías del usuario y 1 de otro cirujano
+        UUID ownerId = userRepository.findByUsername(testUsername).get().getId();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 10, 0);
+        for (int i = 0; i < 5; i++) {
+            surgeryRepository.save(new SurgerySession(UUID.randomUUID(), ownerId, List.of(),
+                    base.plusDays(i), base.plusDays(i).plusHours(1), 3600L, 80.0 + i, null));
+        }
+        surgeryRepository.save(new SurgerySession(UUID.randomUUID(), UUID.randomUUID(), List.of(),
+                base.plusDays(10), null, null, null, null));
+
+        // WHEN: primera página
+        String first = mockMvc.perform(get("/api/v1/surgeries")
+                        .param("limit", "2")
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].score").value(84.0))
+                .andExpect(jsonPath("$.items[1].score").value(83.0))
+                .andExpect(jsonPath("$.items[0].trajectory").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+        // THEN: las siguientes siguen desde el cursor hasta agotar el historial
+        String second = mockMvc.perform(get("/api/v1/surgeries")
+                        .param("limit", "2")
+                        .param("cursor", cursor)
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].score").value(82.0))
+                .andExpect(jsonPath("$.items[1].score").value(81.0))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/v1/surgeries")
+                        .param("limit", "2")
+                        .param("cursor", objectMapper.readTree(second).get("nextCursor").asText())
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].score").value(80.0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("getSurgeonStats - Acumula cirugías terminadas y scores sin contarlos dos veces")
+    void getSurgeonStats_AccumulatesFinishedSessionsAndScores() throws Exception {
+        // GIVEN: dos cirugías terminadas; la primera se vuelve a guardar y su análisis se reemplaza
+        UUID ownerId = userRepository.findByUsername(testUsername).get().getId();
+        SurgerySession first = givenFinishedSurgery(ownerId,
+                SurgeryEvent.HEMORRHAGE, SurgeryEvent.HEMORRHAGE, SurgeryEvent.KIDNEY_TOUCH);
+        SurgerySession second = givenFinishedSurgery(ownerId, SurgeryEvent.TUMOR_REMOVAL);
+        surgeryRepository.save(first);
+        surgeryService.saveAiAnalysis(first.getId(), new AnalysisDTO(70.0, "Primer análisis"));
+        surgeryService.saveAiAnalysis(first.getId(), new AnalysisDTO(80.0, "Análisis corregido"));
+        surgeryService.saveAiAnalysis(second.getId(), new AnalysisDTO(90.0, "Segundo análisis"));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/v1/surgeons/{id}/stats", ownerId)
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sessions").value(2))
+                .andExpect(jsonPath("$.scoredSessions").value(2))
+                .andExpect(jsonPath("$.averageScore").value(85.0))
+                .andExpect(jsonPath("$.bestScore").value(90.0))
+                .andExpect(jsonPath("$.lastScore").value(90.0))
+                .andExpect(jsonPath("$.hemorrhagesPerSession").value(1.0))
+                .andExpect(jsonPath("$.kidneyTouchesPerSession").value(0.5))
+                .andExpect(jsonPath("$.tumorRemovalsPerSession").value(0.5));
+    }
+
+    @Test
+    @DisplayName("getSurgeonStats - Retorna 403 para las estadísticas de otro cirujano")
+    void getSurgeonStats_Returns403_WithDifferentSurgeon() throws Exception {
+        mockMvc.perform(get("/api/v1/surgeons/{id}/stats", UUID.randomUUID())
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("getLeaderboard - Ubica al cirujano autenticado en el ranking refrescado")
+    void getLeaderboard_ShowsAuthenticatedSurgeonAfterRefresh() throws Exception {
+        // GIVEN
+        UUID ownerId = userRepository.findByUsername(testUsername).get().getId();
+        SurgerySession session = givenFinishedSurgery(ownerId);
+        surgeryService.saveAiAnalysis(session.getId(), new AnalysisDTO(100.0, "Perfecta"));
+        leaderboardService.refresh();
+
+        // WHEN & THEN
+        mockMvc.perform(get("/api/v1/surgeons/leaderboard")
+                        .param("metric", "BEST_SCORE")
+                        .param("limit", "5")
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.metric").value("BEST_SCORE"))
+                .andExpect(jsonPath("$.entries[0].value").value(100.0))
+                .andExpect(jsonPath("$.me.rank").value(1))
+                .andExpect(jsonPath("$.me.username").value(testUsername))
+                .andExpect(jsonPath("$.me.sessions").value(1));
+    }
+
+    @Test
+    @DisplayName("getLeaderboard - Retorna 400 con una métrica desconocida")
+    void getLeaderboard_Returns400_WithUnknownMetric() throws Exception {
+        mockMvc.perform(get("/api/v1/surgeons/leaderboard")
+                        .param("metric", "SPEED")
+                        .header("Authorization", "Bearer " + validToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Cirugía terminada con los eventos dados: START en un chunk, el resto y FINISH en el guardado final
+    private SurgerySession givenFinishedSurgery(UUID ownerId, SurgeryEvent... events) {
+        SurgerySession session = new SurgerySession(ownerId);
+        session.addMovement(new Movement(new double[]{0, 0, 0}, SurgeryEvent.START, 1));
+        surgeryRepository.save(session);
+        for (int i = 0; i < events.length; i++) {
+            session.addMovement(new Movement(new double[]{i, i, i}, events[i], i + 2));
+        }
+        session.addMovement(new Movement(new double[]{1, 1, 1}, SurgeryEvent.FINISH, events.length + 2));
+        session.endSurgery();
+        surgeryRepository.save(session);
+        return session;
+    }
+
+    // Guarda la cirugía como lo hace la telemetría en vivo: un chunk de dos muestras por guardado
+    private SurgerySession givenChunkedSurgery(int chunks) {
+        UUID ownerId = userRepository.findByUsername(testUsername).get().getId();
+        SurgerySession session = new SurgerySession(ownerId);
+        for (int i = 0; i < 2 * chunks; i++) {
+            SurgeryEvent event = i == 0 ? SurgeryEvent.START : i == 2 * chunks - 1 ? SurgeryEvent.FINISH : SurgeryEvent.NONE;
+            double[] coordinates = i % 2 == 0 ? new double[]{i, i, i} : new double[]{i, i};
+            session.addMovement(new Movement(coordinates, event, i + 1));
+            if (i % 2 == 1) {
+                surgeryRepository.save(session);
+            }
+        }
+        return session;
+    }
 }
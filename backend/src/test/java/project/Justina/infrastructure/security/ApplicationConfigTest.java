@@ -0,0 +1,56 @@
+package project.Justina.infrastructure.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para ApplicationConfig")
+class ApplicationConfigTest {
+
+    private PasswordHashingExecutor hashingExecutor;
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        hashingExecutor = new PasswordHashingExecutor(1, 4, 5_000);
+        passwordEncoder = new ApplicationConfig(null, null).passwordEncoder(hashingExecutor, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("passwordEncoder - Los hashes nuevos usan {bcrypt} y no necesitan actualizarse")
+    void passwordEncoder_EncodesWithPrefixAndConfiguredCost() {
+        // When
+        String hash = passwordEncoder.encode("password123");
+
+        // Then
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordEncoder.matches("password123", hash));
+        assertFalse(passwordEncoder.upgradeEncoding(hash));
+        assertEquals(2, hashingExecutor.stats().completed());
+    }
+
+    @Test
+    @DisplayName("passwordEncoder - Valida hashes viejos sin prefijo o con menor costo y pide actualizarlos")
+    void passwordEncoder_AcceptsLegacyHashesAndFlagsThemForUpgrade() {
+        // Given
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+        String weaker = "{bcrypt}" + legacy;
+
+        // When & Then
+        assertTrue(passwordEncoder.matches("password123", legacy));
+        assertFalse(passwordEncoder.matches("otra", legacy));
+        assertTrue(passwordEncoder.upgradeEncoding(legacy));
+        assertTrue(passwordEncoder.matches("password123", weaker));
+        assertTrue(passwordEncoder.upgradeEncoding(weaker));
+    }
+}
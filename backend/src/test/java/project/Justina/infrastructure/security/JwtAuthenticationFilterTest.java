@@ -0,0 +1,162 @@
+package project.Justina.infrastructure.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import project.Justina.domain.model.TokenRevocation;
+import project.Justina.domain.repository.TokenRevocationRepository;
+import project.Justina.infrastructure.adapter.entity.UserEntity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para JwtAuthenticationFilter")
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationAndValidation123456789";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenRevocationRepository revocationRepository;
+
+    private JwtService jwtService;
+    private TokenRevocationList revocationList;
+    private JwtAuthenticationFilter filter;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 900_000);
+        revocationList = new TokenRevocationList(revocationRepository);
+        filter = filter(false);
+
+        user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setUsername("ana");
+        user.setRole("ROLE_SURGEON");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - Busca al usuario una sola vez para el mismo token")
+    void doFilterInternal_LoadsUserOncePerToken() throws Exception {
+        // Given
+        when(userDetailsService.loadUserByUsername("ana")).thenReturn(user);
+        String token = jwtService.createToken(user.getId(), "ana", "ROLE_SURGEON");
+
+        // When
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        // Then
+        assertSame(user, first.getPrincipal());
+        assertSame(user, second.getPrincipal());
+        verify(userDetailsService, times(1)).loadUserByUsername("ana");
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - No autentica ni cachea un token inválido")
+    void doFilterInternal_IgnoresInvalidToken() throws Exception {
+        // When
+        Authentication first = authenticate("invalid.jwt.token");
+        Authentication second = authenticate("invalid.jwt.token");
+
+        // Then
+        assertNull(first);
+        assertNull(second);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - En modo claims-only arma el usuario sin consultar la base")
+    void doFilterInternal_ClaimsOnly_BuildsPrincipalFromClaims() throws Exception {
+        // Given
+        filter = filter(true);
+        String token = jwtService.createToken(user.getId(), "ana", "ROLE_AI");
+
+        // When
+        Authentication authentication = authenticate(token);
+
+        // Then
+        UserEntity principal = (UserEntity) authentication.getPrincipal();
+        assertEquals(user.getId(), principal.getId());
+        assertEquals("ana", principal.getUsername());
+        assertEquals("ROLE_AI", principal.getRole());
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> "ROLE_AI".equals(a.getAuthority())));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - Rechaza un token revocado aunque ya esté en caché")
+    void doFilterInternal_RejectsRevokedToken_EvenWhenCached() throws Exception {
+        // Given
+        filter = filter(true);
+        String token = jwtService.createToken(user.getId(), "ana", "ROLE_SURGEON");
+        assertNotNull(authenticate(token));
+
+        // When
+        revocationList.revoke(TokenRevocation.ofToken(jwtService.verifyAndDecode(token).tokenId(), Instant.now().plusSeconds(3600)));
+
+        // Then
+        assertNull(authenticate(token));
+        verify(revocationRepository).save(any(TokenRevocation.class));
+    }
+
+    @Test
+    @DisplayName("doFilterInternal - Rechaza los tokens emitidos antes de revocar al usuario")
+    void doFilterInternal_RejectsTokensIssuedBeforeUserRevocation() throws Exception {
+        // Given: un token de hace una hora y la revocación de todo lo anterior a ahora
+        filter = filter(true);
+        String oldToken = JWT.create().withIssuer("Justina_Backend").withSubject("ana")
+                .withClaim("userId", user.getId().toString()).withClaim("role", "ROLE_SURGEON")
+                .withIssuedAt(Instant.now().minusSeconds(3600)).withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(SECRET));
+        revocationList.revoke(TokenRevocation.ofUser(user.getId(), Instant.now().minusSeconds(60), Instant.now().plusSeconds(86400)));
+
+        // When
+        Authentication old = authenticate(oldToken);
+        Authentication fresh = authenticate(jwtService.createToken(user.getId(), "ana", "ROLE_SURGEON"));
+
+        // Then
+        assertNull(old);
+        assertNotNull(fresh);
+    }
+
+    private JwtAuthenticationFilter filter(boolean claimsOnly) {
+        return new JwtAuthenticationFilter(jwtService, userDetailsService, new TokenPrincipalCache(100, 60_000),
+                revocationList, claimsOnly);
+    }
+
+    // Cada request arranca con el contexto vacío, como en el servidor
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/surgeries");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
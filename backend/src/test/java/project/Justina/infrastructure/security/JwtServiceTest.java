@@ -0,0 +1,84 @@
+package project.Justina.infrastructure.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para JwtService")
+class JwtServiceTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationAndValidation123456789";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 900_000);
+    }
+
+    @Test
+    @DisplayName("verifyAndDecode - Devuelve todos los claims de un token válido")
+    void verifyAndDecode_ReturnsAllClaims() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        String token = jwtService.createToken(userId, "ana", "ROLE_SURGEON");
+
+        // When
+        JwtClaims claims = jwtService.verifyAndDecode(token);
+
+        // Then
+        assertEquals("ana", claims.username());
+        assertEquals(userId, claims.userId());
+        assertEquals("ROLE_SURGEON", claims.role());
+        assertTrue(claims.expiresAt().isAfter(Instant.now()));
+        // Vida corta: la configurada (15 minutos), no un día
+        assertFalse(claims.expiresAt().isAfter(claims.issuedAt().plusSeconds(900)));
+        assertNotNull(claims.tokenId());
+    }
+
+    @Test
+    @DisplayName("verifyAndDecode - Rechaza un token firmado con otra clave")
+    void verifyAndDecode_Throws_WhenSignedWithOtherKey() {
+        // Given
+        String token = new JwtService("otraClaveCompletamenteDistintaParaFirmarTokens987654321", 900_000)
+                .createToken(UUID.randomUUID(), "ana", "ROLE_SURGEON");
+
+        // When & Then
+        assertThrows(JWTVerificationException.class, () -> jwtService.verifyAndDecode(token));
+    }
+
+    @Test
+    @DisplayName("verifyAndDecode - Rechaza un token sin userId o con userId inválido")
+    void verifyAndDecode_Throws_WhenUserIdMissingOrMalformed() {
+        // Given
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+        String withoutUserId = JWT.create().withIssuer("Justina_Backend").withSubject("ana").sign(algorithm);
+        String malformedUserId = JWT.create().withIssuer("Justina_Backend").withSubject("ana")
+                .withClaim("userId", "no-es-un-uuid").sign(algorithm);
+
+        // When & Then
+        assertThrows(JWTVerificationException.class, () -> jwtService.verifyAndDecode(withoutUserId));
+        assertThrows(JWTVerificationException.class, () -> jwtService.verifyAndDecode(malformedUserId));
+    }
+
+    @Test
+    @DisplayName("verifyAndDecode - Rechaza un token vencido")
+    void verifyAndDecode_Throws_WhenExpired() {
+        // Given
+        String token = JWT.create().withIssuer("Justina_Backend").withSubject("ana")
+                .withClaim("userId", UUID.randomUUID().toString())
+                .withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        // When & Then
+        assertThrows(JWTVerificationException.class, () -> jwtService.verifyAndDecode(token));
+    }
+}
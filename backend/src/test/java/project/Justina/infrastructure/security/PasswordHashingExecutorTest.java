@@ -0,0 +1,122 @@
+package project.Justina.infrastructure.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.Justina.domain.exception.ServiceOverloadedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para PasswordHashingExecutor")
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("execute - Devuelve el resultado y registra la espera en cola")
+    void execute_ReturnsResultAndRecordsStats() {
+        // Given
+        executor = new PasswordHashingExecutor(2, 4, 5_000);
+
+        // When
+        String result = executor.execute(() -> "hash");
+
+        // Then
+        assertEquals("hash", result);
+        PasswordHashingExecutor.Stats stats = executor.stats();
+        assertEquals(1, stats.completed());
+        assertEquals(0, stats.rejected());
+        assertTrue(stats.maxQueueWaitMillis() >= 0);
+        assertTrue(stats.summary().contains("1 completados, 0 rechazados, 0 vencidos"));
+    }
+
+    @Test
+    @DisplayName("execute - Con el pool y la cola llenos rechaza con ServiceOverloadedException")
+    void execute_RejectsWhenPoolAndQueueAreFull() throws Exception {
+        // Given: un hilo ocupado y un lugar de cola ocupado
+        executor = new PasswordHashingExecutor(1, 1, 5_000);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            running.countDown();
+            await(release);
+            return "a";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "b"));
+        waitUntilQueued(1);
+
+        // When & Then
+        assertThrows(ServiceOverloadedException.class, () -> executor.execute(() -> "c"));
+        assertEquals(1, executor.stats().active());
+        assertEquals(1, executor.stats().queued());
+        assertEquals(1, executor.stats().rejected());
+
+        release.countDown();
+        assertEquals("a", busy.get(5, TimeUnit.SECONDS));
+        assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, executor.stats().completed());
+    }
+
+    @Test
+    @DisplayName("execute - Corta la espera pasado el timeout de cola")
+    void execute_TimesOutWhenQueuedTooLong() throws Exception {
+        // Given
+        executor = new PasswordHashingExecutor(1, 4, 50);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> {
+            try {
+                executor.execute(() -> {
+                    running.countDown();
+                    await(release);
+                    return null;
+                });
+            } catch (ServiceOverloadedException e) {
+                // Este también vence: el test solo necesita ocupar el hilo
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // When & Then
+        assertThrows(ServiceOverloadedException.class, () -> executor.execute(() -> "tarde"));
+        assertTrue(executor.stats().timedOut() >= 1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("execute - Propaga las excepciones de la tarea")
+    void execute_PropagatesTaskExceptions() {
+        // Given
+        executor = new PasswordHashingExecutor(1, 1, 5_000);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+            throw new IllegalArgumentException("hash inválido");
+        }));
+    }
+
+    private void waitUntilQueued(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (executor.stats().queued() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package project.Justina.infrastructure.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import project.Justina.infrastructure.adapter.entity.UserEntity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para TokenPrincipalCache")
+class TokenPrincipalCacheTest {
+
+    private static final Instant IN_ONE_HOUR = Instant.now().plusSeconds(3600);
+
+    @Test
+    @DisplayName("get - Devuelve el usuario guardado para el mismo token")
+    void get_ReturnsPrincipalForSameToken() {
+        // Given
+        TokenPrincipalCache cache = new TokenPrincipalCache(10, 60_000);
+        UserDetails principal = user("ana");
+
+        // When
+        cache.put("token-a", verified(principal, IN_ONE_HOUR));
+
+        // Then
+        assertSame(principal, cache.get("token-a").principal());
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    @DisplayName("put - No guarda tokens vencidos y respeta el tope de vida")
+    void put_SkipsExpiredTokensAndHonorsMaxTtl() {
+        // Given
+        TokenPrincipalCache cache = new TokenPrincipalCache(10, 60_000);
+        TokenPrincipalCache noTtl = new TokenPrincipalCache(10, 0);
+
+        // When
+        cache.put("expired", verified(user("ana"), Instant.now().minusSeconds(1)));
+        noTtl.put("token", verified(user("ana"), IN_ONE_HOUR));
+
+        // Then
+        assertNull(cache.get("expired"));
+        assertNull(noTtl.get("token"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("put - Con la caché llena de tokens vigentes guarda el nuevo desplazando al que vence antes")
+    void put_EvictsSoonestToExpire_WhenFullOfValidTokens() {
+        // Given
+        TokenPrincipalCache cache = new TokenPrincipalCache(2, 3_600_000);
+        cache.put("token-1", verified(user("a"), IN_ONE_HOUR));
+        cache.put("token-2", verified(user("b"), Instant.now().plusSeconds(60)));
+
+        // When
+        cache.put("token-3", verified(user("c"), IN_ONE_HOUR));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("token-3"));
+        assertNotNull(cache.get("token-1"));
+        assertNull(cache.get("token-2"));
+    }
+
+    @Test
+    @DisplayName("put - Renovar un token ya guardado con la caché llena no desplaza a otro")
+    void put_DoesNotEvict_WhenReplacingCachedToken() {
+        // Given
+        TokenPrincipalCache cache = new TokenPrincipalCache(2, 60_000);
+        cache.put("token-1", verified(user("a"), IN_ONE_HOUR));
+        cache.put("token-2", verified(user("b"), IN_ONE_HOUR));
+
+        // When
+        cache.put("token-1", verified(user("a"), IN_ONE_HOUR));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("token-2"));
+    }
+
+    @Test
+    @DisplayName("purgeExpired - Borra las entradas vencidas y deja las vigentes")
+    void purgeExpired_RemovesOnlyExpiredEntries() throws Exception {
+        // Given
+        TokenPrincipalCache cache = new TokenPrincipalCache(10, 60_000);
+        cache.put("short", verified(user("a"), Instant.now().plusMillis(20)));
+        cache.put("long", verified(user("b"), IN_ONE_HOUR));
+        Thread.sleep(40);
+
+        // When
+        cache.purgeExpired();
+
+        // Then
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get("long"));
+    }
+
+    private static TokenPrincipalCache.Verified verified(UserDetails principal, Instant expiresAt) {
+        JwtClaims claims = new JwtClaims(UUID.randomUUID().toString(), principal.getUsername(),
+                UUID.randomUUID(), "ROLE_SURGEON", Instant.now(), expiresAt);
+        return new TokenPrincipalCache.Verified(principal, claims);
+    }
+
+    private static UserDetails user(String username) {
+        UserEntity user = new UserEntity();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        user.setRole("ROLE_SURGEON");
+        return user;
+    }
+}
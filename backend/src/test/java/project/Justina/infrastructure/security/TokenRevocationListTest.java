@@ -0,0 +1,117 @@
+package project.Justina.infrastructure.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.Justina.domain.model.TokenRevocation;
+import project.Justina.domain.repository.TokenRevocationRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para TokenRevocationList")
+class TokenRevocationListTest {
+
+    @Mock
+    private TokenRevocationRepository repository;
+
+    @InjectMocks
+    private TokenRevocationList revocationList;
+
+    private UUID userId;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        now = Instant.now();
+    }
+
+    @Test
+    @DisplayName("refresh - Carga las revocaciones vigentes y purga las vencidas")
+    void refresh_LoadsActiveRevocationsAndPurgesExpired() {
+        // Given
+        when(repository.findActive(any())).thenReturn(List.of(TokenRevocation.ofToken("jti-1", now.plusSeconds(60))));
+
+        // When
+        revocationList.refresh();
+
+        // Then
+        assertTrue(revocationList.isRevoked(claims("jti-1", now)));
+        assertFalse(revocationList.isRevoked(claims("jti-2", now)));
+        verify(repository).deleteExpired(any());
+        verify(repository, times(1)).findActive(any());
+    }
+
+    @Test
+    @DisplayName("isRevoked - Revoca por usuario solo los tokens emitidos antes del corte más reciente")
+    void isRevoked_UserRevocation_UsesLatestCutoff() {
+        // Given: dos cortes para el mismo usuario
+        when(repository.findActive(any())).thenReturn(List.of(
+                TokenRevocation.ofUser(userId, now.minusSeconds(600), now.plusSeconds(3600)),
+                TokenRevocation.ofUser(userId, now.minusSeconds(60), now.plusSeconds(3600))));
+        revocationList.refresh();
+
+        // When & Then
+        assertTrue(revocationList.isRevoked(claims("a", now.minusSeconds(300))));
+        assertFalse(revocationList.isRevoked(claims("b", now)));
+        assertFalse(revocationList.isRevoked(new JwtClaims("c", "otro", UUID.randomUUID(), "ROLE_SURGEON",
+                now.minusSeconds(300), now.plusSeconds(3600))));
+    }
+
+    @Test
+    @DisplayName("revoke - Persiste y aplica la revocación sin esperar al refresco")
+    void revoke_PersistsAndAppliesImmediately() {
+        // Given
+        revocationList.refresh();
+
+        // When
+        revocationList.revoke(TokenRevocation.ofToken("jti-1", now.plusSeconds(60)));
+
+        // Then
+        assertTrue(revocationList.isRevoked(claims("jti-1", now)));
+        verify(repository).save(any(TokenRevocation.class));
+        verify(repository, times(1)).findActive(any());
+    }
+
+    @Test
+    @DisplayName("isRevoked - Nunca consulta la base en el camino del request")
+    void isRevoked_DoesNotQueryDatabase() {
+        // When
+        boolean revoked = revocationList.isRevoked(claims("jti-1", now));
+
+        // Then
+        assertFalse(revoked);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("refresh - Si la base falla conserva la última copia buena")
+    void refresh_KeepsLastGoodSnapshot_WhenDatabaseFails() {
+        // Given
+        when(repository.findActive(any()))
+                .thenReturn(List.of(TokenRevocation.ofToken("jti-1", now.plusSeconds(60))))
+                .thenThrow(new IllegalStateException("DB caída"));
+        revocationList.refresh();
+
+        // When
+        assertDoesNotThrow(() -> revocationList.refresh());
+
+        // Then
+        assertTrue(revocationList.isRevoked(claims("jti-1", now)));
+    }
+
+    private JwtClaims claims(String tokenId, Instant issuedAt) {
+        return new JwtClaims(tokenId, "ana", userId, "ROLE_SURGEON", issuedAt, issuedAt.plusSeconds(3600));
+    }
+}
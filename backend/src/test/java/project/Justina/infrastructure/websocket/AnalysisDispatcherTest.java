@@ -0,0 +1,417 @@
+package project.Justina.infrastructure.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import project.Justina.domain.model.AnalysisJob;
+import project.Justina.domain.model.AnalysisJobStatus;
+import project.Justina.domain.repository.AnalysisJobRepository;
+import project.Justina.infrastructure.websocket.AnalysisDispatcher.Strategy;
+import project.Justina.infrastructure.websocket.OutboundMessageQueue.OverflowPolicy;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests Unitarios para AnalysisDispatcher")
+class AnalysisDispatcherTest {
+
+    private static final long ACK_TIMEOUT = 1000L;
+    private static final long RETRY_BASE_DELAY = 5000L;
+
+    private InMemoryJobs jobs;
+    private WebSocketSession worker1;
+    private WebSocketSession worker2;
+
+    @BeforeEach
+    void setUp() {
+        jobs = new InMemoryJobs();
+        worker1 = worker("ia-1");
+        worker2 = worker("ia-2");
+    }
+
+    @Test
+    @DisplayName("dispatch - Asigna cada cirugía a un único worker, repartiendo la carga")
+    void dispatch_AssignsEachSurgeryToExactlyOneWorker() throws Exception {
+        // Given
+        AnalysisDispatcher dispatcher = dispatcher(Strategy.LEAST_OUTSTANDING, 4);
+        dispatcher.register(worker1);
+        dispatcher.register(worker2);
+        UUID first = jobs.enqueue();
+        UUID second = jobs.enqueue();
+
+        // When
+        dispatcher.dispatch(first);
+        dispatcher.dispatch(second);
+
+        // Then
+        List<String> sent1 = surgeriesSentTo(worker1);
+        List<String> sent2 = surgeriesSentTo(worker2);
+        assertEquals(1, sent1.size());
+        assertEquals(1, sent2.size());
+        assertNotEquals(sent1, sent2);
+        assertEquals(AnalysisJobStatus.LEASED, jobs.status(first));
+    }
+
+    @Test
+    @DisplayName("dispatch - LEAST_OUTSTANDING prefiere al worker con menos cirugías sin confirmar")
+    void dispatch_LeastOutstanding_PrefersLessLoadedWorker() {
+        // Given - ia-1 ya tiene dos cirugías sin confirmar
+        AnalysisDispatcher dispatcher = dispatcher(Strategy.LEAST_OUTSTANDING, 4);
+        dispatcher.register(worker1);
+        dispatcher.dispatch(jobs.enqueue());
+        dispatcher.dispatch(jobs.enqueue());
+        dispatcher.register(worker2);
+
+        // When
+        dispatcher.dispatch(jobs.enqueue());
+        dispatcher.dispatch(jobs.enqueue());
+
+        // Then
+        assertEquals(2, dispatcher.outstanding("ia-1"));
+        assertEquals(2, dispatcher.outstanding("ia-2"));
+    }
+
+    @Test
+    @DisplayName("dispatch - ROUND_ROBIN alterna entre workers")
+    void dispatch_RoundRobin_AlternatesWorkers() {
+        // Given
+        AnalysisDispatcher dispatcher = dispatcher(Strategy.ROUND_ROBIN, 4);
+        dispatcher.register(worker1);
+        dispatcher.register(worker2);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            dispatcher.dispatch(jobs.enqueue());
+        }
+
+        // Then
+        assertEquals(2, dispatcher.outstanding("ia-1"));
+        assertEquals(2, dispatcher.outstanding("ia-2"));
+    }
+
+    @Test
+    @DisplayName("dispatch - Deja el trabajo PENDING si ningún worker tiene lugar")
+    void dispatch_LeavesJobPending_WhenNoWorkerHasCapacity() throws Exception {
+        // Given
+        AnalysisDispatcher dispatcher = dispatcher(Strategy.LEAST_OUTSTANDING, 1);
+        dispatcher.register(worker1);
+        dispatcher.dispatch(jobs.enqueue());
+        UUID queued = jobs.enqueue();
+
+        // When
+        dispatcher.dispatch(queued);
+
+        // Then
+        assertEquals(1, surgeriesSentTo(worker1).size());
+        assertEquals(AnalysisJobStatus.PENDING, jobs.status(queued));
+    }
+
+    @Test
+    @DisplayName("acknowledge - Completa el trabajo solo si lo confirma el worker asignado y entrega el siguiente")
+    void acknowledge_CompletesOnlyFromAssignedWorkerAndDeliversNext() throws Exception {
+        // Given
+        AnalysisDispatcher dispatcher = dispatcher(Strategy.LEAST_OUTSTANDING, 1);
+        dispatcher.register(worker1);
+        UUID surgeryId = jobs.enqueue();
+        UUID next = jobs.enqueue();
+        dispatcher.dispatch(surgeryId);
+
+        // When
+        dispatcher.acknowledge("ia-2", surgeryId);
+
+        // Then
+        assertEquals(AnalysisJobStatus.LEASED, jobs.status(surgeryId));
+
+        // When
+        dispatcher.acknowledge("ia-1", surgeryId);
+
+        // Then
+        assertEquals(AnalysisJobStatus.DONE, jobs.status(surgeryId));
+        assertEquals(List.of(surgeryId.toString(), next.toString()), surgeriesSentTo(worker1));
+    }
+
+    @Test
+    @DisplayName("pump - Reintenta con backoff los leases vencidos y los reentrega")
+    void pump_RetriesExpiredLeasesWithBackoff() throws Exception {
+        // Given
+        AnalysisDispatcher dispatcher = dispatcher(Strategy.ROUND_ROBIN, 4);
+        dispatcher.register(worker1);
+        UUID surgeryId = jobs.enqueue();
+        dispatcher.dispatch(surgeryId);
+        LocalDateTime expired = LocalDateTime.now().plusNanos((ACK_TIMEOUT + 1) * 1_000_000);
+
+        // When - vence el lease: vuelve a PENDING con el primer retraso
+        dispatcher.pump(expired);
+
+        // Then
+        assertEquals(AnalysisJobStatus.PENDING, jobs.status(surgeryId));
+        assertEquals(0, dispatcher.outstanding("ia-1"));
+        assertEquals(expired.plusNanos(RETRY_BASE_DELAY * 1_000_000), jobs.get(surgeryId).nextAttemptAt());
+
+        // When - pasado el backoff se vuelve a entregar
+        dispatcher.pump(expired.plusNanos(RETRY_BASE_DELAY * 1_000_000));
+
+        // Then
+        assertEquals(List.of(surgeryId.toString(), surgeryId.toString()), surgeriesSentTo(worker1));
+        assertEquals(2, jobs.get(surgeryId).attempts());
+    }
+
+    @Test
+    @DisplayName("unregister - Reentrega enseguida los trabajos del worker desconectado")
+    void unregister_RedeliversJobsOfDisconnectedWorker() throws Exception {
+        // Given
+        AnalysisDispatcher dispatcher = dispatcher(Strategy.ROUND_ROBIN, 4);
+        dispatcher.register(worker1);
+        dispatcher.register(worker2);
+        UUID surgeryId = jobs.enqueue();
+        dispatcher.dispatch(surgeryId);
+
+        // When
+        dispatcher.unregister("ia-1");
+
+        // Then
+        assertEquals(List.of(surgeryId.toString()), surgeriesSentTo(worker2));
+        assertEquals(1, dispatcher.outstanding("ia-2"));
+    }
+
+    @Test
+    @DisplayName("register - Drena los trabajos acumulados sin workers, hasta el máximo por worker")
+    void register_DrainsBacklogUpToMaxOutstanding() throws Exception {
+        // Given - terminaron cirugías sin ninguna IA conectada
+        AnalysisDispatcher dispatcher = dispatcher(Strategy.LEAST_OUTSTANDING, 2);
+        UUID first = jobs.enqueue();
+        dispatcher.dispatch(first);
+        UUID second = jobs.enqueue();
+        UUID third = jobs.enqueue();
+
+        // When
+        dispatcher.register(worker1);
+
+        // Then
+        assertEquals(List.of(first.toString(), second.toString()), surgeriesSentTo(worker1));
+        assertEquals(AnalysisJobStatus.PENDING, jobs.status(third));
+    }
+
+    @Test
+    @DisplayName("reject - Marca FAILED al agotar los intentos")
+    void reject_FailsAfterMaxAttempts() throws Exception {
+        // Given
+        AnalysisDispatcher dispatcher = dispatcher(Strategy.LEAST_OUTSTANDING, 4);
+        dispatcher.register(worker1);
+        UUID surgeryId = jobs.enqueue();
+        dispatcher.dispatch(surgeryId);
+
+        // When
+        dispatcher.reject("ia-1", surgeryId);
+        dispatcher.pump(LocalDateTime.now().plusNanos(RETRY_BASE_DELAY * 1_000_000 + 1));
+        dispatcher.reject("ia-1", surgeryId);
+
+        // Then - 2 intentos máximos: no hay un tercer envío
+        assertEquals(2, surgeriesSentTo(worker1).size());
+        assertEquals(AnalysisJobStatus.FAILED, jobs.status(surgeryId));
+        assertEquals(0, dispatcher.outstanding("ia-1"));
+    }
+
+    @Test
+    @DisplayName("dispatch - Con REJECT y la cola de salida llena el trabajo sigue PENDING hasta que haya lugar")
+    void dispatch_KeepsJobPending_WhenOutboundQueueIsFull() throws Exception {
+        // Given - el escritor aún no drenó la confirmación de conexión y la cola (capacidad 1) está llena
+        List<Runnable> writes = new ArrayList<>();
+        AnalysisDispatcher dispatcher = new AnalysisDispatcher(jobs, writes::add, 1, OverflowPolicy.REJECT,
+                Strategy.LEAST_OUTSTANDING, ACK_TIMEOUT, 2, 4, RETRY_BASE_DELAY, 60_000L);
+        jobs.dispatcher = dispatcher;
+        dispatcher.register(worker1);
+        UUID surgeryId = jobs.enqueue();
+
+        // When
+        dispatcher.dispatch(surgeryId);
+
+        // Then - ni se descarta el aviso ni se gasta un intento
+        assertEquals(AnalysisJobStatus.PENDING, jobs.status(surgeryId));
+        assertEquals(0, dispatcher.outstanding("ia-1"));
+
+        // When - la cola se vacía y pasa el pump periódico
+        writes.remove(0).run();
+        dispatcher.pump(LocalDateTime.now());
+        writes.forEach(Runnable::run);
+
+        // Then
+        assertEquals(List.of(surgeryId.toString()), surgeriesSentTo(worker1));
+        assertEquals(AnalysisJobStatus.LEASED, jobs.status(surgeryId));
+    }
+
+    @Test
+    @DisplayName("unregister - Una sesión homónima de otro nodo no libera el lease ajeno")
+    void unregister_DoesNotReleaseLeaseOfSameSessionIdOnAnotherNode() throws Exception {
+        // Given - el lease de B venció y A se lo reasignó a su worker, que tiene el mismo id de sesión
+        AnalysisDispatcher nodeA = dispatcher(Strategy.LEAST_OUTSTANDING, 4);
+        AnalysisDispatcher nodeB = dispatcher(Strategy.LEAST_OUTSTANDING, 4);
+        jobs.dispatcher = null;
+        ReflectionTestUtils.setField(nodeA, "nodeId", "node-a");
+        ReflectionTestUtils.setField(nodeB, "nodeId", "node-b");
+        nodeB.register(worker("ia-1"));
+        UUID surgeryId = jobs.enqueue();
+        nodeB.dispatch(surgeryId);
+        nodeA.register(worker1);
+        LocalDateTime expired = LocalDateTime.now().plusNanos((ACK_TIMEOUT + 1) * 1_000_000);
+        nodeA.pump(expired);
+        nodeA.pump(expired.plusNanos(RETRY_BASE_DELAY * 1_000_000));
+
+        // When - se desconecta el worker de B, que aún la cuenta como suya
+        nodeB.unregister("ia-1");
+
+        // Then
+        assertEquals("node-a/ia-1", jobs.get(surgeryId).leaseOwner());
+        assertEquals(AnalysisJobStatus.LEASED, jobs.status(surgeryId));
+        assertEquals(1, nodeA.outstanding("ia-1"));
+    }
+
+    @Test
+    @DisplayName("nextRetryAt - Duplica el retraso por intento hasta el máximo")
+    void nextRetryAt_DoublesDelayUpToMax() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 0, 0);
+        Duration base = java.time.Duration.ofSeconds(5);
+        Duration max = java.time.Duration.ofSeconds(30);
+
+        // When & Then
+        assertEquals(now.plusSeconds(5), job(1).nextRetryAt(now, base, max));
+        assertEquals(now.plusSeconds(20), job(3).nextRetryAt(now, base, max));
+        assertEquals(now.plusSeconds(30), job(10).nextRetryAt(now, base, max));
+    }
+
+    private AnalysisDispatcher dispatcher(Strategy strategy, int maxOutstanding) {
+        AnalysisDispatcher dispatcher = new AnalysisDispatcher(jobs, Runnable::run, 16, OverflowPolicy.REJECT, strategy,
+                ACK_TIMEOUT, 2, maxOutstanding, RETRY_BASE_DELAY, 60_000L);
+        jobs.dispatcher = dispatcher;
+        return dispatcher;
+    }
+
+    private static AnalysisJob job(int attempts) {
+        return new AnalysisJob(UUID.randomUUID(), AnalysisJobStatus.LEASED, attempts, "ia-1", null, null);
+    }
+
+    private static WebSocketSession worker(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        return session;
+    }
+
+    // surgeryId de cada NEW_SURGERY enviado a la sesión (se ignora la confirmación de conexión)
+    private static List<String> surgeriesSentTo(WebSocketSession session) throws Exception {
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, atLeastOnce()).sendMessage(captor.capture());
+        return captor.getAllValues().stream()
+                .map(TextMessage::getPayload)
+                .filter(payload -> payload.contains("NEW_SURGERY"))
+                .map(payload -> payload.replaceAll(".*\"surgeryId\":\"([^\"]+)\".*", "$1"))
+                .toList();
+    }
+
+    // Tabla analysis_jobs en memoria con las mismas transiciones condicionales que el adaptador JPA.
+    // Falla si se la consulta con el monitor del despachador tomado.
+    private static final class InMemoryJobs implements AnalysisJobRepository {
+        private final Map<UUID, AnalysisJob> rows = new LinkedHashMap<>();
+        private LocalDateTime clock = LocalDateTime.now().minusSeconds(1);
+        private AnalysisDispatcher dispatcher;
+
+        UUID enqueue() {
+            UUID surgeryId = UUID.randomUUID();
+            clock = clock.plusNanos(1000);
+            rows.put(surgeryId, new AnalysisJob(surgeryId, AnalysisJobStatus.PENDING, 0, null, null, clock));
+            return surgeryId;
+        }
+
+        AnalysisJob get(UUID surgeryId) {
+            return rows.get(surgeryId);
+        }
+
+        AnalysisJobStatus status(UUID surgeryId) {
+            return rows.get(surgeryId).status();
+        }
+
+        @Override
+        public Optional<AnalysisJob> findById(UUID surgeryId) {
+            assertOutsideMonitor();
+            return Optional.ofNullable(rows.get(surgeryId));
+        }
+
+        @Override
+        public List<UUID> findDue(LocalDateTime now, int limit) {
+            assertOutsideMonitor();
+            return rows.values().stream()
+                    .filter(job -> job.status() == AnalysisJobStatus.PENDING && !job.nextAttemptAt().isAfter(now))
+                    .sorted(Comparator.comparing(AnalysisJob::nextAttemptAt))
+                    .limit(limit)
+                    .map(AnalysisJob::surgeryId)
+                    .toList();
+        }
+
+        @Override
+        public boolean lease(UUID surgeryId, String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+            assertOutsideMonitor();
+            AnalysisJob job = rows.get(surgeryId);
+            if (job == null || job.status() != AnalysisJobStatus.PENDING || job.nextAttemptAt().isAfter(now)) {
+                return false;
+            }
+            rows.put(surgeryId, new AnalysisJob(surgeryId, AnalysisJobStatus.LEASED, job.attempts() + 1,
+                    owner, leaseUntil, job.nextAttemptAt()));
+            return true;
+        }
+
+        @Override
+        public List<AnalysisJob> findExpiredLeases(LocalDateTime now) {
+            assertOutsideMonitor();
+            return rows.values().stream()
+                    .filter(job -> job.status() == AnalysisJobStatus.LEASED && job.leaseUntil().isBefore(now))
+                    .toList();
+        }
+
+        @Override
+        public boolean reschedule(UUID surgeryId, String owner, LocalDateTime nextAttemptAt) {
+            assertOutsideMonitor();
+            return release(surgeryId, owner, AnalysisJobStatus.PENDING, nextAttemptAt);
+        }
+
+        @Override
+        public boolean fail(UUID surgeryId, String owner) {
+            assertOutsideMonitor();
+            return release(surgeryId, owner, AnalysisJobStatus.FAILED, LocalDateTime.now());
+        }
+
+        @Override
+        public void complete(UUID surgeryId) {
+            assertOutsideMonitor();
+            AnalysisJob job = rows.get(surgeryId);
+            rows.put(surgeryId, new AnalysisJob(surgeryId, AnalysisJobStatus.DONE, job.attempts(),
+                    null, null, job.nextAttemptAt()));
+        }
+
+        private void assertOutsideMonitor() {
+            assertFalse(dispatcher != null && Thread.holdsLock(dispatcher), "analysis_jobs consultada dentro del monitor");
+        }
+
+        private boolean release(UUID surgeryId, String owner, AnalysisJobStatus status, LocalDateTime nextAttemptAt) {
+            AnalysisJob job = rows.get(surgeryId);
+            if (job == null || job.status() != AnalysisJobStatus.LEASED || !owner.equals(job.leaseOwner())) {
+                return false;
+            }
+            rows.put(surgeryId, new AnalysisJob(surgeryId, status, job.attempts(), null, null, nextAttemptAt));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package project.Justina.infrastructure.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import project.Justina.domain.model.Movement;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.repository.SurgeryRepository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para BinaryTelemetryWebSocketHandler")
+class BinaryTelemetryWebSocketHandlerTest {
+
+    @Mock
+    private SurgeryRepository surgeryRepository;
+
+    @Mock
+    private AIWebSocketHandler aiHandler;
+
+    @Mock
+    private WebSocketSession session;
+
+    private BinaryTelemetryWebSocketHandler handler;
+    private UUID surgeonId;
+
+    @BeforeEach
+    void setUp() {
+        handler = new BinaryTelemetryWebSocketHandler(new LiveSurgeryRegistry(surgeryRepository, Runnable::run, Runnable::run, Runnable::run, aiHandler));
+        surgeonId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("handleBinaryMessage - Agrega varios registros de un frame y persiste con FINISH")
+    void handleBinaryMessage_AppendsRecordsAndPersistsOnFinish() throws Exception {
+        // Given
+        givenAuthenticatedSession();
+        ByteBuffer frame = ByteBuffer.allocate(3 * BinaryTelemetryWebSocketHandler.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        putRecord(frame, 1.0, 2.0, 3.0, 100L, SurgeryEvent.START);
+        putRecord(frame, 4.0, 5.0, Double.NaN, 200L, SurgeryEvent.HEMORRHAGE);
+        putRecord(frame, 6.0, 7.0, 8.0, 300L, SurgeryEvent.FINISH);
+        frame.flip();
+
+        // When
+        handler.handleMessage(session, new BinaryMessage(frame));
+
+        // Then
+        ArgumentCaptor<SurgerySession> captor = ArgumentCaptor.forClass(SurgerySession.class);
+        verify(surgeryRepository).save(captor.capture());
+        assertEquals(List.of(
+                new Movement(new double[]{1.0, 2.0, 3.0}, SurgeryEvent.START, 100L),
+                new Movement(new double[]{4.0, 5.0}, SurgeryEvent.HEMORRHAGE, 200L),
+                new Movement(new double[]{6.0, 7.0, 8.0}, SurgeryEvent.FINISH, 300L)
+        ), captor.getValue().getTrajectory());
+        assertEquals(surgeonId, captor.getValue().getSurgeonId());
+        verify(session).sendMessage(any(TextMessage.class));
+        verify(session, never()).close(any(CloseStatus.class));
+    }
+
+    @Test
+    @DisplayName("handleBinaryMessage - Acumula registros entre frames sin persistir")
+    void handleBinaryMessage_AccumulatesAcrossFrames() throws Exception {
+        // Given
+        givenAuthenticatedSession();
+
+        // When
+        handler.handleMessage(session, new BinaryMessage(singleRecord(1.0, 1.0, 1.0, 10L, SurgeryEvent.START)));
+        handler.handleMessage(session, new BinaryMessage(singleRecord(2.0, 2.0, 2.0, 20L, SurgeryEvent.NONE)));
+
+        // Then
+        verify(surgeryRepository, never()).save(any());
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("handleBinaryMessage - Cierra con BAD_DATA si el tamaño no es múltiplo de 33 bytes")
+    void handleBinaryMessage_ClosesWithBadData_WhenLengthIsNotMultipleOfRecordSize() throws Exception {
+        // When
+        handler.handleMessage(session, new BinaryMessage(new byte[BinaryTelemetryWebSocketHandler.RECORD_SIZE + 1]));
+
+        // Then
+        verify(session).close(CloseStatus.BAD_DATA);
+        verify(surgeryRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("handleBinaryMessage - Cierra con BAD_DATA con evento desconocido o timestamp no positivo")
+    void handleBinaryMessage_ClosesWithBadData_WhenRecordIsInvalid() throws Exception {
+        // Given
+        ByteBuffer unknownEvent = singleRecord(1.0, 2.0, 3.0, 10L, SurgeryEvent.START);
+        unknownEvent.put(32, (byte) 99);
+        ByteBuffer zeroTimestamp = singleRecord(1.0, 2.0, 3.0, 0L, SurgeryEvent.START);
+
+        // When
+        handler.handleMessage(session, new BinaryMessage(unknownEvent));
+        handler.handleMessage(session, new BinaryMessage(zeroTimestamp));
+
+        // Then
+        verify(session, times(2)).close(CloseStatus.BAD_DATA);
+    }
+
+    @Test
+    @DisplayName("handleBinaryMessage - Cierra con POLICY_VIOLATION cuando no hay SURGEON_ID")
+    void handleBinaryMessage_ClosesWithPolicyViolation_WhenNoSurgeonId() throws Exception {
+        // Given
+        when(session.getAttributes()).thenReturn(new ConcurrentHashMap<>());
+
+        // When
+        handler.handleMessage(session, new BinaryMessage(singleRecord(1.0, 2.0, 3.0, 10L, SurgeryEvent.START)));
+
+        // Then
+        verify(session).close(CloseStatus.POLICY_VIOLATION);
+    }
+
+    private void givenAuthenticatedSession() {
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        attributes.put("SURGEON_ID", surgeonId);
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.getId()).thenReturn("binary-session-id");
+    }
+
+    private static ByteBuffer singleRecord(double x, double y, double z, long timestamp, SurgeryEvent event) {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryTelemetryWebSocketHandler.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        putRecord(buffer, x, y, z, timestamp, event);
+        return buffer.flip();
+    }
+
+    private static void putRecord(ByteBuffer buffer, double x, double y, double z, long timestamp, SurgeryEvent event) {
+        buffer.putDouble(x).putDouble(y).putDouble(z).putLong(timestamp).put((byte) event.ordinal());
+    }
+}
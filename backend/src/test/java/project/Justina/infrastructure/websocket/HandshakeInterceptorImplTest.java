@@ -1,5 +1,6 @@
 package project.Justina.infrastructure.websocket;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,8 +12,11 @@ import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.util.UriComponentsBuilder;
+import project.Justina.infrastructure.security.JwtClaims;
 import project.Justina.infrastructure.security.JwtService;
+import project.Justina.infrastructure.security.TokenRevocationList;
 
+import java.time.Instant;
 import java.util.Map;
 import java.util.UUID;
 
@@ -27,6 +31,9 @@ class HandshakeInterceptorImplTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private TokenRevocationList revocationList;
+
     @Mock
     private ServerHttpRequest request;
 
@@ -57,8 +64,8 @@ class HandshakeInterceptorImplTest {
     void beforeHandshake_Success_WithValidToken() {
         // Given
         when(request.getURI()).thenReturn(java.net.URI.create("ws://localhost:8080/ws/simulation?token=" + validToken));
-        when(jwtService.extractUsername(validToken)).thenReturn(username);
-        when(jwtService.extractUserId(validToken)).thenReturn(userId);
+        when(jwtService.verifyAndDecode(validToken))
+                .thenReturn(new JwtClaims("jti-1", username, userId, "ROLE_SURGEON", Instant.now(), Instant.now().plusSeconds(3600)));
 
         Map<String, Object> attributes = new java.util.HashMap<>();
 
@@ -69,9 +76,11 @@ class HandshakeInterceptorImplTest {
         assertTrue(result);
         assertEquals(userId, attributes.get("SURGEON_ID"));
         assertEquals(username, attributes.get("USERNAME"));
+        assertEquals("ROLE_SURGEON", attributes.get("ROLE"));
 
-        verify(jwtService).extractUsername(validToken);
-        verify(jwtService).extractUserId(validToken);
+        // Un solo parseo y verificación del token
+        verify(jwtService, times(1)).verifyAndDecode(validToken);
+        verifyNoMoreInteractions(jwtService);
     }
 
     @Test
@@ -89,8 +98,7 @@ class HandshakeInterceptorImplTest {
         assertFalse(result);
         assertTrue(attributes.isEmpty());
 
-        verify(jwtService, never()).extractUsername(anyString());
-        verify(jwtService, never()).extractUserId(anyString());
+        verify(jwtService, never()).verifyAndDecode(anyString());
     }
 
     @Test
@@ -98,7 +106,7 @@ class HandshakeInterceptorImplTest {
     void beforeHandshake_Fails_WhenInvalidToken() {
         // Given
         when(request.getURI()).thenReturn(java.net.URI.create("ws://localhost:8080/ws/simulation?token=" + invalidToken));
-        when(jwtService.extractUsername(invalidToken)).thenThrow(new RuntimeException("Token inválido"));
+        when(jwtService.verifyAndDecode(invalidToken)).thenThrow(new JWTVerificationException("Token inválido"));
 
         Map<String, Object> attributes = new java.util.HashMap<>();
 
@@ -109,8 +117,26 @@ class HandshakeInterceptorImplTest {
         assertFalse(result);
         assertTrue(attributes.isEmpty());
 
-        verify(jwtService).extractUsername(invalidToken);
-        verify(jwtService, never()).extractUserId(anyString());
+        verify(jwtService).verifyAndDecode(invalidToken);
+    }
+
+    @Test
+    @DisplayName("beforeHandshake - Falla cuando el token fue revocado")
+    void beforeHandshake_Fails_WhenTokenRevoked() {
+        // Given
+        JwtClaims claims = new JwtClaims("jti-1", username, userId, "ROLE_SURGEON", Instant.now(), Instant.now().plusSeconds(3600));
+        when(request.getURI()).thenReturn(java.net.URI.create("ws://localhost:8080/ws/simulation?token=" + validToken));
+        when(jwtService.verifyAndDecode(validToken)).thenReturn(claims);
+        when(revocationList.isRevoked(claims)).thenReturn(true);
+
+        Map<String, Object> attributes = new java.util.HashMap<>();
+
+        // When
+        boolean result = handshakeInterceptor.beforeHandshake(request, response, wsHandler, attributes);
+
+        // Then
+        assertFalse(result);
+        assertTrue(attributes.isEmpty());
     }
 
     @Test
@@ -128,8 +154,7 @@ class HandshakeInterceptorImplTest {
         assertFalse(result);
         assertTrue(attributes.isEmpty());
 
-        verify(jwtService, never()).extractUsername(anyString());
-        verify(jwtService, never()).extractUserId(anyString());
+        verify(jwtService, never()).verifyAndDecode(anyString());
     }
 
     @Test
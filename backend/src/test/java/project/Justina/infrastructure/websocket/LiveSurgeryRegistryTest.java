@@ -0,0 +1,328 @@
+package project.Justina.infrastructure.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import project.Justina.domain.model.SurgeryEvent;
+import project.Justina.domain.model.SurgerySession;
+import project.Justina.domain.model.Trajectory;
+import project.Justina.domain.repository.SurgeryRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para LiveSurgeryRegistry")
+class LiveSurgeryRegistryTest {
+
+    @Mock
+    private SurgeryRepository surgeryRepository;
+
+    @Mock
+    private AIWebSocketHandler aiHandler;
+
+    @Mock
+    private WebSocketSession session;
+
+    private LiveSurgeryRegistry registry;
+    private UUID surgeonId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new LiveSurgeryRegistry(surgeryRepository, Runnable::run, Runnable::run, Runnable::run, aiHandler);
+        ReflectionTestUtils.setField(registry, "chunkSamples", 3);
+        surgeonId = UUID.randomUUID();
+        when(session.getId()).thenReturn("registry-session-id");
+    }
+
+    @Test
+    @DisplayName("append - Guarda un chunk al alcanzar el tamaño configurado")
+    void append_SavesChunk_WhenPendingReachesChunkSize() throws Exception {
+        // When
+        registry.append(session, surgeonId, samples(2));
+        verify(surgeryRepository, never()).saveChunk(any(), anyInt(), any());
+        registry.append(session, surgeonId, samples(2));
+
+        // Then
+        SurgerySession surgery = registry.getOrCreate(session, surgeonId);
+        verify(surgeryRepository).saveChunk(eq(surgery), eq(0), argThat(chunk -> chunk.size() == 4));
+        verify(surgeryRepository, never()).save(any());
+        assertEquals(1, surgery.getChunkCount());
+        assertEquals(0, surgery.getPendingSamples());
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("append - Encola el chunk en el escritor y sigue recibiendo muestras mientras tanto")
+    void append_WritesChunkOnWriteExecutor_WithoutBlockingIngestion() {
+        // Given
+        List<Runnable> queued = new ArrayList<>();
+        registry = new LiveSurgeryRegistry(surgeryRepository, Runnable::run, queued::add, Runnable::run, aiHandler);
+        ReflectionTestUtils.setField(registry, "chunkSamples", 3);
+
+        // When - el hilo de I/O no escribe y no encola un segundo chunk mientras el primero espera
+        registry.append(session, surgeonId, samples(4));
+        registry.append(session, surgeonId, samples(4));
+        registry.flushPending();
+
+        // Then
+        verifyNoInteractions(surgeryRepository);
+        assertEquals(1, queued.size());
+
+        // When - el escritor toma todo lo pendiente al ejecutarse
+        queued.get(0).run();
+
+        // Then
+        SurgerySession surgery = registry.getOrCreate(session, surgeonId);
+        verify(surgeryRepository).saveChunk(eq(surgery), eq(0), argThat(chunk -> chunk.size() == 8));
+        assertEquals(0, surgery.getPendingSamples());
+        assertEquals(1, surgery.getChunkCount());
+    }
+
+    @Test
+    @DisplayName("flushPending - Guarda solo las cirugías con muestras pendientes")
+    void flushPending_SavesOnlySessionsWithPendingSamples() throws Exception {
+        // Given
+        registry.append(session, surgeonId, samples(1));
+
+        // When
+        registry.flushPending();
+        registry.flushPending();
+
+        // Then
+        verify(surgeryRepository, times(1)).saveChunk(any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("release - Guarda lo pendiente y libera la cirugía al desconectarse sin FINISH")
+    void release_FlushesPendingAndForgetsSession() throws Exception {
+        // Given
+        registry.append(session, surgeonId, samples(1));
+        SurgerySession surgery = registry.getOrCreate(session, surgeonId);
+
+        // When
+        registry.release(session);
+
+        // Then
+        verify(surgeryRepository).saveChunk(eq(surgery), eq(0), argThat(chunk -> chunk.size() == 1));
+        assertNotSame(surgery, registry.getOrCreate(session, surgeonId));
+    }
+
+    @Test
+    @DisplayName("flushPending - Conserva las muestras si falla el guardado para reintentar")
+    void flushPending_KeepsSamples_WhenSaveFails() throws Exception {
+        // Given
+        doThrow(new IllegalStateException("DB caída")).when(surgeryRepository).saveChunk(any(), anyInt(), any());
+        registry.append(session, surgeonId, samples(1));
+
+        // When
+        registry.flushPending();
+
+        // Then
+        SurgerySession surgery = registry.getOrCreate(session, surgeonId);
+        assertEquals(1, surgery.getPendingSamples());
+        assertEquals(0, surgery.getChunkCount());
+    }
+
+    @Test
+    @DisplayName("finish - Guarda en el executor y responde SAVED al completarse")
+    void finish_PersistsOnExecutorAndRepliesSavedOnCompletion() throws Exception {
+        // Given
+        List<Runnable> queued = new ArrayList<>();
+        registry = new LiveSurgeryRegistry(surgeryRepository, queued::add, Runnable::run, Runnable::run, aiHandler);
+        Trajectory finish = samples(1);
+        finish.append(9.0, 9.0, 9.0, SurgeryEvent.FINISH, 10L);
+
+        // When
+        registry.append(session, surgeonId, finish);
+
+        // Then - el hilo de I/O no guarda ni responde
+        verify(surgeryRepository, never()).save(any());
+        verify(session, never()).sendMessage(any());
+        assertEquals(1, queued.size());
+
+        // When - el executor procesa la finalización
+        queued.get(0).run();
+
+        // Then
+        ArgumentCaptor<SurgerySession> surgery = ArgumentCaptor.forClass(SurgerySession.class);
+        verify(surgeryRepository).save(surgery.capture());
+        assertNotNull(surgery.getValue().getEndTime());
+        ArgumentCaptor<TextMessage> reply = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(reply.capture());
+        assertTrue(reply.getValue().getPayload().contains("\"status\":\"SAVED\""));
+        assertTrue(reply.getValue().getPayload().contains(surgery.getValue().getId().toString()));
+        verify(aiHandler).notificarNuevaCirugia(surgery.getValue().getId());
+    }
+
+    @Test
+    @DisplayName("finish - Reintenta en cada flush y responde ERROR recién al agotar los intentos")
+    void finish_RetriesOnFlushAndRepliesErrorAfterLastAttempt() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(registry, "finishAttempts", 2);
+        doThrow(new IllegalStateException("DB caída")).when(surgeryRepository).save(any());
+        Trajectory finish = new Trajectory(1);
+        finish.append(9.0, 9.0, 9.0, SurgeryEvent.FINISH, 10L);
+        registry.append(session, surgeonId, finish);
+        verify(session, never()).sendMessage(any());
+
+        // When
+        registry.flushPending();
+
+        // Then
+        verify(surgeryRepository, times(2)).save(any());
+        ArgumentCaptor<TextMessage> reply = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(reply.capture());
+        assertTrue(reply.getValue().getPayload().contains("\"status\":\"ERROR\""));
+        verifyNoInteractions(aiHandler);
+
+        // When - agotada, no se vuelve a intentar
+        registry.flushPending();
+
+        // Then
+        verify(surgeryRepository, times(2)).save(any());
+    }
+
+    @Test
+    @DisplayName("finish - Si el executor está saturado no guarda en el hilo de I/O y la guarda en el próximo flush")
+    void finish_SavesLater_WhenFinishExecutorRejects() throws Exception {
+        // Given - el executor rechaza la primera finalización y acepta las siguientes
+        boolean[] saturated = {true};
+        registry = new LiveSurgeryRegistry(surgeryRepository, task -> {
+            if (saturated[0]) {
+                saturated[0] = false;
+                throw new RejectedExecutionException("cola llena");
+            }
+            task.run();
+        }, Runnable::run, Runnable::run, aiHandler);
+        Trajectory finish = new Trajectory(1);
+        finish.append(9.0, 9.0, 9.0, SurgeryEvent.FINISH, 10L);
+
+        // When
+        registry.append(session, surgeonId, finish);
+
+        // Then - nada guardado ni respondido todavía
+        verify(surgeryRepository, never()).save(any());
+        verify(session, never()).sendMessage(any());
+
+        // When
+        registry.flushPending();
+
+        // Then
+        ArgumentCaptor<SurgerySession> surgery = ArgumentCaptor.forClass(SurgerySession.class);
+        verify(surgeryRepository).save(surgery.capture());
+        assertEquals(1, surgery.getValue().getPendingSamples());
+        assertNotNull(surgery.getValue().getEndTime());
+        ArgumentCaptor<TextMessage> reply = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(reply.capture());
+        assertTrue(reply.getValue().getPayload().contains("\"status\":\"SAVED\""));
+        verify(aiHandler).notificarNuevaCirugia(surgery.getValue().getId());
+    }
+
+    @Test
+    @DisplayName("finish - Incluye en el SAVED las métricas acumuladas entre bloques")
+    void finish_IncludesMetricsAccumulatedAcrossBlocks() throws Exception {
+        // Given - el primer bloque ya se guardó como chunk
+        Trajectory first = new Trajectory();
+        first.append(0.0, 0.0, 0.0, SurgeryEvent.START, 1000L);
+        first.append(3.0, 4.0, 0.0, SurgeryEvent.NONE, 2000L);
+        first.append(3.0, 4.0, 0.0, SurgeryEvent.NONE, 2000L);
+        registry.append(session, surgeonId, first);
+        Trajectory last = new Trajectory();
+        last.append2D(3.0, 0.0, SurgeryEvent.FINISH, 3000L);
+
+        // When
+        registry.append(session, surgeonId, last);
+
+        // Then
+        ArgumentCaptor<TextMessage> reply = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(reply.capture());
+        String payload = reply.getValue().getPayload();
+        assertTrue(payload.contains("\"status\":\"SAVED\""));
+        assertTrue(payload.contains("\"samples\":4"));
+        assertTrue(payload.contains("\"pathLength\":9.0"));
+        assertTrue(payload.contains("\"economyOfMotion\":3.0"));
+    }
+
+    @Test
+    @DisplayName("pushFeedback - Envía métricas en vivo y alertas de eventos nuevos")
+    void pushFeedback_SendsLiveMetricsAndNewEventAlerts() throws Exception {
+        // Given
+        Trajectory frame = new Trajectory();
+        frame.append(0.0, 0.0, 0.0, SurgeryEvent.START, 1000L);
+        frame.append(3.0, 4.0, 0.0, SurgeryEvent.HEMORRHAGE, 2000L);
+        registry.append(session, surgeonId, frame);
+
+        // When
+        registry.pushFeedback();
+        registry.pushFeedback();
+
+        // Then - sin muestras nuevas no se repite el envío
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(sent.capture());
+        String payload = sent.getValue().getPayload();
+        assertTrue(payload.contains("\"event\":\"FEEDBACK\""));
+        assertTrue(payload.contains("\"samples\":2"));
+        assertTrue(payload.contains("\"speed\":5.0"));
+        assertTrue(payload.contains("\"hemorrhages\":1"));
+        assertTrue(payload.contains("\"alerts\":[\"HEMORRHAGE\"]"));
+    }
+
+    @Test
+    @DisplayName("pushFeedback - Reemplaza el feedback que el cliente aún no recibió")
+    void pushFeedback_CoalescesWhileClientIsBusy() throws Exception {
+        // Given - el escritor todavía no drenó la cola
+        List<Runnable> writes = new ArrayList<>();
+        registry = new LiveSurgeryRegistry(surgeryRepository, Runnable::run, Runnable::run, writes::add, aiHandler);
+        registry.append(session, surgeonId, samples(1));
+        registry.pushFeedback();
+        registry.append(session, surgeonId, samples(2));
+        registry.pushFeedback();
+
+        // When
+        writes.forEach(Runnable::run);
+
+        // Then - un único envío con el estado más reciente
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(sent.capture());
+        assertTrue(sent.getValue().getPayload().contains("\"samples\":3"));
+    }
+
+    @Test
+    @DisplayName("pushFeedback - No envía nada si está deshabilitado")
+    void pushFeedback_DoesNothing_WhenDisabled() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(registry, "feedbackEnabled", false);
+        registry.append(session, surgeonId, samples(1));
+
+        // When
+        registry.pushFeedback();
+
+        // Then
+        verify(session, never()).sendMessage(any());
+    }
+
+    private static Trajectory samples(int count) {
+        Trajectory samples = new Trajectory(count);
+        for (int i = 0; i < count; i++) {
+            samples.append(i, i, i, SurgeryEvent.NONE, i + 1);
+        }
+        return samples;
+    }
+}
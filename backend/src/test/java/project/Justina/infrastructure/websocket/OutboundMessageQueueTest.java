@@ -0,0 +1,153 @@
+package project.Justina.infrastructure.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import project.Justina.infrastructure.websocket.OutboundMessageQueue.OverflowPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios para OutboundMessageQueue")
+class OutboundMessageQueueTest {
+
+    @Mock
+    private WebSocketSession session;
+
+    // Escritor manual: el test decide cuándo se drena la cola
+    private List<Runnable> writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("offer - Encola sin enviar y un único escritor drena en orden")
+    void offer_DoesNotSendAndSingleWriterDrainsInOrder() throws Exception {
+        // Given
+        OutboundMessageQueue queue = new OutboundMessageQueue(session, 8, OverflowPolicy.DROP_OLDEST, writer::add);
+
+        // When
+        queue.offer("a", "1");
+        queue.offer("b", "2");
+        queue.offer("c", "3");
+
+        // Then
+        verify(session, never()).sendMessage(any());
+        assertEquals(1, writer.size());
+
+        // When
+        writer.get(0).run();
+
+        // Then
+        assertEquals(List.of("1", "2", "3"), sentPayloads(3));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("offer - DROP_OLDEST descarta el mensaje más viejo con la cola llena")
+    void offer_DropOldest_DiscardsOldestWhenFull() throws Exception {
+        // Given
+        OutboundMessageQueue queue = new OutboundMessageQueue(session, 2, OverflowPolicy.DROP_OLDEST, writer::add);
+
+        // When
+        queue.offer("a", "1");
+        queue.offer("b", "2");
+        queue.offer("c", "3");
+        writer.get(0).run();
+
+        // Then
+        assertEquals(List.of("2", "3"), sentPayloads(2));
+        assertEquals(1, queue.dropped());
+    }
+
+    @Test
+    @DisplayName("offer - REJECT no encola ni descarta nada con la cola llena")
+    void offer_Reject_RefusesNewMessageWhenFull() throws Exception {
+        // Given
+        OutboundMessageQueue queue = new OutboundMessageQueue(session, 2, OverflowPolicy.REJECT, writer::add);
+        queue.offer("a", "1");
+        queue.offer("b", "2");
+
+        // When
+        boolean accepted = queue.offer("c", "3");
+
+        // Then
+        assertFalse(accepted);
+        assertFalse(queue.hasRoom());
+        writer.get(0).run();
+        assertEquals(List.of("1", "2"), sentPayloads(2));
+        assertEquals(0, queue.dropped());
+        assertTrue(queue.hasRoom());
+    }
+
+    @Test
+    @DisplayName("offer - COALESCE reemplaza el mensaje encolado con la misma clave")
+    void offer_Coalesce_ReplacesQueuedMessageWithSameKey() throws Exception {
+        // Given
+        OutboundMessageQueue queue = new OutboundMessageQueue(session, 2, OverflowPolicy.COALESCE, writer::add);
+
+        // When
+        queue.offer("a", "1");
+        queue.offer("b", "2");
+        queue.offer("a", "1-bis");
+        writer.get(0).run();
+
+        // Then
+        assertEquals(List.of("1-bis", "2"), sentPayloads(2));
+        assertEquals(0, queue.dropped());
+    }
+
+    @Test
+    @DisplayName("offer - DISCONNECT cierra la sesión con la cola llena")
+    void offer_Disconnect_ClosesSessionWhenFull() throws Exception {
+        // Given
+        OutboundMessageQueue queue = new OutboundMessageQueue(session, 1, OverflowPolicy.DISCONNECT, writer::add);
+        queue.offer("a", "1");
+
+        // When
+        boolean accepted = queue.offer("b", "2");
+        writer.forEach(Runnable::run);
+
+        // Then
+        assertFalse(accepted);
+        assertFalse(queue.offer("c", "3"));
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("close - Descarta lo pendiente y rechaza nuevos mensajes")
+    void close_DiscardsPendingAndRejectsNewMessages() throws Exception {
+        // Given
+        OutboundMessageQueue queue = new OutboundMessageQueue(session, 4, OverflowPolicy.DROP_OLDEST, writer::add);
+        queue.offer("a", "1");
+
+        // When
+        queue.close();
+        writer.forEach(Runnable::run);
+
+        // Then
+        assertFalse(queue.offer("b", "2"));
+        verify(session, never()).sendMessage(any());
+    }
+
+    private List<String> sentPayloads(int expected) throws Exception {
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(expected)).sendMessage(captor.capture());
+        return captor.getAllValues().stream().map(TextMessage::getPayload).toList();
+    }
+}
@@ -7,7 +7,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import jakarta.validation.Validator;
@@ -15,6 +14,7 @@ import jakarta.validation.ConstraintViolation;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
+import project.Justina.domain.dto.TelemetryBatchDTO;
 import project.Justina.domain.dto.TelemetryDTO;
 import project.Justina.domain.model.Movement;
 import project.Justina.domain.model.SurgeryEvent;
@@ -41,13 +41,15 @@ class SimulationWebSocketHandlerTest {
     @Mock
     private SurgeryRepository surgeryRepository;
 
+    @Mock
+    private AIWebSocketHandler aiHandler;
+
     @Mock
     private Validator validator;
 
     @Mock
     private WebSocketSession session;
 
-    @InjectMocks
     private SimulationWebSocketHandler webSocketHandler;
 
     @Captor
@@ -62,6 +64,7 @@ class SimulationWebSocketHandlerTest {
 
     @BeforeEach
     void setUp() {
+        webSocketHandler = new SimulationWebSocketHandler(objectMapper, new LiveSurgeryRegistry(surgeryRepository, Runnable::run, Runnable::run, Runnable::run, aiHandler), validator);
         surgeonId = UUID.randomUUID();
         validToken = "valid.jwt.token";
 
@@ -90,7 +93,7 @@ class SimulationWebSocketHandlerTest {
     }
 
     @Test
-    @DisplayName("handleTextMessage - Procesa mensaje válido y agrega movimiento")
+    @DisplayName("handleTextMessage - Procesa mensaje válido por el camino rápido sin Jackson ni Validator")
     void handleTextMessage_ProcessesValidMessage() throws Exception {
         // Given
         String validJson = "{\"coordinates\":[1.0,2.0,3.0],\"event\":\"START\",\"timestamp\":1234567890}";
@@ -101,16 +104,13 @@ class SimulationWebSocketHandlerTest {
         sessionAttributes.put("USERNAME", "test_surgeon");
         when(session.getAttributes()).thenReturn(sessionAttributes);
         when(session.getId()).thenReturn("test-session-id");
-        
-        when(objectMapper.readValue(validJson, TelemetryDTO.class)).thenReturn(validTelemetryDTO);
-        when(validator.validate(validTelemetryDTO)).thenReturn(java.util.Set.of());
 
         // When
         webSocketHandler.handleTextMessage(session, new TextMessage(validJson));
 
         // Then
-        verify(objectMapper).readValue(validJson, TelemetryDTO.class);
-        verify(validator).validate(validTelemetryDTO);
+        verify(objectMapper, never()).readValue(anyString(), eq(TelemetryDTO.class));
+        verify(validator, never()).validate(any(TelemetryDTO.class));
         verify(session, never()).close(any(CloseStatus.class));
         verify(surgeryRepository, never()).save(any(SurgerySession.class));
     }
@@ -144,15 +144,11 @@ class SimulationWebSocketHandlerTest {
         when(session.getAttributes()).thenReturn(emptyAttributes);
         
         String validJson = "{\"coordinates\":[1.0,2.0,3.0],\"event\":\"START\",\"timestamp\":1234567890}";
-        when(objectMapper.readValue(validJson, TelemetryDTO.class)).thenReturn(validTelemetryDTO);
-        when(validator.validate(validTelemetryDTO)).thenReturn(java.util.Set.of());
 
         // When
         webSocketHandler.handleTextMessage(session, new TextMessage(validJson));
 
         // Then
-        verify(objectMapper).readValue(validJson, TelemetryDTO.class);
-        verify(validator).validate(validTelemetryDTO);
         verify(session).close(CloseStatus.POLICY_VIOLATION);
         verify(surgeryRepository, never()).save(any(SurgerySession.class));
     }
@@ -161,12 +157,6 @@ class SimulationWebSocketHandlerTest {
     @DisplayName("handleTextMessage - Persiste cirugía cuando recibe evento FINISH")
     void handleTextMessage_PersistsSurgery_WhenFinishEvent() throws Exception {
         // Given
-        TelemetryDTO finishTelemetryDTO = new TelemetryDTO(
-            new double[]{5.0, 6.0, 7.0},
-            SurgeryEvent.FINISH,
-            System.currentTimeMillis()
-        );
-
         String finishJson = "{\"coordinates\":[5.0,6.0,7.0],\"event\":\"FINISH\",\"timestamp\":1234567890}";
         
         // Configurar atributos de sesión
@@ -175,15 +165,12 @@ class SimulationWebSocketHandlerTest {
         when(session.getAttributes()).thenReturn(sessionAttributes);
         when(session.getId()).thenReturn("test-session-id");
         
-        when(objectMapper.readValue(finishJson, TelemetryDTO.class)).thenReturn(finishTelemetryDTO);
-        when(validator.validate(finishTelemetryDTO)).thenReturn(java.util.Set.of());
 
         // When
         webSocketHandler.handleTextMessage(session, new TextMessage(finishJson));
 
         // Then
-        verify(objectMapper).readValue(finishJson, TelemetryDTO.class);
-        verify(validator).validate(finishTelemetryDTO);
+        verify(objectMapper, never()).readValue(anyString(), eq(TelemetryDTO.class));
         verify(surgeryRepository).save(any(SurgerySession.class));
         verify(session).sendMessage(messageCaptor.capture());
         
@@ -197,12 +184,6 @@ class SimulationWebSocketHandlerTest {
     @DisplayName("handleTextMessage - No persiste cirugía para eventos diferentes de FINISH")
     void handleTextMessage_DoesNotPersist_WhenNotFinishEvent() throws Exception {
         // Given
-        TelemetryDTO startTelemetryDTO = new TelemetryDTO(
-            new double[]{1.0, 2.0, 3.0},
-            SurgeryEvent.START,
-            System.currentTimeMillis()
-        );
-
         String startJson = "{\"coordinates\":[1.0,2.0,3.0],\"event\":\"START\",\"timestamp\":1234567890}";
         
         // Configurar atributos de sesión
@@ -211,15 +192,11 @@ class SimulationWebSocketHandlerTest {
         when(session.getAttributes()).thenReturn(sessionAttributes);
         when(session.getId()).thenReturn("test-session-id");
         
-        when(objectMapper.readValue(startJson, TelemetryDTO.class)).thenReturn(startTelemetryDTO);
-        when(validator.validate(startTelemetryDTO)).thenReturn(java.util.Set.of());
 
         // When
         webSocketHandler.handleTextMessage(session, new TextMessage(startJson));
 
         // Then
-        verify(objectMapper).readValue(startJson, TelemetryDTO.class);
-        verify(validator).validate(startTelemetryDTO);
         verify(surgeryRepository, never()).save(any(SurgerySession.class));
         verify(session, never()).sendMessage(any(TextMessage.class));
     }
@@ -277,4 +254,132 @@ class SimulationWebSocketHandlerTest {
         verify(objectMapper).readValue(invalidJson, TelemetryDTO.class);
         verify(session, never()).close(any(CloseStatus.class));
     }
+
+    @Test
+    @DisplayName("handleTextMessage - Usa Jackson y Validator como fallback para frames con otra forma")
+    void handleTextMessage_FallsBackToJackson_WhenFrameHasUnexpectedShape() throws Exception {
+        // Given - clave extra que el camino rápido no reconoce
+        String unusualJson = "{\"coordinates\":[1.0,2.0,3.0],\"event\":\"START\",\"timestamp\":1234567890,\"extra\":true}";
+
+        Map<String, Object> sessionAttributes = new ConcurrentHashMap<>();
+        sessionAttributes.put("SURGEON_ID", surgeonId);
+        when(session.getAttributes()).thenReturn(sessionAttributes);
+        when(session.getId()).thenReturn("test-session-id");
+
+        when(objectMapper.readValue(unusualJson, TelemetryDTO.class)).thenReturn(validTelemetryDTO);
+        when(validator.validate(validTelemetryDTO)).thenReturn(java.util.Set.of());
+
+        // When
+        webSocketHandler.handleTextMessage(session, new TextMessage(unusualJson));
+
+        // Then
+        verify(objectMapper).readValue(unusualJson, TelemetryDTO.class);
+        verify(validator).validate(validTelemetryDTO);
+        verify(session, never()).close(any(CloseStatus.class));
+    }
+
+    @Test
+    @DisplayName("handleTextMessage - Persiste las muestras del camino rápido y del fallback en orden")
+    void handleTextMessage_PersistsFastAndFallbackSamplesInOrder() throws Exception {
+        // Given
+        Map<String, Object> sessionAttributes = new ConcurrentHashMap<>();
+        sessionAttributes.put("SURGEON_ID", surgeonId);
+        when(session.getAttributes()).thenReturn(sessionAttributes);
+        when(session.getId()).thenReturn("test-session-id");
+
+        String fallbackJson = "{ \"timestamp\": 100, \"coordinates\": [1.0, 2.0], \"event\": \"START\", \"note\": null }";
+        when(objectMapper.readValue(fallbackJson, TelemetryDTO.class))
+            .thenReturn(new TelemetryDTO(new double[]{1.0, 2.0}, SurgeryEvent.START, 100L));
+        when(validator.validate(any(TelemetryDTO.class))).thenReturn(java.util.Set.of());
+
+        // When
+        webSocketHandler.handleTextMessage(session, new TextMessage(fallbackJson));
+        webSocketHandler.handleTextMessage(session, new TextMessage(
+            "{\"coordinates\":[3.5,-4.25,1e-3],\"event\":\"HEMORRHAGE\",\"timestamp\":200}"));
+        webSocketHandler.handleTextMessage(session, new TextMessage(
+            "{\"event\":\"FINISH\",\"timestamp\":300,\"coordinates\":[0,0]}"));
+
+        // Then
+        ArgumentCaptor<SurgerySession> surgeryCaptor = ArgumentCaptor.forClass(SurgerySession.class);
+        verify(surgeryRepository).save(surgeryCaptor.capture());
+
+        List<Movement> trajectory = surgeryCaptor.getValue().getTrajectory();
+        assertEquals(List.of(
+            new Movement(new double[]{1.0, 2.0}, SurgeryEvent.START, 100L),
+            new Movement(new double[]{3.5, -4.25, 0.001}, SurgeryEvent.HEMORRHAGE, 200L),
+            new Movement(new double[]{0.0, 0.0}, SurgeryEvent.FINISH, 300L)
+        ), trajectory);
+        assertEquals(surgeonId, surgeryCaptor.getValue().getSurgeonId());
+    }
+
+    @Test
+    @DisplayName("handleTextMessage - Agrega un lote completo en una sola operación")
+    void handleTextMessage_AppendsWholeBatch() throws Exception {
+        // Given
+        Map<String, Object> sessionAttributes = new ConcurrentHashMap<>();
+        sessionAttributes.put("SURGEON_ID", surgeonId);
+        when(session.getAttributes()).thenReturn(sessionAttributes);
+        when(session.getId()).thenReturn("test-session-id");
+
+        String batchJson = "{\"seq\":1,\"samples\":["
+            + "{\"coordinates\":[1.0,2.0,3.0],\"event\":\"START\",\"timestamp\":100},"
+            + "{\"coordinates\":[1.5,2.5,3.5],\"event\":\"NONE\",\"timestamp\":110},"
+            + "{\"coordinates\":[2.0,3.0,4.0],\"event\":\"FINISH\",\"timestamp\":120}]}";
+
+        // When
+        webSocketHandler.handleTextMessage(session, new TextMessage(batchJson));
+
+        // Then
+        ArgumentCaptor<SurgerySession> surgeryCaptor = ArgumentCaptor.forClass(SurgerySession.class);
+        verify(surgeryRepository).save(surgeryCaptor.capture());
+        assertEquals(3, surgeryCaptor.getValue().getTrajectory().size());
+        verify(objectMapper, never()).readValue(anyString(), any(Class.class));
+        verify(session).sendMessage(any(TextMessage.class));
+    }
+
+    @Test
+    @DisplayName("handleTextMessage - Descarta lotes con número de secuencia repetido o anterior")
+    void handleTextMessage_DropsDuplicateOrOutOfOrderBatches() throws Exception {
+        // Given
+        Map<String, Object> sessionAttributes = new ConcurrentHashMap<>();
+        sessionAttributes.put("SURGEON_ID", surgeonId);
+        when(session.getAttributes()).thenReturn(sessionAttributes);
+        when(session.getId()).thenReturn("test-session-id");
+
+        String batch2 = "{\"seq\":2,\"samples\":[{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":100}]}";
+        String batch1 = "{\"seq\":1,\"samples\":[{\"coordinates\":[1,2],\"event\":\"NONE\",\"timestamp\":50}]}";
+        String finish = "{\"seq\":3,\"samples\":[{\"coordinates\":[1,2],\"event\":\"FINISH\",\"timestamp\":200}]}";
+
+        // When
+        webSocketHandler.handleTextMessage(session, new TextMessage(batch2));
+        webSocketHandler.handleTextMessage(session, new TextMessage(batch2));
+        webSocketHandler.handleTextMessage(session, new TextMessage(batch1));
+        webSocketHandler.handleTextMessage(session, new TextMessage(finish));
+
+        // Then
+        ArgumentCaptor<SurgerySession> surgeryCaptor = ArgumentCaptor.forClass(SurgerySession.class);
+        verify(surgeryRepository).save(surgeryCaptor.capture());
+        assertEquals(List.of(
+            new Movement(new double[]{1.0, 2.0}, SurgeryEvent.START, 100L),
+            new Movement(new double[]{1.0, 2.0}, SurgeryEvent.FINISH, 200L)
+        ), surgeryCaptor.getValue().getTrajectory());
+    }
+
+    @Test
+    @DisplayName("handleTextMessage - Cierra con BAD_DATA cuando un lote no pasa la validación")
+    void handleTextMessage_ClosesWithBadData_WhenBatchInvalid() throws Exception {
+        // Given
+        String invalidBatch = "{\"seq\":1,\"samples\":[{\"coordinates\":[1.0],\"event\":\"START\",\"timestamp\":1}]}";
+        TelemetryBatchDTO batchDTO = new TelemetryBatchDTO(1L, List.of(invalidTelemetryDTO));
+        when(objectMapper.readValue(invalidBatch, TelemetryBatchDTO.class)).thenReturn(batchDTO);
+        when(validator.validate(batchDTO)).thenReturn(java.util.Set.of(mock(ConstraintViolation.class)));
+
+        // When
+        webSocketHandler.handleTextMessage(session, new TextMessage(invalidBatch));
+
+        // Then
+        verify(objectMapper).readValue(invalidBatch, TelemetryBatchDTO.class);
+        verify(session).close(CloseStatus.BAD_DATA);
+        verify(surgeryRepository, never()).save(any(SurgerySession.class));
+    }
 }
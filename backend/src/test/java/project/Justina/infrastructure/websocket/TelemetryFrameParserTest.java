@@ -0,0 +1,132 @@
+package project.Justina.infrastructure.websocket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import project.Justina.domain.model.Movement;
+import project.Justina.domain.model.SurgeryEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios para TelemetryFrameParser")
+class TelemetryFrameParserTest {
+
+    private TelemetryFrameParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new TelemetryFrameParser();
+    }
+
+    @Test
+    @DisplayName("parse - Lee un frame 3D al buffer de muestras")
+    void parse_ReadsFrame3D() {
+        // When
+        boolean parsed = parser.parse("{\"coordinates\":[1.0,2.5,-3.25],\"event\":\"HEMORRHAGE\",\"timestamp\":1700000000123}");
+
+        // Then
+        assertTrue(parsed);
+        assertFalse(parser.isBatch());
+        assertEquals(-1, parser.sequence());
+        assertEquals(1, parser.samples().size());
+        assertEquals(new Movement(new double[]{1.0, 2.5, -3.25}, SurgeryEvent.HEMORRHAGE, 1700000000123L),
+                parser.samples().get(0));
+    }
+
+    @Test
+    @DisplayName("parse - Acepta frames 2D, espacios y claves en cualquier orden")
+    void parse_AcceptsFrame2DWithWhitespaceAndAnyKeyOrder() {
+        // When
+        boolean parsed = parser.parse(" {\n \"timestamp\" : 42 , \"event\":\"NONE\", \"coordinates\": [ 10 , 20 ] } ");
+
+        // Then
+        assertTrue(parsed);
+        assertEquals(new Movement(new double[]{10.0, 20.0}, SurgeryEvent.NONE, 42L), parser.samples().get(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.1", "123.456", "-0.000123", "1e-3", "6.02E23", "0.30000000000000004", "3.141592653589793"})
+    @DisplayName("parse - Convierte números igual que Double.parseDouble")
+    void parse_ConvertsNumbersLikeDoubleParseDouble(String number) {
+        // When
+        boolean parsed = parser.parse("{\"coordinates\":[" + number + ",0],\"event\":\"NONE\",\"timestamp\":1}");
+
+        // Then
+        assertTrue(parsed);
+        assertEquals(Double.parseDouble(number), parser.samples().x(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"coordinates\":[1.0],\"event\":\"START\",\"timestamp\":1}",
+            "{\"coordinates\":[1,2,3,4],\"event\":\"START\",\"timestamp\":1}",
+            "{\"coordinates\":[],\"event\":\"START\",\"timestamp\":1}",
+            "{\"coordinates\":null,\"event\":\"START\",\"timestamp\":1}",
+            "{\"coordinates\":[1,2],\"event\":null,\"timestamp\":1}",
+            "{\"coordinates\":[1,2],\"event\":\"UNKNOWN\",\"timestamp\":1}",
+            "{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":0}",
+            "{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":-5}",
+            "{\"coordinates\":[1,2],\"event\":\"START\"}",
+            "{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":1,\"extra\":1}",
+            "{\"coordinates\":[1,2],\"event\":\"ST\\u0041RT\",\"timestamp\":1}",
+            "{\"coordinates\":[01,2],\"event\":\"START\",\"timestamp\":1}",
+            "{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":1.5}",
+            "{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":1} trailing",
+            "invalid json",
+            ""
+    })
+    @DisplayName("parse - Delega al fallback frames inválidos o con forma inesperada")
+    void parse_RejectsInvalidOrUnusualFrames(String frame) {
+        // When & Then
+        assertFalse(parser.parse(frame));
+    }
+
+    @Test
+    @DisplayName("parse - Reutiliza la instancia entre frames")
+    void parse_ReusesInstanceAcrossFrames() {
+        // When
+        assertFalse(parser.parse("{\"coordinates\":[1,2,3],\"event\":\"BAD\",\"timestamp\":1}"));
+        assertTrue(parser.parse("{\"coordinates\":[4,5],\"event\":\"FINISH\",\"timestamp\":2}"));
+
+        // Then
+        assertEquals(new Movement(new double[]{4.0, 5.0}, SurgeryEvent.FINISH, 2L), parser.samples().get(0));
+    }
+
+    @Test
+    @DisplayName("parse - Lee un lote con número de secuencia")
+    void parse_ReadsBatchEnvelope() {
+        // When
+        boolean parsed = parser.parse("{\"seq\":7,\"samples\":["
+                + "{\"coordinates\":[1,2,3],\"event\":\"START\",\"timestamp\":10},"
+                + "{\"timestamp\":20,\"coordinates\":[4,5],\"event\":\"KIDNEY_TOUCH\"}]}");
+
+        // Then
+        assertTrue(parsed);
+        assertTrue(parser.isBatch());
+        assertEquals(7, parser.sequence());
+        assertEquals(List.of(
+                new Movement(new double[]{1.0, 2.0, 3.0}, SurgeryEvent.START, 10L),
+                new Movement(new double[]{4.0, 5.0}, SurgeryEvent.KIDNEY_TOUCH, 20L)
+        ), parser.samples());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"seq\":1,\"samples\":[]}",
+            "{\"samples\":[{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":1}]}",
+            "{\"seq\":-1,\"samples\":[{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":1}]}",
+            "{\"seq\":1,\"samples\":[{\"coordinates\":[1],\"event\":\"START\",\"timestamp\":1}]}",
+            "{\"seq\":1,\"samples\":[{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":1,\"x\":1}]}",
+            "{\"seq\":1,\"event\":\"START\",\"samples\":[{\"coordinates\":[1,2],\"event\":\"START\",\"timestamp\":1}]}"
+    })
+    @DisplayName("parse - Delega al fallback lotes inválidos, marcándolos como lote")
+    void parse_RejectsInvalidBatches(String frame) {
+        // When & Then
+        assertFalse(parser.parse(frame));
+        assertTrue(parser.isBatch());
+    }
+}
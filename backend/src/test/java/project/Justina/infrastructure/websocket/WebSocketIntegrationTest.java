@@ -9,9 +9,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.client.WebSocketClient;
 import org.springframework.web.socket.client.standard.StandardWebSocketClient;
@@ -21,10 +24,16 @@ import project.Justina.domain.dto.TelemetryDTO;
 import project.Justina.domain.model.SurgeryEvent;
 import project.Justina.domain.model.SurgerySession;
 import project.Justina.domain.repository.SurgeryRepository;
+import project.Justina.infrastructure.security.JwtClaims;
 import project.Justina.infrastructure.security.JwtService;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -56,6 +65,9 @@ class WebSocketIntegrationTest {
     @Mock
     private WebSocketSession session;
 
+    @LocalServerPort
+    private int port;
+
     private ObjectMapper objectMapper;
     private String testUsername;
     private String testPassword;
@@ -80,8 +92,8 @@ class WebSocketIntegrationTest {
         when(request.getURI()).thenReturn(uri);
         
         // Mock JWT service behavior
-        when(jwtService.extractUsername(validToken)).thenReturn(testUsername);
-        when(jwtService.extractUserId(validToken)).thenReturn(testSurgeonId);
+        when(jwtService.verifyAndDecode(validToken))
+                .thenReturn(new JwtClaims("jti-1", testUsername, testSurgeonId, "ROLE_SURGEON", Instant.now(), Instant.now().plusSeconds(3600)));
 
         // When
         boolean result = handshakeInterceptor.beforeHandshake(
@@ -105,7 +117,7 @@ class WebSocketIntegrationTest {
         when(request.getURI()).thenReturn(uri);
         
         // Mock JWT service to throw exception for invalid token
-        when(jwtService.extractUsername(invalidToken)).thenThrow(new RuntimeException("Invalid token"));
+        when(jwtService.verifyAndDecode(invalidToken)).thenThrow(new RuntimeException("Invalid token"));
         
         // When
         boolean result = handshakeInterceptor.beforeHandshake(
@@ -172,9 +184,9 @@ class WebSocketIntegrationTest {
         // When
         simulationWebSocketHandler.handleTextMessage(session, textMessage);
 
-        // Then
-        verify(surgeryRepository).save(any(SurgerySession.class));
-        verify(session).sendMessage(any(TextMessage.class));
+        // Then - la finalización corre en surgeryFinishExecutor
+        verify(surgeryRepository, timeout(2000)).save(any(SurgerySession.class));
+        verify(session, timeout(2000)).sendMessage(any(TextMessage.class));
     }
 
     @Test
@@ -269,8 +281,43 @@ class WebSocketIntegrationTest {
         simulationWebSocketHandler.handleTextMessage(session1, new TextMessage(finishJson));
 
         // Then
-        verify(surgeryRepository, times(1)).save(any(SurgerySession.class));
-        verify(session1).sendMessage(any(TextMessage.class));
+        verify(surgeryRepository, timeout(2000).times(1)).save(any(SurgerySession.class));
+        verify(session1, timeout(2000)).sendMessage(any(TextMessage.class));
         verify(session2, never()).sendMessage(any(TextMessage.class));
     }
+
+    @Test
+    @DisplayName("WebSocket Binario - Negocia el subprotocolo y persiste la cirugía con FINISH")
+    void websocketBinaryProtocol_NegotiatesSubprotocolAndPersistsSurgery() throws Exception {
+        // Given
+        when(jwtService.verifyAndDecode(validToken))
+                .thenReturn(new JwtClaims("jti-1", testUsername, testSurgeonId, "ROLE_SURGEON", Instant.now(), Instant.now().plusSeconds(3600)));
+
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketProtocol(List.of(SimulationWebSocketRouter.BINARY_PROTOCOL));
+
+        WebSocketClient client = new StandardWebSocketClient();
+        WebSocketSession clientSession = client.execute(new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession s, TextMessage message) {
+                reply.complete(message.getPayload());
+            }
+        }, headers, URI.create("ws://localhost:" + port + "/ws/simulation?token=" + validToken)).get(5, TimeUnit.SECONDS);
+
+        ByteBuffer frame = ByteBuffer.allocate(2 * BinaryTelemetryWebSocketHandler.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        frame.putDouble(1.0).putDouble(2.0).putDouble(3.0).putLong(100L).put((byte) SurgeryEvent.START.ordinal());
+        frame.putDouble(4.0).putDouble(5.0).putDouble(6.0).putLong(200L).put((byte) SurgeryEvent.FINISH.ordinal());
+        frame.flip();
+
+        // When
+        clientSession.sendMessage(new BinaryMessage(frame));
+
+        // Then
+        assertEquals(SimulationWebSocketRouter.BINARY_PROTOCOL, clientSession.getAcceptedProtocol());
+        assertTrue(reply.get(5, TimeUnit.SECONDS).contains("\"status\":\"SAVED\""));
+        verify(surgeryRepository).save(argThat(surgery -> surgery.getTrajectory().size() == 2
+                && testSurgeonId.equals(surgery.getSurgeonId())));
+        clientSession.close();
+    }
 }
@@ -2,11 +2,15 @@ import requests
 import time
 from config import BASE_URL, IA_USERNAME, IA_PASSWORD, REQUEST_TIMEOUT, RETRY_ATTEMPTS
 
+# Se renueva el token de acceso un poco antes de que venza
+TOKEN_EXPIRY_MARGIN = 30
+
 
 class JustinaAIClient:
     def __init__(self):
         self.base_url = BASE_URL
         self.token = None
+        self.refresh_token = None
         self.token_expiration = None
 
     def login(self):
@@ -23,39 +27,74 @@ class JustinaAIClient:
                 print(f"❌ Error en login: {response.status_code}")
                 return False
 
-            data = response.json()
-            self.token = response.cookies.get("jwt-token")
-            
-            # Fallback en caso de que aún venga en el JSON
-            if not self.token:
-                self.token = data.get("token")
-                
-            if not self.token:
+            if not self._store_tokens(response):
                 print("❌ No se encontró el token de autenticación en la respuesta")
                 return False
-                
-            self.token_expiration = time.time() + (60 * 60 * 24)
+
             print("✅ Login exitoso")
             return True
         except Exception as e:
             print(f"❌ Error de conexión: {e}")
             return False
 
+    def refresh(self):
+        """Rota el refresh token por un par nuevo; el anterior deja de servir."""
+        if not self.refresh_token:
+            return False
+
+        url = f"{self.base_url}/api/v1/auth/refresh"
+        try:
+            response = requests.post(url, json={"refreshToken": self.refresh_token}, timeout=REQUEST_TIMEOUT)
+            if response.status_code != 200:
+                print(f"⚠️ No se pudo renovar la sesión: {response.status_code}")
+                self.refresh_token = None
+                return False
+            return self._store_tokens(response)
+        except Exception as e:
+            print(f"❌ Error de conexión al renovar la sesión: {e}")
+            return False
+
     def ensure_authenticated(self):
-        if not self.token or time.time() > self.token_expiration:
-            return self.login()
+        if self.token and time.time() < self.token_expiration:
+            return True
+        # El token de acceso dura poco: se renueva con el refresh token y, si no se puede, login
+        return self.refresh() or self.login()
+
+    def _store_tokens(self, response):
+        data = response.json()
+        token = response.cookies.get("jwt-token") or data.get("token")
+        if not token:
+            return False
+
+        self.token = token
+        self.refresh_token = response.cookies.get("refresh-token") or data.get("refreshToken")
+        # expiresIn viene en segundos; el backend decide cuánto dura el token de acceso
+        expires_in = int(data.get("expiresIn", 0))
+        self.token_expiration = time.time() + max(expires_in - TOKEN_EXPIRY_MARGIN, 0)
         return True
 
+    def _authorized_request(self, method, url, **kwargs):
+        """Hace la request con el token vigente; ante un 401 renueva la sesión y reintenta una vez."""
+        headers = kwargs.pop("headers", {})
+        for attempt in range(2):
+            headers["Authorization"] = f"Bearer {self.token}"
+            response = requests.request(method, url, headers=headers, timeout=REQUEST_TIMEOUT, **kwargs)
+            if response.status_code != 401 or attempt == 1:
+                return response
+            # Vencido o revocado antes de lo previsto: se fuerza la renovación
+            self.token_expiration = 0
+            if not self.ensure_authenticated():
+                return response
+
     def get_trajectory(self, surgery_id):
         if not self.ensure_authenticated():
             return None
 
         url = f"{self.base_url}/api/v1/surgeries/{surgery_id}/trajectory"
-        headers = {"Authorization": f"Bearer {self.token}"}
 
         print(f"\n🔍 Obteniendo trayectoria de cirugía {surgery_id}...")
         try:
-            response = requests.get(url, headers=headers, timeout=REQUEST_TIMEOUT)
+            response = self._authorized_request("GET", url)
             if response.status_code == 200:
                 data = response.json()
                 print(f"✅ Trayectoria obtenida ({len(data['movements'])} movimientos)")
@@ -75,7 +114,6 @@ class JustinaAIClient:
 
         url = f"{self.base_url}/api/v1/surgeries/{surgery_id}/analysis"
         headers = {
-            "Authorization": f"Bearer {self.token}",
             "Content-Type": "application/json"
         }
 
@@ -86,7 +124,7 @@ class JustinaAIClient:
 
         print(f"📤 Enviando análisis para cirugía {surgery_id}...")
         try:
-            response = requests.post(url, json=payload, headers=headers, timeout=REQUEST_TIMEOUT)
+            response = self._authorized_request("POST", url, json=payload, headers=headers)
             if response.status_code == 204:
                 print("✅ Análisis enviado correctamente")
                 return True
@@ -83,6 +83,7 @@ class AIWebSocketClient:
     
     def procesar_cirugia_async(self, surgery_id):
         """Procesar cirugía en thread separado"""
+        success = False
         try:
             print(f"\n{'='*60}")
             print(f"🏥 INICIANDO ANÁLISIS: {surgery_id}")
@@ -117,6 +118,18 @@ class AIWebSocketClient:
             print(f"❌ Error procesando cirugía {surgery_id}: {e}")
             import traceback
             traceback.print_exc()
+        finally:
+            # Confirmar al backend: con NACK (o sin respuesta) la cirugía se reasigna a otro worker
+            self.confirmar_cirugia(surgery_id, success)
+
+    def confirmar_cirugia(self, surgery_id, success):
+        """Enviar ACK/NACK de la cirugía asignada"""
+        event = "ACK" if success else "NACK"
+        try:
+            if self.ws:
+                self.ws.send(json.dumps({"event": event, "surgeryId": surgery_id}))
+        except Exception as e:
+            print(f"⚠️ No se pudo enviar {event} para {surgery_id}: {e}")
     
     def on_error(self, ws, error):
         """Callback cuando hay un error"""